@@ -0,0 +1,348 @@
+package com.e105.majoong.ai;
+
+import com.e105.majoong.common.entity.BaseResponseStatus;
+import com.e105.majoong.common.exception.BaseException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/*
+ * OpenAI(텍스트) / 이미지 생성 API 호출 조절
+ * - 엔드포인트별 분당 요청 수(rpm) / 분당 토큰 수(tpm) 토큰 버킷 + 동시 호출 상한
+ *   토큰은 호출 전 추정치로 차감 (실제 사용량 보정 없음)
+ * - 대기열은 INTERACTIVE(말 상태 업로드) 우선, BATCH(월간 보고서)는 남는 예산으로 처리
+ *   lane 별 queue-capacity 를 넘으면 AI_CALL_BUSY 로 즉시 거절 (backpressure)
+ * - 429/5xx/연결 오류는 지터 포함 지수 백오프로 재시도, Retry-After 가 있으면 그 시간 이후
+ *   429 를 받으면 해당 엔드포인트 전체를 그 시간 동안 멈춤 (각자 재시도하며 몰리지 않도록)
+ * - 대기열 길이 / 대기 시간 / 거절 / 429 횟수를 1분마다 로그로 남김
+ */
+@Slf4j
+@Component
+public class AiCallGovernor {
+
+    public enum Endpoint { TEXT, IMAGE }
+
+    public enum Lane { INTERACTIVE, BATCH }
+
+    private final Map<Endpoint, Budget> budgets = new EnumMap<>(Endpoint.class);
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ai-governor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final int queueCapacity;
+    private final int maxRetries;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    public AiCallGovernor(@Value("${openai.governor.text.rpm:500}") int textRpm,
+                          @Value("${openai.governor.text.tpm:200000}") int textTpm,
+                          @Value("${openai.governor.text.max-concurrency:16}") int textConcurrency,
+                          @Value("${openai.governor.image.rpm:20}") int imageRpm,
+                          @Value("${openai.governor.image.max-concurrency:4}") int imageConcurrency,
+                          @Value("${openai.governor.queue-capacity:200}") int queueCapacity,
+                          @Value("${openai.governor.max-retries:3}") int maxRetries,
+                          @Value("${openai.governor.base-backoff-ms:1000}") long baseBackoffMs,
+                          @Value("${openai.governor.max-backoff-ms:30000}") long maxBackoffMs) {
+        budgets.put(Endpoint.TEXT, new Budget(Endpoint.TEXT, textRpm, textTpm, textConcurrency));
+        budgets.put(Endpoint.IMAGE, new Budget(Endpoint.IMAGE, imageRpm, 0, imageConcurrency));
+        this.queueCapacity = queueCapacity;
+        this.maxRetries = maxRetries;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /*
+     * 예산을 얻은 뒤 call 실행 (재시도마다 다시 대기열에 들어감)
+     * estimatedTokens: 요청 + 응답 토큰 추정치 (IMAGE 는 무시)
+     */
+    public <T> Mono<T> execute(Endpoint endpoint, Lane lane, int estimatedTokens, Supplier<Mono<T>> call) {
+        Budget budget = budgets.get(endpoint);
+        return Mono.usingWhen(
+                        acquire(budget, lane, estimatedTokens),
+                        permit -> call.get(),
+                        permit -> Mono.fromRunnable(permit::release))
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    if (!isRetryable(failure) || signal.totalRetries() >= maxRetries) {
+                        return Mono.error(failure);
+                    }
+                    long delayMs = retryDelayMs(failure, signal.totalRetries());
+                    if (failure instanceof WebClientResponseException w && w.getStatusCode().value() == 429) {
+                        budget.pause(delayMs);
+                    }
+                    log.warn("[AiGovernor] {} retry #{} in {}ms: {}", endpoint, signal.totalRetries() + 1, delayMs,
+                            failure.toString());
+                    return Mono.delay(Duration.ofMillis(delayMs));
+                })));
+    }
+
+    /** 현재 대기열 길이 */
+    public int queueDepth(Endpoint endpoint, Lane lane) {
+        return budgets.get(endpoint).queued(lane);
+    }
+
+    @Scheduled(fixedDelayString = "${openai.governor.stats-ms:60000}")
+    public void logStats() {
+        budgets.values().forEach(Budget::logAndReset);
+    }
+
+    private Mono<Permit> acquire(Budget budget, Lane lane, int estimatedTokens) {
+        return Mono.create(sink -> {
+            Permit permit = new Permit(budget, lane, estimatedTokens, sink);
+            if (!budget.enqueue(permit)) {
+                sink.error(new BaseException(BaseResponseStatus.AI_CALL_BUSY));
+                return;
+            }
+            sink.onCancel(() -> budget.cancel(permit));
+            budget.dispatch();
+        });
+    }
+
+    private static boolean isRetryable(Throwable t) {
+        if (t instanceof WebClientResponseException w) {
+            return w.getStatusCode().value() == 429 || w.getStatusCode().is5xxServerError();
+        }
+        return t instanceof WebClientRequestException || t instanceof TimeoutException;
+    }
+
+    //Retry-After(-ms) 가 있으면 그 값 + 약간의 지터, 없으면 full jitter 지수 백오프
+    private long retryDelayMs(Throwable t, long attempt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (t instanceof WebClientResponseException w) {
+            Long retryAfter = retryAfterMs(w);
+            if (retryAfter != null) {
+                return Math.min(maxBackoffMs, retryAfter) + random.nextLong(250);
+            }
+        }
+        long cap = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt, 16));
+        return baseBackoffMs / 2 + random.nextLong(Math.max(1, cap - baseBackoffMs / 2));
+    }
+
+    private static Long retryAfterMs(WebClientResponseException w) {
+        try {
+            String ms = w.getHeaders().getFirst("retry-after-ms");
+            if (ms != null) {
+                return (long) Double.parseDouble(ms);
+            }
+            String seconds = w.getHeaders().getFirst("Retry-After");
+            if (seconds != null) {
+                return (long) (Double.parseDouble(seconds) * 1000);
+            }
+        } catch (NumberFormatException e) {
+            // HTTP-date 형식은 무시하고 백오프 사용
+        }
+        return null;
+    }
+
+    //대기열에서 예산을 얻은 호출 1건 (release 는 여러 번 불려도 한 번만 반영)
+    private static final class Permit {
+        final Budget budget;
+        final Lane lane;
+        final int tokens;
+        final MonoSink<Permit> sink;
+        final long enqueuedAt = System.currentTimeMillis();
+        final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Budget budget, Lane lane, int tokens, MonoSink<Permit> sink) {
+            this.budget = budget;
+            this.lane = lane;
+            this.tokens = tokens;
+            this.sink = sink;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                budget.release();
+            }
+        }
+    }
+
+    private final class Budget {
+        final Endpoint endpoint;
+        final int rpm;
+        final int tpm;                      // 0 이면 토큰 제한 없음
+        final int maxConcurrency;
+        final Map<Lane, Deque<Permit>> queues = new EnumMap<>(Lane.class);
+
+        double requestAllowance;
+        double tokenAllowance;
+        long refilledAt = System.currentTimeMillis();
+        long pausedUntil;
+        int inFlight;
+        boolean timerScheduled;
+
+        // 통계 (logAndReset 주기 단위)
+        long granted;
+        long waitMsTotal;
+        long waitMsMax;
+        long rejected;
+        long throttled;
+
+        Budget(Endpoint endpoint, int rpm, int tpm, int maxConcurrency) {
+            this.endpoint = endpoint;
+            this.rpm = rpm;
+            this.tpm = tpm;
+            this.maxConcurrency = maxConcurrency;
+            this.requestAllowance = rpm;
+            this.tokenAllowance = tpm;
+            for (Lane lane : Lane.values()) {
+                queues.put(lane, new ArrayDeque<>());
+            }
+        }
+
+        synchronized boolean enqueue(Permit permit) {
+            Deque<Permit> queue = queues.get(permit.lane);
+            if (queue.size() >= queueCapacity) {
+                rejected++;
+                return false;
+            }
+            queue.addLast(permit);
+            return true;
+        }
+
+        void cancel(Permit permit) {
+            boolean removed;
+            synchronized (this) {
+                removed = queues.get(permit.lane).remove(permit);
+            }
+            if (!removed) {
+                permit.release();
+            }
+        }
+
+        void release() {
+            synchronized (this) {
+                inFlight--;
+            }
+            dispatch();
+        }
+
+        synchronized void pause(long delayMs) {
+            pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + delayMs);
+            throttled++;
+        }
+
+        synchronized int queued(Lane lane) {
+            return queues.get(lane).size();
+        }
+
+        //예산이 허락하는 만큼 INTERACTIVE → BATCH 순으로 꺼내서 실행 허가
+        void dispatch() {
+            List<Permit> grants = new ArrayList<>();
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                refill(now);
+                long waitMs = 0;
+                while (inFlight < maxConcurrency) {
+                    Permit next = peek();
+                    if (next == null) {
+                        break;
+                    }
+                    if (now < pausedUntil) {
+                        waitMs = pausedUntil - now;
+                        break;
+                    }
+                    double tokens = tpm > 0 ? Math.min(next.tokens, tpm) : 0;
+                    if (requestAllowance < 1 || tokenAllowance < tokens) {
+                        waitMs = refillWaitMs(tokens);
+                        break;
+                    }
+                    queues.get(next.lane).pollFirst();
+                    requestAllowance -= 1;
+                    tokenAllowance -= tokens;
+                    inFlight++;
+                    long waited = now - next.enqueuedAt;
+                    granted++;
+                    waitMsTotal += waited;
+                    waitMsMax = Math.max(waitMsMax, waited);
+                    grants.add(next);
+                }
+                if (waitMs > 0 && !timerScheduled) {
+                    timerScheduled = true;
+                    timer.schedule(() -> {
+                        synchronized (this) {
+                            timerScheduled = false;
+                        }
+                        dispatch();
+                    }, waitMs, TimeUnit.MILLISECONDS);
+                }
+            }
+            grants.forEach(p -> p.sink.success(p));
+        }
+
+        private Permit peek() {
+            for (Lane lane : Lane.values()) {
+                Permit p = queues.get(lane).peekFirst();
+                if (p != null) {
+                    return p;
+                }
+            }
+            return null;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - refilledAt;
+            if (elapsed <= 0) {
+                return;
+            }
+            requestAllowance = Math.min(rpm, requestAllowance + rpm * elapsed / 60_000d);
+            if (tpm > 0) {
+                tokenAllowance = Math.min(tpm, tokenAllowance + tpm * elapsed / 60_000d);
+            }
+            refilledAt = now;
+        }
+
+        private long refillWaitMs(double tokens) {
+            double requestWait = requestAllowance >= 1 ? 0 : (1 - requestAllowance) * 60_000d / rpm;
+            double tokenWait = tpm == 0 || tokenAllowance >= tokens ? 0 : (tokens - tokenAllowance) * 60_000d / tpm;
+            return Math.max(1, (long) Math.ceil(Math.max(requestWait, tokenWait)));
+        }
+
+        void logAndReset() {
+            synchronized (this) {
+                int interactive = queues.get(Lane.INTERACTIVE).size();
+                int batch = queues.get(Lane.BATCH).size();
+                if (granted == 0 && rejected == 0 && throttled == 0 && interactive == 0 && batch == 0) {
+                    return;
+                }
+                log.info("[AiGovernor] {} inFlight={} queued(interactive={}, batch={}) granted={} avgWaitMs={} maxWaitMs={} rejected={} throttled={}",
+                        endpoint, inFlight, interactive, batch, granted,
+                        granted == 0 ? 0 : waitMsTotal / granted, waitMsMax, rejected, throttled);
+                granted = 0;
+                waitMsTotal = 0;
+                waitMsMax = 0;
+                rejected = 0;
+                throttled = 0;
+            }
+        }
+    }
+}
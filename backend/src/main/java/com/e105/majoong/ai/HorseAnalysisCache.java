@@ -0,0 +1,113 @@
+package com.e105.majoong.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * 말 사진 AI 분석 결과 캐시 (사진 내용 기준)
+ * - key: 사진 종류 + 모델/프롬프트 버전 + 원본 바이트 SHA-256
+ *   같은 사진을 다시 올리거나 부분 실패 후 재전송해도 모델 호출 없이 저장된 요약 반환
+ * - Redis(ai:horse:...) 에 ttl-days 동안 보관, 인스턴스 로컬 LRU(local-size) 를 앞에 둠
+ * - Redis 장애 시에는 캐시 없이 동작 (조회/저장 실패는 로그만)
+ */
+@Slf4j
+@Component
+public class HorseAnalysisCache {
+
+    private static final String PREFIX = "ai:horse";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration ttl;
+    private final Map<String, String> local;
+
+    public HorseAnalysisCache(StringRedisTemplate stringRedisTemplate,
+                              @Value("${openai.horse-cache.ttl-days:30}") long ttlDays,
+                              @Value("${openai.horse-cache.local-size:1000}") int localSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttl = Duration.ofDays(ttlDays);
+        //접근 순서 LinkedHashMap → 가장 오래 안 쓴 항목부터 제거
+        this.local = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > localSize;
+            }
+        });
+    }
+
+    /*
+     * 업로드 파일 원본 바이트의 SHA-256 (hex)
+     * multipart 임시파일을 스트림으로 읽으므로 호출은 블로킹 스레드에서
+     * 읽기 실패 시 null → 캐시 사용 안 함
+     */
+    public static String contentHash(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buf = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                digest.update(buf, 0, n);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.warn("[HorseAnalysisCache] hash failed {}: {}", file.getOriginalFilename(), e.toString());
+            return null;
+        }
+    }
+
+    //모델/프롬프트가 바뀌면 키도 바뀌도록 내용으로 버전 생성
+    public static String version(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String key(String version, String type, String contentHash) {
+        return "%s:%s:%s:%s".formatted(PREFIX, version, type, contentHash);
+    }
+
+    //로컬 → Redis 순으로 조회, 없으면 empty
+    public Mono<String> get(String key) {
+        String hit = local.get(key);
+        if (hit != null) {
+            return Mono.just(hit);
+        }
+        return Mono.fromCallable(() -> stringRedisTemplate.opsForValue().get(key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(v -> local.put(key, v))
+                .onErrorResume(e -> {
+                    log.warn("[HorseAnalysisCache] redis get failed: {}", e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    //로컬은 즉시, Redis 는 비동기로 저장 (응답을 기다리게 하지 않음)
+    public void put(String key, String summary) {
+        local.put(key, summary);
+        Mono.fromRunnable(() -> stringRedisTemplate.opsForValue().set(key, summary, ttl))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, e -> log.warn("[HorseAnalysisCache] redis put failed: {}", e.toString()));
+    }
+}
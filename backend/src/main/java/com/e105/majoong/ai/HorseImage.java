@@ -0,0 +1,12 @@
+package com.e105.majoong.ai;
+
+import reactor.core.publisher.Mono;
+
+/*
+ * 말 상태 사진 한 장의 분석 입력
+ * type: 사진 종류(정면, 좌측, 우측, 마구간)
+ * contentHash: 원본 바이트 해시 (null 이면 캐시 사용 안 함)
+ * imageUrl: 분석할 이미지 URL (캐시에 없을 때만 구독)
+ */
+public record HorseImage(String type, String contentHash, Mono<String> imageUrl) {
+}
@@ -1,9 +1,15 @@
 package com.e105.majoong.ai;
 
+import java.util.List;
+import java.util.Map;
 import reactor.core.publisher.Mono;
 
 public interface OpenAIService {
     Mono<String> analyzeHorseImage(String type, String imageUrl);
+    //contentHash 가 같은 사진은 캐시된 요약 반환 (imageUrl 은 캐시에 없을 때만 구독)
+    Mono<String> analyzeHorseImage(String type, String contentHash, Mono<String> imageUrl);
+    //여러 장을 한 번의 요청으로 분석 (type → 요약), 실패한 사진은 한 장씩 다시 분석
+    Mono<Map<String, String>> analyzeHorseImages(List<HorseImage> images);
     Mono<String> analyzeReport(String farmName, int year, int month, String content);
     Mono<String> generateThumbnail(String prompt);
 }
@@ -1,17 +1,23 @@
 package com.e105.majoong.ai;
 
+import com.e105.majoong.ai.AiCallGovernor.Endpoint;
+import com.e105.majoong.ai.AiCallGovernor.Lane;
 import com.e105.majoong.common.utils.S3Uploader;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
 import java.time.Duration;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 @Service
@@ -21,6 +27,16 @@ public class OpenAIServiceImpl implements OpenAIService {
     private final WebClient imageWebClient;      // 이미지 AI
     private final ObjectMapper mapper;
     private final S3Uploader s3Uploader;
+    private final HorseAnalysisCache horseAnalysisCache;
+    private final AiCallGovernor aiCallGovernor;
+    private String horseCacheVersion;
+    private String combinedCacheVersion;
+
+    private static final int HORSE_MAX_TOKENS = 120;
+    private static final double HORSE_TEMPERATURE = 0.2;
+    private static final int HORSE_INPUT_TOKENS_PER_IMAGE = 800;   // detail auto, 1024px 기준 이미지 입력 토큰 추정
+    private static final int REPORT_MAX_TOKENS = 1024;
+    private static final String HORSE_ANALYSIS_ERROR = "분석 중 오류가 발생했습니다.";
 
     @Value("${openai.text-model}")
     private String textModel;
@@ -37,14 +53,21 @@ public class OpenAIServiceImpl implements OpenAIService {
     @Value("${openai.api-key}")
     private String apiKey;
 
+    @Value("${openai.horse-combined.enabled:true}")
+    private boolean horseCombinedEnabled;
+
     public OpenAIServiceImpl(@Qualifier("openAiWebClient") WebClient webClient,
                              @Qualifier("openAiImageWebClient") WebClient imageWebClient,
                              ObjectMapper mapper,
-                             S3Uploader s3Uploader) {
+                             S3Uploader s3Uploader,
+                             HorseAnalysisCache horseAnalysisCache,
+                             AiCallGovernor aiCallGovernor) {
         this.webClient = webClient;
         this.imageWebClient = imageWebClient;
         this.mapper = mapper;
         this.s3Uploader = s3Uploader;
+        this.horseAnalysisCache = horseAnalysisCache;
+        this.aiCallGovernor = aiCallGovernor;
     }
 
     private static final String SYSTEM_PROMPT = """
@@ -63,6 +86,16 @@ public class OpenAIServiceImpl implements OpenAIService {
             - 문장 표현 다양화: '관찰됨', '확인됨', '보임', '양호함' 등을 적절히 사용.
             """;
 
+    //사진 여러 장을 한 번에 보낼 때: 같은 평가 기준 + 사진 종류별 JSON 출력
+    private static final String COMBINED_SYSTEM_PROMPT = SYSTEM_PROMPT.replace(
+            "입력은 사진 1장이다.",
+            "입력은 종류별 사진 여러 장이며, 각 사진 바로 앞에 사진 종류가 텍스트로 주어진다.") + """
+                    
+            [응답 형식]
+            - 주어진 사진 종류를 key, 그 사진의 평가를 value 로 하는 JSON 객체 하나만 출력.
+            - 예: {"정면": "정면: ...", "마구간": "마구간: ..."}
+            """;
+
     private static final String REPORT_SYSTEM_PROMPT = """
             너는 주어진 데이터를 바탕으로 전문적인 '월간 목장 보고서'를 작성하는 AI 비서다.
             보고서는 지정된 형식과 규칙에 따라 명확하고 체계적으로 작성해야 한다.
@@ -101,6 +134,176 @@ public class OpenAIServiceImpl implements OpenAIService {
 
     @Override
     public Mono<String> analyzeHorseImage(String type, String imageUrl) {
+        return requestHorseImage(type, imageUrl)
+                .onErrorResume(e -> {
+                    log.error("OpenAI API 호출 실패", e);
+                    return Mono.just(HORSE_ANALYSIS_ERROR);
+                });
+    }
+
+    @Override
+    public Mono<String> analyzeHorseImage(String type, String contentHash, Mono<String> imageUrl) {
+        if (contentHash == null) {
+            return imageUrl.flatMap(url -> analyzeHorseImage(type, url));
+        }
+        String key = horseAnalysisCache.key(horseCacheVersion, type, contentHash);
+        //캐시에 없을 때만 URL(업로드 완료)을 기다려 모델 호출, 정상 응답만 저장
+        return horseAnalysisCache.get(key)
+                .switchIfEmpty(Mono.defer(() -> imageUrl
+                        .flatMap(url -> requestHorseImage(type, url))
+                        .doOnNext(summary -> {
+                            if (!summary.isBlank()) {
+                                horseAnalysisCache.put(key, summary);
+                            }
+                        })))
+                .onErrorResume(e -> {
+                    log.error("OpenAI API 호출 실패", e);
+                    return Mono.just(HORSE_ANALYSIS_ERROR);
+                });
+    }
+
+    /*
+     * 사진 여러 장을 한 번의 요청으로 분석 (시스템 프롬프트 1회)
+     * - 캐시에 있는 사진은 제외하고 나머지만 요청, 응답은 {"정면": "...", ...} JSON 으로 받아 사진별로 분리
+     * - 요청이 실패하거나 응답에서 빠진 사진만 한 장씩 분석 (기존 경로)
+     */
+    @Override
+    public Mono<Map<String, String>> analyzeHorseImages(List<HorseImage> images) {
+        if (images.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        if (!horseCombinedEnabled || images.size() == 1) {
+            return analyzeEach(images, Map.of());
+        }
+        return Flux.fromIterable(images)
+                .flatMap(img -> cachedSummary(combinedCacheVersion, img).map(summary -> Map.entry(img.type(), summary)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMap(hits -> {
+                    List<HorseImage> misses = images.stream().filter(img -> !hits.containsKey(img.type())).toList();
+                    if (misses.isEmpty()) {
+                        return Mono.just(hits);
+                    }
+                    if (misses.size() == 1) {
+                        return analyzeEach(misses, hits);
+                    }
+                    return requestHorseImages(misses)
+                            .onErrorResume(e -> {
+                                log.warn("OpenAI 다중 이미지 분석 실패, 한 장씩 재시도: {}", e.toString());
+                                return Mono.just(Map.of());
+                            })
+                            .flatMap(parsed -> {
+                                Map<String, String> result = new HashMap<>(hits);
+                                for (HorseImage img : misses) {
+                                    String summary = parsed.get(img.type());
+                                    if (summary == null || summary.isBlank()) {
+                                        continue;
+                                    }
+                                    result.put(img.type(), summary);
+                                    if (img.contentHash() != null) {
+                                        horseAnalysisCache.put(
+                                                horseAnalysisCache.key(combinedCacheVersion, img.type(), img.contentHash()), summary);
+                                    }
+                                }
+                                List<HorseImage> failed = misses.stream()
+                                        .filter(img -> !result.containsKey(img.type())).toList();
+                                return analyzeEach(failed, result);
+                            });
+                });
+    }
+
+    //모델 + 프롬프트 + 요청 파라미터가 같을 때만 같은 캐시 버전
+    @PostConstruct
+    void initCacheVersions() {
+        horseCacheVersion = HorseAnalysisCache.version(textModel, SYSTEM_PROMPT,
+                String.valueOf(HORSE_MAX_TOKENS), String.valueOf(HORSE_TEMPERATURE));
+        combinedCacheVersion = HorseAnalysisCache.version(textModel, COMBINED_SYSTEM_PROMPT,
+                String.valueOf(HORSE_MAX_TOKENS), String.valueOf(HORSE_TEMPERATURE));
+    }
+
+    private Mono<String> cachedSummary(String version, HorseImage img) {
+        if (img.contentHash() == null) {
+            return Mono.empty();
+        }
+        return horseAnalysisCache.get(horseAnalysisCache.key(version, img.type(), img.contentHash()));
+    }
+
+    //한 장씩 병렬 분석 후 base 결과에 합쳐 반환
+    private Mono<Map<String, String>> analyzeEach(List<HorseImage> images, Map<String, String> base) {
+        return Flux.fromIterable(images)
+                .flatMap(img -> analyzeHorseImage(img.type(), img.contentHash(), img.imageUrl())
+                        .map(summary -> Map.entry(img.type(), summary)))
+                .collectList()
+                .map(entries -> {
+                    Map<String, String> result = new HashMap<>(base);
+                    entries.forEach(e -> result.put(e.getKey(), e.getValue()));
+                    return result;
+                });
+    }
+
+    private Mono<Map<String, String>> requestHorseImages(List<HorseImage> images) {
+        return Flux.fromIterable(images)
+                .flatMapSequential(HorseImage::imageUrl)
+                .collectList()
+                .flatMap(urls -> {
+                    var messages = mapper.createArrayNode();
+
+                    var systemMessage = mapper.createObjectNode();
+                    systemMessage.put("role", "system");
+                    systemMessage.put("content", COMBINED_SYSTEM_PROMPT);
+                    messages.add(systemMessage);
+
+                    //사진 종류 텍스트 → 해당 사진 순서로 나열
+                    var userContent = mapper.createArrayNode();
+                    for (int i = 0; i < images.size(); i++) {
+                        userContent.addObject()
+                                .put("type", "text")
+                                .put("text", images.get(i).type() + " 사진");
+                        var imageObj = mapper.createObjectNode()
+                                .put("url", urls.get(i))
+                                .put("detail", "auto");
+                        userContent.addObject()
+                                .put("type", "image_url")
+                                .set("image_url", imageObj);
+                    }
+                    userContent.addObject()
+                            .put("type", "text")
+                            .put("text", "위 사진들을 평가해줘");
+
+                    var userMessage = mapper.createObjectNode();
+                    userMessage.put("role", "user");
+                    userMessage.set("content", userContent);
+                    messages.add(userMessage);
+
+                    var requestBody = mapper.createObjectNode();
+                    requestBody.put("model", textModel);
+                    requestBody.set("messages", messages);
+                    requestBody.put("max_tokens", HORSE_MAX_TOKENS * images.size() + 50); // JSON 키/따옴표 여유
+                    requestBody.put("temperature", HORSE_TEMPERATURE);
+                    requestBody.set("response_format", mapper.createObjectNode().put("type", "json_object"));
+
+                    int tokens = (HORSE_MAX_TOKENS + HORSE_INPUT_TOKENS_PER_IMAGE) * images.size() + COMBINED_SYSTEM_PROMPT.length();
+                    return aiCallGovernor.execute(Endpoint.TEXT, Lane.INTERACTIVE, tokens, () -> webClient.post()
+                            .uri(b -> b.path(textUrl).build())
+                            .bodyValue(requestBody)
+                            .retrieve()
+                            .bodyToMono(String.class));
+                })
+                .map(this::parseSlotSummaries);
+    }
+
+    //{"정면": "...", "좌측": "..."} → Map (파싱 실패 시 예외 → 한 장씩 분석으로 대체)
+    private Map<String, String> parseSlotSummaries(String json) {
+        try {
+            var content = mapper.readTree(firstMessageText(json));
+            Map<String, String> result = new HashMap<>();
+            content.properties().forEach(e -> result.put(e.getKey(), e.getValue().asText("")));
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException("다중 이미지 응답 파싱 실패", e);
+        }
+    }
+
+    private Mono<String> requestHorseImage(String type, String imageUrl) {
         var messages = mapper.createArrayNode();
 
         var systemMessage = mapper.createObjectNode();
@@ -132,19 +335,16 @@ public class OpenAIServiceImpl implements OpenAIService {
         var requestBody = mapper.createObjectNode();
         requestBody.put("model", textModel);
         requestBody.set("messages", messages);
-        requestBody.put("max_tokens", 120);
-        requestBody.put("temperature", 0.2);
-
-        return webClient.post()
-                .uri(b -> b.path(textUrl).build())
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(this::firstMessageText)
-                .onErrorResume(e -> {
-                    log.error("OpenAI API 호출 실패", e);
-                    return Mono.just("분석 중 오류가 발생했습니다.");
-                });
+        requestBody.put("max_tokens", HORSE_MAX_TOKENS);
+        requestBody.put("temperature", HORSE_TEMPERATURE);
+
+        int tokens = HORSE_MAX_TOKENS + HORSE_INPUT_TOKENS_PER_IMAGE + SYSTEM_PROMPT.length();
+        return aiCallGovernor.execute(Endpoint.TEXT, Lane.INTERACTIVE, tokens, () -> webClient.post()
+                        .uri(b -> b.path(textUrl).build())
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(String.class))
+                .map(this::firstMessageText);
     }
 
     @Override
@@ -168,16 +368,17 @@ public class OpenAIServiceImpl implements OpenAIService {
         var requestBody = mapper.createObjectNode();
         requestBody.put("model", textModel);
         requestBody.set("messages", messages);
-        requestBody.put("max_tokens", 1024);
+        requestBody.put("max_tokens", REPORT_MAX_TOKENS);
         requestBody.put("temperature", 0.3);
 
-        return webClient.post()
-                .uri(b -> b.path(textUrl).build())
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .timeout(Duration.ofSeconds(30))                 // ⬅ 타임아웃 추가
-                .retryWhen(Retry.fixedDelay(3, Duration.ofSeconds(2))) // ⬅ 재시도 추가
+        //배치 작업이므로 BATCH lane, 재시도는 governor 가 백오프로 처리
+        int tokens = REPORT_MAX_TOKENS + REPORT_SYSTEM_PROMPT.length() + finalPrompt.length();
+        return aiCallGovernor.execute(Endpoint.TEXT, Lane.BATCH, tokens, () -> webClient.post()
+                        .uri(b -> b.path(textUrl).build())
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .timeout(Duration.ofSeconds(30)))
                 .map(this::parseFirstMessageText)
                 .onErrorResume(e -> {
                     log.error("OpenAI API 호출 실패", e);
@@ -215,19 +416,13 @@ public class OpenAIServiceImpl implements OpenAIService {
         String endpoint = String.format("%s%s?key=%s", imageBaseUrl, imageUrl, apiKey);
 
 
-        return imageWebClient.post()
-                .uri(endpoint)
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .timeout(Duration.ofSeconds(60)) // 이미지 생성은 오래 걸릴 수 있으니 60초
-                .retryWhen(
-                        Retry.fixedDelay(2, Duration.ofSeconds(3)) // 503 같은 일시적 실패 시 2번 재시도
-                                .filter(throwable -> {
-                                    log.warn("재시도 조건 확인: {}", throwable.toString());
-                                    return true; // 모든 예외에 대해 재시도 (필요하면 WebClientResponseException만 걸러도 됨)
-                                })
-                )
+        //이미지 생성은 분당 요청 수가 작으므로 IMAGE 예산으로 따로 관리 (재시도는 governor 가 처리)
+        return aiCallGovernor.execute(Endpoint.IMAGE, Lane.BATCH, 0, () -> imageWebClient.post()
+                        .uri(endpoint)
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .timeout(Duration.ofSeconds(60))) // 이미지 생성은 오래 걸릴 수 있으니 60초
                 .map(responseJson -> {
                     try {
                         var root = mapper.readTree(responseJson);
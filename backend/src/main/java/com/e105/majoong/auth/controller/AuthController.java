@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequiredArgsConstructor
@@ -32,13 +33,13 @@ public class AuthController {
 
     @PostMapping("/signup-complete")
     @Operation(summary = "회원가입")
-    public BaseResponse<AuthSignInResponseDto> signUpComplete(
+    public Mono<BaseResponse<AuthSignInResponseDto>> signUpComplete(
             @RequestHeader(value = "Authorization", required = false) String authorization,
             @AuthenticationPrincipal CustomUserDetails user,
             @RequestBody SignUpCompleteRequestDto req
     ) {
-        AuthSignInResponseDto result = authService.completeSignUp(user.getMemberUuid(), req);
-        return new BaseResponse<>(result);
+        return authService.completeSignUp(user.getMemberUuid(), req)
+                .map(BaseResponse::new);
     }
 
     @PostMapping("/token/refresh")
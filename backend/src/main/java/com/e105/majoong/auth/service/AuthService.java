@@ -2,17 +2,19 @@ package com.e105.majoong.auth.service;
 
 import com.e105.majoong.auth.dto.in.SignUpCompleteRequestDto;
 import com.e105.majoong.auth.dto.out.AuthSignInResponseDto;
-import com.e105.majoong.blockchain.service.VaultService;
+import com.e105.majoong.blockchain.service.VaultDeployWorker;
 import com.e105.majoong.blockchain.service.WalletService;
 import com.e105.majoong.common.entity.BaseResponseStatus;
 import com.e105.majoong.common.exception.BaseException;
 import com.e105.majoong.common.jwt.JwtTokenProvider;
 import com.e105.majoong.common.redis.RedisService;
 import com.e105.majoong.common.model.donator.Donator;
+import com.e105.majoong.common.model.farmVault.FarmVault;
+import com.e105.majoong.common.model.farmVault.FarmVaultRepository;
 import com.e105.majoong.common.model.farmer.Farmer;
 import com.e105.majoong.common.model.oAuthMember.OauthMember;
 import com.e105.majoong.common.model.oAuthMember.Role;
-import com.e105.majoong.finance.service.FinApiServiceImpl;
+import com.e105.majoong.finance.service.FinApiService;
 import com.e105.majoong.common.model.donator.DonatorRepository;
 import com.e105.majoong.common.model.farmer.FarmerRepository;
 import com.e105.majoong.common.model.oAuthMember.OauthMemberRepository;
@@ -21,8 +23,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.web3j.crypto.Hash;
 import org.web3j.utils.Numeric;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Map;
 import java.util.Optional;
@@ -42,8 +49,10 @@ public class AuthService {
 
   // 블록체인 연동
   private final WalletService walletService;
-  private final VaultService vaultService;
-  private final FinApiServiceImpl finApiService;
+  private final VaultDeployWorker vaultDeployWorker;
+  private final FarmVaultRepository farmVaultRepository;
+  private final FinApiService finApiService;
+  private final TransactionTemplate transactionTemplate;
 
   @Transactional
   public AuthSignInResponseDto signInWithSessionKey(String sessionKey) {
@@ -88,8 +97,43 @@ public class AuthService {
     return AuthSignInResponseDto.ofSignUp("TEMP:" + oauthId, tempAccessToken, email);
   }
 
-  @Transactional
-  public AuthSignInResponseDto completeSignUp(String memberUuid, SignUpCompleteRequestDto req) {
+  //FinAPI 회원 + 입출금 계좌
+  private record FinAccount(String userKey, String accountNo) {
+  }
+
+  /*
+   * 회원가입 완료
+   * - 목장주는 FinAPI 회원/계좌 생성을 먼저 Mono 로 끝낸 뒤(요청 스레드 점유 없음)
+   *   DB 저장은 기존과 같이 한 트랜잭션으로 처리
+   * - 중복 가입은 FinAPI 호출 전에 걸러서 불필요한 금융 회원 생성 방지
+   */
+  public Mono<AuthSignInResponseDto> completeSignUp(String memberUuid, SignUpCompleteRequestDto req) {
+    Mono<Optional<FinAccount>> finMono;
+    if ("farmer".equalsIgnoreCase(req.getRole().name())) {
+      finMono = Mono.fromRunnable(() -> checkSignUpAllowed(memberUuid))
+          .subscribeOn(Schedulers.boundedElastic())
+          .then(finApiService.registerMember(req.getEmail()))
+          .flatMap(finMember -> finApiService.createDemandDepositAccount(finMember.getUserKey())
+              .map(account -> Optional.of(new FinAccount(finMember.getUserKey(), account.getRec().getAccountNo()))));
+    } else {
+      finMono = Mono.just(Optional.empty());
+    }
+    return finMono.flatMap(fin -> Mono.fromCallable(() ->
+            transactionTemplate.execute(status -> saveSignUp(memberUuid, req, fin.orElse(null))))
+        .subscribeOn(Schedulers.boundedElastic()));
+  }
+
+  private void checkSignUpAllowed(String memberUuid) {
+    if (memberUuid.startsWith("TEMP:")) {
+      if (memberRepository.findByOauthIdAndOauthProvider(memberUuid.substring(5), "KAKAO").isPresent()) {
+        throw new BaseException(BaseResponseStatus.DUPLICATED_USER);
+      }
+    } else if (memberRepository.findByMemberUuid(memberUuid).isEmpty()) {
+      throw new BaseException(BaseResponseStatus.NO_SIGN_IN);
+    }
+  }
+
+  private AuthSignInResponseDto saveSignUp(String memberUuid, SignUpCompleteRequestDto req, FinAccount fin) {
     OauthMember oauth;
 
     // 신규 가입자면 TEMP 토큰을 정식 사용자로 전환
@@ -126,17 +170,23 @@ public class AuthService {
       farmer.updateWalletAddress(created.address());
       farmer.updateKeystoreCipher(created.keystoreCipher());
 
-      var finMember = finApiService.registerMember(req.getEmail());
-      var account = finApiService.createDemandDepositAccount(finMember.getUserKey());
-      farmer.updateFinAccount(finMember.getUserKey(), account.getRec().getAccountNo());
+      farmer.updateFinAccount(fin.userKey(), fin.accountNo());
 
       var keccakKey = toUint256FromMemberUuid(memberUuid);
 
-      // 3) Vault 생성(관리자 서명) + DB 저장(farm_vaults)
-      var fv = vaultService.createVaultAndPersist(keccakKey, farmer.getWalletAddress(), memberUuid);
-      log.info("Vault created & persisted: memberUuid={}, farmId={}, vault={}, tx={}",
-          memberUuid, keccakKey, fv.getVaultAddress(), fv.getDeployTxHash());
-
+      // 3) Vault 생성: 가입 트랜잭션에는 PENDING 금고 행만 저장하고
+      //    createVault tx 전송/컨펌/주소 저장은 커밋 후 VaultDeployWorker 가 처리 (실패 시 재시도)
+      String keccakKeyHex = Numeric.toHexStringWithPrefixZeroPadded(keccakKey, 64);
+      if (farmVaultRepository.findByKeccakKey(keccakKeyHex).isEmpty()) {
+        FarmVault vault = farmVaultRepository.save(FarmVault.pending(memberUuid, keccakKeyHex));
+        Long vaultId = vault.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            vaultDeployWorker.dispatch(vaultId);
+          }
+        });
+      }
 
     } else if ("donator".equalsIgnoreCase(req.getRole().name())) {
       // 1) 기본 정보 저장
@@ -0,0 +1,34 @@
+package com.e105.majoong.batch.rollup.config;
+
+import com.e105.majoong.batch.rollup.tasklet.BackfillDonationRollupTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@RequiredArgsConstructor
+public class DonationRollupBackfillJobConfig {
+    private final BackfillDonationRollupTasklet backfillDonationRollupTasklet;
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Bean
+    public Job donationRollupBackfillJob() {
+        return new JobBuilder("donationRollupBackfillJob", jobRepository)
+                .start(backfillDonationRollupStep())
+                .build();
+    }
+
+    @Bean
+    public Step backfillDonationRollupStep() {
+        return new StepBuilder("backfillDonationRollupStep", jobRepository)
+                .tasklet(backfillDonationRollupTasklet, transactionManager)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.e105.majoong.batch.rollup.scheduler;
+
+import com.e105.majoong.common.model.donationHistory.DonationHistoryRepository;
+import com.e105.majoong.common.model.donationRollup.DonationRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/*
+ * 집계 테이블이 비어 있는데 기부 내역이 있으면 (최초 배포) 기동 시 backfill 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DonationRollupInitializer {
+    private final JobLauncher jobLauncher;
+    @Qualifier(value = "donationRollupBackfillJob")
+    private final Job donationRollupBackfillJob;
+    private final DonationRollupRepository donationRollupRepository;
+    private final DonationHistoryRepository donationHistoryRepository;
+
+    //추천 인덱스 재적재(FarmCandidateIndex)보다 먼저 실행
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (donationRollupRepository.count() > 0 || donationHistoryRepository.count() == 0) {
+            return;
+        }
+        JobParameters params = new JobParametersBuilder()
+                .addLong("requestedAt", System.currentTimeMillis())
+                .toJobParameters();
+        try {
+            jobLauncher.run(donationRollupBackfillJob, params);
+        } catch (Exception e) {
+            log.error("[DonationRollupBackfill] Failed", e);
+        }
+    }
+}
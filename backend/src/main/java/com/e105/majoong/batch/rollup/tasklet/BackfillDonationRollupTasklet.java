@@ -0,0 +1,23 @@
+package com.e105.majoong.batch.rollup.tasklet;
+
+import com.e105.majoong.donation.service.DonationRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BackfillDonationRollupTasklet implements Tasklet {
+
+    private final DonationRollupService donationRollupService;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        int rows = donationRollupService.backfill();
+        contribution.incrementWriteCount(rows);
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -7,6 +7,7 @@ import com.e105.majoong.common.model.farm.Farm;
 import com.e105.majoong.common.model.farm.FarmRepository;
 import com.e105.majoong.common.model.scoreCategory.ScoreCategory;
 import com.e105.majoong.common.model.scoreCategory.ScoreCategoryRepository;
+import com.e105.majoong.farm.util.FarmCandidateIndex;
 import com.e105.majoong.score.dto.in.CreateScoreDto;
 import com.e105.majoong.score.service.ScoreService;
 import java.time.LocalDateTime;
@@ -30,6 +31,7 @@ public class PersistWeeklyScoreTasklet implements Tasklet {
     private final ScoreCategoryRepository scoreCategoryRepository;
     private final ScoreService scoreService;
     private final StringRedisTemplate stringRedisTemplate;
+    private final FarmCandidateIndex farmCandidateIndex;
 
     @Override
     @Transactional
@@ -72,6 +74,7 @@ public class PersistWeeklyScoreTasklet implements Tasklet {
             farm.updateTotalScore(newScore);
             String redisKey = String.format("candidate:%d-%02d", year, month);
             stringRedisTemplate.opsForZSet().add(redisKey, farm.getFarmUuid(), newScore);
+            farmCandidateIndex.updateTrustScore(farmUuid, newScore);
         }
 
         return RepeatStatus.FINISHED;
@@ -7,6 +7,7 @@ import com.e105.majoong.common.model.farm.Farm;
 import com.e105.majoong.common.model.farm.FarmRepository;
 import com.e105.majoong.common.model.scoreCategory.ScoreCategory;
 import com.e105.majoong.common.model.scoreCategory.ScoreCategoryRepository;
+import com.e105.majoong.farm.util.FarmCandidateIndex;
 import com.e105.majoong.score.dto.in.CreateScoreDto;
 import com.e105.majoong.score.service.ScoreService;
 import java.time.LocalDate;
@@ -33,6 +34,7 @@ public class PersistDailyScoreTasklet implements Tasklet {
     private final ScoreService scoreService;
     private final FarmRepository farmRepository;
     private final StringRedisTemplate stringRedisTemplate;
+    private final FarmCandidateIndex farmCandidateIndex;
 
     @Override
     @Transactional
@@ -70,6 +72,7 @@ public class PersistDailyScoreTasklet implements Tasklet {
             farm.updateTotalScore(newScore);
             String redisKey = String.format("candidate:%d-%02d", year, month);
             stringRedisTemplate.opsForZSet().add(redisKey, farm.getFarmUuid(), newScore);
+            farmCandidateIndex.updateTrustScore(farmUuid, newScore);
         }
 
         return RepeatStatus.FINISHED;
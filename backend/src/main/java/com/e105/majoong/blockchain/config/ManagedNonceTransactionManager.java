@@ -0,0 +1,65 @@
+package com.e105.majoong.blockchain.config;
+
+import com.e105.majoong.blockchain.service.AdminNonceManager;
+import com.e105.majoong.blockchain.service.TxSendUnknownException;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.tx.RawTransactionManager;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * RawTransactionManager 의 nonce 조회(eth_getTransactionCount)를 AdminNonceManager 발급으로 대체
+ * 전송 결과를 AdminNonceManager 에 알려 gap/resync 처리가 다른 서명 서비스와 공유되도록 함
+ */
+public class ManagedNonceTransactionManager extends RawTransactionManager {
+
+  private final Web3j web3j;
+  private final AdminNonceManager nonceManager;
+
+  public ManagedNonceTransactionManager(Web3j web3j, Credentials credentials, long chainId,
+                                        AdminNonceManager nonceManager) {
+    super(web3j, credentials, chainId);
+    this.web3j = web3j;
+    this.nonceManager = nonceManager;
+  }
+
+  @Override
+  protected BigInteger getNonce() throws IOException {
+    return nonceManager.acquire();
+  }
+
+  /**
+   * 서명 실패는 전송 전이므로 nonce 회수, 전송 예외는 결과를 알 수 없으므로
+   * 서명된 tx 해시를 담은 TxSendUnknownException (호출 측은 재전송 대신 receipt 로 확인)
+   */
+  @Override
+  public EthSendTransaction signAndSend(RawTransaction rawTransaction) throws IOException {
+    BigInteger nonce = rawTransaction.getNonce();
+    String signedHex;
+    try {
+      signedHex = sign(rawTransaction);
+    } catch (RuntimeException e) {
+      nonceManager.fail(nonce, null);
+      throw e;
+    }
+    EthSendTransaction sent;
+    try {
+      sent = web3j.ethSendRawTransaction(signedHex).send();
+    } catch (IOException | RuntimeException e) {
+      // 전송 결과를 알 수 없으므로 nonce 를 회수하지 않고 resync
+      nonceManager.unknown(nonce);
+      throw new TxSendUnknownException("raw tx", Hash.sha3(signedHex), e);
+    }
+    if (sent.hasError()) {
+      nonceManager.fail(nonce, sent.getError().getMessage());
+    } else {
+      nonceManager.confirm(nonce);
+    }
+    return sent;
+  }
+}
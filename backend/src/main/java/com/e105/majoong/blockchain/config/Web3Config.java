@@ -2,6 +2,7 @@ package com.e105.majoong.blockchain.config;
 
 import com.e105.majoong.blockchain.props.ChainProps;
 import com.e105.majoong.blockchain.props.Web3Props;
+import com.e105.majoong.blockchain.service.AdminNonceManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,9 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.http.HttpService;
-import org.web3j.tx.RawTransactionManager;
 import org.web3j.tx.TransactionManager;
-import org.web3j.tx.gas.DefaultGasProvider;
 import org.web3j.utils.Numeric;
 
 @Configuration
@@ -40,12 +39,8 @@ public class Web3Config {
   }
 
   @Bean
-  public TransactionManager txManager(Web3j web3j, Credentials adminCredentials) {
-    return new RawTransactionManager(web3j, adminCredentials, chainProps.getChainId());
-  }
-
-  @Bean
-  public DefaultGasProvider gasProvider() {
-    return new DefaultGasProvider();
+  public TransactionManager txManager(Web3j web3j, Credentials adminCredentials, AdminNonceManager nonceManager) {
+    // nonce 는 OnChainDonationService / VaultService 와 같은 AdminNonceManager 에서 발급
+    return new ManagedNonceTransactionManager(web3j, adminCredentials, chainProps.getChainId(), nonceManager);
   }
 }
@@ -14,5 +14,6 @@ public class ChainProps {
   private Long chainId;
   private String tokenAddress;
   private String factoryAddress;
+  private String lensAddress;     // VaultLens (없으면 vault 별 개별 조회)
   private Long krwPerToken;
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.e105.majoong.blockchain.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * admin 서명 계정의 nonce 를 메모리에서 순차 발급
+ * - 최초 1회(또는 resync 시)만 eth_getTransactionCount(PENDING) 호출
+ * - 서명 실패 / 노드가 명시적으로 거절해 비어버린 nonce 는 gap 으로 모아 두었다가 다음 발급 때 먼저 채움
+ * - 타임아웃/IO 처럼 전송 결과를 모르는 nonce 는 회수하지 않고 체인 pending 값으로 resync
+ * - "nonce too low" 등 체인과 어긋난 경우, 또는 유휴 상태에서 체인 값과 다르면 resync
+ * OnChainDonationService / VaultService / BurnService(txManager) 가 같은 인스턴스를 공유
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdminNonceManager {
+
+  private final Web3j web3j;
+  private final Credentials admin;
+
+  private long next = -1;                               // 다음에 발급할 nonce (-1 = 미초기화)
+  private boolean resyncRequested;
+  private final TreeSet<Long> gaps = new TreeSet<>();   // 발급됐지만 전송 실패한 nonce
+  private final Set<Long> inFlight = new HashSet<>();   // 발급 후 전송 결과를 기다리는 nonce
+
+  /** 서명된 raw tx(hex) 를 nonce 로부터 만들어 주는 함수 */
+  @FunctionalInterface
+  public interface Signer {
+    String sign(BigInteger nonce) throws Exception;
+  }
+
+  /**
+   * nonce 발급 → 서명 → 전송까지 처리하고 txHash 반환
+   * nonce 가 체인과 어긋나 거절되면 resync 후 1회 재시도
+   * 전송 결과를 모르면 TxSendUnknownException(txHash 포함) — 호출 측은 재전송 대신 receipt 로 확인
+   */
+  public String submit(String label, Signer signer) throws Exception {
+    for (int attempt = 0; ; attempt++) {
+      BigInteger nonce = acquire();
+      String signedHex;
+      try {
+        signedHex = signer.sign(nonce);
+      } catch (Exception e) {
+        // 서명 전 실패는 전송되지 않았으므로 회수
+        fail(nonce, null);
+        throw e;
+      }
+      EthSendTransaction sent;
+      try {
+        sent = web3j.ethSendRawTransaction(signedHex).send();
+      } catch (Exception e) {
+        unknown(nonce);
+        throw new TxSendUnknownException(label, Hash.sha3(signedHex), e);
+      }
+      if (!sent.hasError()) {
+        confirm(nonce);
+        return sent.getTransactionHash();
+      }
+      String message = sent.getError().getMessage();
+      if (isAlreadyKnown(message)) {
+        // 같은 tx 가 이미 mempool 에 있음 → 성공으로 간주
+        confirm(nonce);
+        return Hash.sha3(signedHex);
+      }
+      boolean stale = fail(nonce, message);
+      if (!stale || attempt > 0) {
+        throw new RuntimeException(label + " failed: " + message);
+      }
+      log.warn("[Nonce] {} rejected nonce={} ({}), retry after resync", label, nonce, message);
+    }
+  }
+
+  /** 다음 nonce 발급 (gap 우선) */
+  public synchronized BigInteger acquire() throws IOException {
+    if (next < 0 || resyncRequested) {
+      resync();
+    }
+    long nonce = gaps.isEmpty() ? next++ : gaps.pollFirst();
+    inFlight.add(nonce);
+    return BigInteger.valueOf(nonce);
+  }
+
+  /** 노드가 tx 를 받아들인 경우 */
+  public synchronized void confirm(BigInteger nonce) {
+    inFlight.remove(nonce.longValue());
+  }
+
+  /**
+   * 전송 실패 처리 (서명 실패 또는 노드의 명시적 거절)
+   * @return nonce 가 이미 사용된 것으로 보이면 true (resync 예약)
+   */
+  public synchronized boolean fail(BigInteger nonce, String errorMessage) {
+    long n = nonce.longValue();
+    inFlight.remove(n);
+    if (isStaleNonce(errorMessage)) {
+      resyncRequested = true;
+      return true;
+    }
+    // 노드가 받지 않은 nonce 는 비워두면 이후 tx 가 모두 막히므로 gap 으로 회수
+    if (n < next) {
+      gaps.add(n);
+    }
+    return false;
+  }
+
+  /**
+   * 전송 결과를 모르는 경우 (타임아웃/IO)
+   * 노드가 받았을 수 있어 gap 으로 회수하면 같은 nonce 가 두 번 쓰일 수 있으므로
+   * 회수하지 않고 다음 발급 때 체인 pending 값으로 resync (유휴 시 detectGap 이 빈 nonce 정리)
+   */
+  public synchronized void unknown(BigInteger nonce) {
+    inFlight.remove(nonce.longValue());
+    resyncRequested = true;
+    log.warn("[Nonce] send result unknown nonce={}, resync requested", nonce);
+  }
+
+  /**
+   * 유휴 상태에서 체인 pending nonce 와 비교해 gap(드롭된 tx) / 외부 전송 감지
+   */
+  @Scheduled(fixedDelay = 30_000L, initialDelay = 30_000L)
+  public void detectGap() {
+    synchronized (this) {
+      if (next < 0 || !inFlight.isEmpty()) {
+        return;
+      }
+    }
+    try {
+      long chainPending = pendingCount();
+      synchronized (this) {
+        if (!inFlight.isEmpty()) {
+          return;
+        }
+        long expected = next;
+        if (chainPending != expected || !gaps.isEmpty()) {
+          log.warn("[Nonce] chain pending={} local next={} gaps={} -> resync", chainPending, expected, gaps);
+          apply(chainPending);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("[Nonce] gap check failed: {}", e.toString());
+    }
+  }
+
+  // 호출 시 lock 보유
+  private void resync() throws IOException {
+    apply(pendingCount());
+    resyncRequested = false;
+  }
+
+  private void apply(long chainPending) {
+    if (inFlight.isEmpty()) {
+      // 진행 중인 tx 가 없으면 체인 값이 기준
+      next = chainPending;
+      gaps.clear();
+    } else {
+      // 진행 중인 nonce 는 건드리지 않고 앞으로만 당김
+      next = Math.max(next, chainPending);
+      gaps.headSet(chainPending).clear();
+    }
+    log.info("[Nonce] synced admin={} next={}", admin.getAddress(), next);
+  }
+
+  private long pendingCount() throws IOException {
+    return web3j.ethGetTransactionCount(admin.getAddress(), DefaultBlockParameterName.PENDING)
+        .send().getTransactionCount().longValueExact();
+  }
+
+  private static boolean isStaleNonce(String errorMessage) {
+    if (errorMessage == null) {
+      return false;
+    }
+    String m = errorMessage.toLowerCase(Locale.ROOT);
+    return m.contains("nonce too low") || m.contains("replacement transaction underpriced");
+  }
+
+  private static boolean isAlreadyKnown(String errorMessage) {
+    if (errorMessage == null) {
+      return false;
+    }
+    String m = errorMessage.toLowerCase(Locale.ROOT);
+    return m.contains("already known") || m.contains("known transaction");
+  }
+}
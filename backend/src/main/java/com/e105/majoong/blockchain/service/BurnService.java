@@ -8,23 +8,28 @@ import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.datatypes.Address;
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.tx.RawTransactionManager;
 import org.web3j.tx.TransactionManager;
-import org.web3j.tx.gas.DefaultGasProvider;
 
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BurnService {
-  private final TransactionManager txManager;   // Web3Config에서 RawTransactionManager 주입
-  private final DefaultGasProvider gasProvider; // Web3Config에서 주입
+  private final TransactionManager txManager;   // Web3Config에서 RawTransactionManager(AdminNonceManager nonce) 주입
+  private final GasOracle gasOracle;            // 수수료/gas limit 캐시
+  private final ReceiptTracker receiptTracker;  // gasUsed 학습용
   private final ChainProps chainProps;          // tokenAddress 포함
 
-  /** MaronToken.burnFromFarmer(farmer, amountWei) 호출 */
+  /**
+   * MaronToken.burnFromFarmer(farmer, amountWei) 호출
+   * 전송 결과를 모르면 TxSendUnknownException — 재전송하면 이중 소각될 수 있으므로 receipt 로 확인
+   */
   public String burnFromFarmer(String farmerAddress, BigInteger amountWei) {
     try {
       Function fn = new Function(
@@ -34,19 +39,41 @@ public class BurnService {
       );
       String data = FunctionEncoder.encode(fn);
 
-      String txHash = ((RawTransactionManager) txManager)
-          .sendTransaction(
-              gasProvider.getGasPrice(),
-              BigInteger.valueOf(200_000L),
+      GasOracle.Fees fees = gasOracle.fees();
+      BigInteger gasLimit = gasOracle.gasLimit("burnFromFarmer", chainProps.getTokenAddress(), data);
+      EthSendTransaction sent = ((RawTransactionManager) txManager)
+          .sendEIP1559Transaction(
+              chainProps.getChainId(),
+              fees.maxPriorityFee(),
+              fees.maxFee(),
+              gasLimit,
               chainProps.getTokenAddress(),
               data,
               BigInteger.ZERO
-          ).getTransactionHash();
+          );
+      if (sent.hasError()) {
+        throw new IllegalStateException(sent.getError().getMessage());
+      }
+      String txHash = sent.getTransactionHash();
+      gasOracle.observe("burnFromFarmer", receiptTracker.track(txHash));
 
       log.info("[BURN] sent tx: {}", txHash);
       return txHash;
+    } catch (TxSendUnknownException e) {
+      // 노드가 받았을 수 있으므로 감싸지 않고 txHash 를 그대로 전달
+      throw e;
     } catch (Exception e) {
       throw new RuntimeException("burnFromFarmer failed", e);
     }
   }
+
+  /** 전송된 소각 tx 영수증 대기 (revert 시 예외로 완료) */
+  public CompletableFuture<String> awaitBurn(String txHash) {
+    return receiptTracker.track(txHash).thenApply(receipt -> {
+      if (!receipt.isStatusOK()) {
+        throw new IllegalStateException("burnFromFarmer reverted, status=" + receipt.getStatus());
+      }
+      return txHash;
+    });
+  }
 }
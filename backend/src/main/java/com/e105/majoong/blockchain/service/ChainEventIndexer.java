@@ -0,0 +1,273 @@
+package com.e105.majoong.blockchain.service;
+
+import com.e105.majoong.blockchain.props.ChainProps;
+import com.e105.majoong.common.model.chainEvent.ChainEvent;
+import com.e105.majoong.common.model.chainEvent.ChainEventRepository;
+import com.e105.majoong.common.model.chainEvent.ChainIndexCursor;
+import com.e105.majoong.common.model.chainEvent.ChainIndexCursorRepository;
+import com.e105.majoong.common.model.farmVault.FarmVault;
+import com.e105.majoong.common.model.farmVault.FarmVaultRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * 온체인 이벤트 증분 인덱서
+ * - 마지막 처리 블록(cursor) 다음부터 batch-blocks 단위로 eth_getLogs 를 호출해 chain_event 에 저장
+ *   (토큰 컨트랙트 1회: DonationRecorded + Transfer(→0x0 소각), 금고 목록 1회: Released)
+ * - 범위별로 이벤트 저장과 cursor 이동을 한 트랜잭션에서 처리 → 중간에 죽어도 다시 그 범위부터
+ * - cursor 블록 해시가 체인과 다르면 reorg 로 보고 reorg-depth 만큼 되감아 이벤트 삭제 후 재수집
+ * 금고 잔액 조회는 노드 대신 chain_event 를 SQL 로 읽음 (이력/대사는 아직 donation_history 기준)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChainEventIndexer {
+
+  private static final String CURSOR_NAME = "maron";
+  private static final String ZERO_TOPIC = "0x" + "0".repeat(64);
+
+  private static final Event DONATION_RECORDED = new Event("DonationRecorded", List.of(
+      new TypeReference<Address>(true) {}, new TypeReference<Address>(true) {}, new TypeReference<Uint256>() {}));
+  private static final Event RELEASED = new Event("Released", List.of(
+      new TypeReference<Address>(true) {}, new TypeReference<Uint256>() {}));
+  private static final Event TRANSFER = new Event("Transfer", List.of(
+      new TypeReference<Address>(true) {}, new TypeReference<Address>(true) {}, new TypeReference<Uint256>() {}));
+
+  private static final String DONATION_TOPIC = EventEncoder.encode(DONATION_RECORDED);
+  private static final String RELEASED_TOPIC = EventEncoder.encode(RELEASED);
+  private static final String TRANSFER_TOPIC = EventEncoder.encode(TRANSFER);
+
+  private final Web3j web3j;
+  private final ChainProps chainProps;
+  private final ChainEventRepository chainEventRepository;
+  private final ChainIndexCursorRepository cursorRepository;
+  private final FarmVaultRepository farmVaultRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${chain.indexer.enabled:true}")
+  private boolean enabled;
+
+  @Value("${chain.indexer.start-block:0}")
+  private long startBlock;                // 토큰 배포 블록 지정 권장, -1 이면 최초 실행 시점의 최신 블록부터(과거 잔액 불완전)
+
+  @Value("${chain.indexer.batch-blocks:2000}")
+  private long batchBlocks;
+
+  @Value("${chain.indexer.max-batches-per-run:10}")
+  private int maxBatchesPerRun;
+
+  @Value("${chain.indexer.reorg-depth:12}")
+  private long reorgDepth;
+
+  @Value("${chain.indexer.max-lag-blocks:20}")
+  private long maxLagBlocks;
+
+  @Value("${chain.indexer.poll-ms:5000}")
+  private long pollMs;
+
+  // 마지막 성공 실행이 poll 간격의 이 배수보다 오래되면 노드/인덱싱 장애로 보고 live 아님
+  @Value("${chain.indexer.stale-polls:3}")
+  private int stalePolls;
+
+  private volatile long indexedHead = -1;
+  private volatile long chainHead = -1;
+  private volatile long lastSuccessAt;
+
+  @Scheduled(fixedDelayString = "${chain.indexer.poll-ms:5000}", initialDelay = 10_000L)
+  public void run() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      long head = web3j.ethBlockNumber().send().getBlockNumber().longValueExact();
+      chainHead = head;
+      ChainIndexCursor cursor = cursorRepository.findById(CURSOR_NAME).orElseGet(() -> initCursor(head));
+
+      if (isReorged(cursor)) {
+        cursor = rollback(cursor);
+      }
+
+      // 금고 목록은 실행마다 한 번만 조회 (범위마다 전체 조회하지 않음)
+      List<String> vaults = vaultAddresses();
+      for (int i = 0; i < maxBatchesPerRun && cursor.getLastBlock() < head; i++) {
+        long from = cursor.getLastBlock() + 1;
+        long to = Math.min(head, from + batchBlocks - 1);
+        cursor = indexRange(from, to, vaults);
+      }
+      indexedHead = cursor.getLastBlock();
+      lastSuccessAt = System.currentTimeMillis();
+    } catch (Exception e) {
+      log.warn("[ChainIndexer] run failed: {}", e.toString());
+    }
+  }
+
+  /**
+   * 인덱서가 최신 블록과 max-lag-blocks 이내로 따라와 있고 최근 stale-polls 번의 poll 안에 성공했으면 true (SQL 조회 신뢰 가능)
+   * head/lag 은 성공한 실행에서만 갱신되므로, 실패가 이어지면 마지막 성공 시각으로 판단
+   */
+  public boolean isLive() {
+    return indexedHead >= 0 && chainHead - indexedHead <= maxLagBlocks
+        && System.currentTimeMillis() - lastSuccessAt <= pollMs * stalePolls;
+  }
+
+  /** 인덱싱된 이벤트 기준 금고 잔액 (인덱서가 뒤처져 있으면 empty → 노드 조회로 대체) */
+  public Optional<BigInteger> vaultBalanceWei(String vaultAddress) {
+    if (!isLive() || vaultAddress == null) {
+      return Optional.empty();
+    }
+    BigDecimal sum = chainEventRepository.vaultBalanceWei(vaultAddress.toLowerCase(Locale.ROOT));
+    return Optional.of(sum == null ? BigInteger.ZERO : sum.toBigIntegerExact());
+  }
+
+  private ChainIndexCursor initCursor(long head) {
+    long last = startBlock >= 0 ? startBlock - 1 : head - 1;
+    ChainIndexCursor cursor = ChainIndexCursor.builder()
+        .name(CURSOR_NAME)
+        .lastBlock(last)
+        .lastBlockHash(null)
+        .build();
+    log.info("[ChainIndexer] start from block {}", last + 1);
+    return cursorRepository.save(cursor);
+  }
+
+  private boolean isReorged(ChainIndexCursor cursor) throws Exception {
+    if (cursor.getLastBlockHash() == null) {
+      return false;
+    }
+    String hash = blockHash(cursor.getLastBlock());
+    return hash != null && !hash.equalsIgnoreCase(cursor.getLastBlockHash());
+  }
+
+  //reorg-depth 만큼 되감기: 그 이후 이벤트 삭제 + cursor 이동
+  private ChainIndexCursor rollback(ChainIndexCursor cursor) throws Exception {
+    long target = Math.max(-1, cursor.getLastBlock() - reorgDepth);
+    String targetHash = target >= 0 ? blockHash(target) : null;
+    log.warn("[ChainIndexer] reorg detected at block {}, rolling back to {}", cursor.getLastBlock(), target);
+    return transactionTemplate.execute(status -> {
+      chainEventRepository.deleteFromBlock(target + 1);
+      ChainIndexCursor c = cursorRepository.findById(CURSOR_NAME).orElseThrow();
+      c.moveTo(target, targetHash);
+      return cursorRepository.save(c);
+    });
+  }
+
+  // Released 이벤트를 받을 금고 주소 (우리 DB에 있는 금고만)
+  private List<String> vaultAddresses() {
+    return farmVaultRepository.findAll().stream()
+        .map(FarmVault::getVaultAddress)
+        .filter(a -> a != null && !a.isBlank())
+        .map(a -> a.toLowerCase(Locale.ROOT))
+        .distinct()
+        .toList();
+  }
+
+  private ChainIndexCursor indexRange(long from, long to, List<String> vaults) throws Exception {
+    List<ChainEvent> events = new ArrayList<>();
+
+    // 1) 토큰: DonationRecorded / Transfer(→0x0)
+    EthFilter tokenFilter = new EthFilter(
+        DefaultBlockParameter.valueOf(BigInteger.valueOf(from)),
+        DefaultBlockParameter.valueOf(BigInteger.valueOf(to)),
+        chainProps.getTokenAddress());
+    tokenFilter.addOptionalTopics(DONATION_TOPIC, TRANSFER_TOPIC);
+    for (Log l : getLogs(tokenFilter)) {
+      String topic0 = l.getTopics().get(0);
+      if (DONATION_TOPIC.equalsIgnoreCase(topic0)) {
+        events.add(toEvent(ChainEvent.Type.DONATION, l, topicAddress(l, 1), topicAddress(l, 2)));
+      } else if (TRANSFER_TOPIC.equalsIgnoreCase(topic0) && ZERO_TOPIC.equalsIgnoreCase(l.getTopics().get(2))) {
+        events.add(toEvent(ChainEvent.Type.BURN, l, topicAddress(l, 1), topicAddress(l, 2)));
+      }
+    }
+
+    // 2) 금고: Released(to, amount) — 우리 DB에 있는 금고 주소만
+    if (!vaults.isEmpty()) {
+      EthFilter vaultFilter = new EthFilter(
+          DefaultBlockParameter.valueOf(BigInteger.valueOf(from)),
+          DefaultBlockParameter.valueOf(BigInteger.valueOf(to)),
+          vaults);
+      vaultFilter.addSingleTopic(RELEASED_TOPIC);
+      for (Log l : getLogs(vaultFilter)) {
+        events.add(toEvent(ChainEvent.Type.RELEASE, l, l.getAddress().toLowerCase(Locale.ROOT), topicAddress(l, 1)));
+      }
+    }
+
+    String toHash = blockHash(to);
+    ChainIndexCursor saved = transactionTemplate.execute(status -> {
+      for (ChainEvent e : events) {
+        if (!chainEventRepository.existsByTxHashAndLogIndex(e.getTxHash(), e.getLogIndex())) {
+          chainEventRepository.save(e);
+        }
+      }
+      ChainIndexCursor c = cursorRepository.findById(CURSOR_NAME).orElseThrow();
+      c.moveTo(to, toHash);
+      return cursorRepository.save(c);
+    });
+    if (!events.isEmpty()) {
+      log.info("[ChainIndexer] blocks {}-{}: {} events", from, to, events.size());
+    }
+    return saved;
+  }
+
+  private List<Log> getLogs(EthFilter filter) throws Exception {
+    EthLog resp = web3j.ethGetLogs(filter).send();
+    if (resp.hasError()) {
+      throw new IllegalStateException("eth_getLogs error: " + resp.getError().getMessage());
+    }
+    List<Log> logs = new ArrayList<>();
+    for (EthLog.LogResult<?> r : resp.getLogs()) {
+      if (r instanceof EthLog.LogObject lo && !lo.isRemoved()) {
+        logs.add(lo.get());
+      }
+    }
+    return logs;
+  }
+
+  private String blockHash(long number) throws Exception {
+    EthBlock.Block block = web3j.ethGetBlockByNumber(
+        DefaultBlockParameter.valueOf(BigInteger.valueOf(number)), false).send().getBlock();
+    return block == null ? null : block.getHash();
+  }
+
+  private static ChainEvent toEvent(ChainEvent.Type type, Log l, String from, String to) {
+    return ChainEvent.builder()
+        .eventType(type)
+        .blockNumber(l.getBlockNumber().longValueExact())
+        .blockHash(l.getBlockHash())
+        .txHash(l.getTransactionHash())
+        .logIndex(l.getLogIndex().intValueExact())
+        .contractAddress(l.getAddress().toLowerCase(Locale.ROOT))
+        .fromAddress(from)
+        .toAddress(to)
+        .amountWei(new BigDecimal(Numeric.toBigInt(l.getData())))
+        .build();
+  }
+
+  // indexed address topic → 0x + 20바이트 (소문자)
+  private static String topicAddress(Log l, int index) {
+    String topic = Numeric.cleanHexPrefix(l.getTopics().get(index));
+    return ("0x" + topic.substring(topic.length() - 40)).toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,155 @@
+package com.e105.majoong.blockchain.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 온체인 view 호출(eth_call / eth_getCode) read-through 캐시
+ * - key = (contract, calldata), 값은 조회 시점 블록 번호와 함께 저장
+ * - 최신 블록 번호가 바뀌면 이전 블록에서 읽은 값은 무효 (블록 번호 확인은 block-poll-ms 에 한 번만)
+ * - 블록이 안 바뀌어도 ttl-ms 가 지나면 다시 조회
+ * - 우리가 보낸 tx(release/mint 등)가 컨펌되면 관련 주소의 캐시를 바로 제거
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChainViewCache {
+
+  private final Web3j web3j;
+
+  @Value("${chain.view-cache.ttl-ms:15000}")
+  private long ttlMs;
+
+  @Value("${chain.view-cache.block-poll-ms:1000}")
+  private long blockPollMs;
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private volatile BigInteger head = BigInteger.valueOf(-1);
+  private volatile long headCheckedAt;
+
+  private record Entry(BigInteger block, long loadedAt, String value) {}
+
+  @FunctionalInterface
+  public interface Loader {
+    String load() throws Exception;
+  }
+
+  /**
+   * eth_call (LATEST) 결과 hex 반환, 같은 블록 안에서는 캐시 사용
+   * revert/에러 응답은 캐시하지 않고 예외로 전달
+   */
+  public String call(String from, String contract, String data) throws Exception {
+    return get(key(contract, data), () -> {
+      EthCall call = web3j.ethCall(
+          Transaction.createEthCallTransaction(from, contract, data),
+          DefaultBlockParameterName.LATEST
+      ).send();
+      if (call.hasError()) {
+        throw new IllegalStateException("eth_call error: " + call.getError().getMessage());
+      }
+      if (call.isReverted()) {
+        throw new IllegalStateException("eth_call reverted: " + call.getRevertReason());
+      }
+      return call.getValue();
+    });
+  }
+
+  /** eth_getCode (LATEST) */
+  public String code(String address) throws Exception {
+    return get(key(address, "code"), () ->
+        web3j.ethGetCode(address, DefaultBlockParameterName.LATEST).send().getCode());
+  }
+
+  public String get(String key, Loader loader) throws Exception {
+    BigInteger current = currentBlock();
+    long now = System.currentTimeMillis();
+    Entry entry = entries.get(key);
+    if (entry != null && entry.block().equals(current) && now - entry.loadedAt() < ttlMs) {
+      return entry.value();
+    }
+    String value = loader.load();
+    if (value != null) {
+      entries.put(key, new Entry(current, now, value));
+    }
+    return value;
+  }
+
+  /** 주소가 contract 또는 calldata 에 포함된 캐시 제거 */
+  public void invalidate(String address) {
+    if (address == null) {
+      return;
+    }
+    String needle = clean(address);
+    entries.keySet().removeIf(k -> k.contains(needle));
+  }
+
+  /**
+   * 컨펌된 우리 tx 가 건드린 주소(to, 로그 발생 컨트랙트, indexed address topic) 캐시 제거
+   */
+  public void invalidateTouched(TransactionReceipt receipt) {
+    invalidate(receipt.getTo());
+    if (receipt.getLogs() == null) {
+      return;
+    }
+    for (Log l : receipt.getLogs()) {
+      invalidate(l.getAddress());
+      if (l.getTopics() == null) {
+        continue;
+      }
+      for (String topic : l.getTopics()) {
+        String t = clean(topic);
+        // 32바이트 topic 중 앞 12바이트가 0 이면 address 로 간주
+        if (t.length() == 64 && t.startsWith("000000000000000000000000")) {
+          invalidate(t.substring(24));
+        }
+      }
+    }
+  }
+
+  //블록 번호는 block-poll-ms 에 한 번만 조회, 실패하면 직전 값 유지
+  private BigInteger currentBlock() {
+    long now = System.currentTimeMillis();
+    if (now - headCheckedAt < blockPollMs) {
+      return head;
+    }
+    synchronized (this) {
+      if (now - headCheckedAt < blockPollMs) {
+        return head;
+      }
+      try {
+        BigInteger latest = web3j.ethBlockNumber().send().getBlockNumber();
+        if (!latest.equals(head)) {
+          head = latest;
+          // 이전 블록 값은 더 이상 쓰지 않으므로 정리
+          entries.values().removeIf(e -> !e.block().equals(latest));
+        }
+      } catch (Exception e) {
+        log.warn("[ChainViewCache] eth_blockNumber failed: {}", e.toString());
+      }
+      headCheckedAt = now;
+      return head;
+    }
+  }
+
+  private static String key(String contract, String data) {
+    return clean(contract) + ":" + clean(data);
+  }
+
+  private static String clean(String hex) {
+    String lower = hex.toLowerCase(Locale.ROOT);
+    return lower.startsWith("0x") ? lower.substring(2) : lower;
+  }
+}
@@ -13,7 +13,6 @@ import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.tx.TransactionManager;
-import org.web3j.tx.gas.DefaultGasProvider;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -27,7 +26,7 @@ public class DonationService {
 
     private final Web3j web3j;
     private final TransactionManager tx;        // Admin 트랜잭션 서명자
-    private final DefaultGasProvider gas;
+    private final GasOracle gasOracle;          // 수수료/gas limit 캐시
     private final Credentials admin;            // 조회용(eth_call from) 등
 
     @Value("${chain.tokenAddress}")
@@ -36,6 +35,9 @@ public class DonationService {
     @Value("${chain.factoryAddress}")
     private String factoryAddress;
 
+    @Value("${chain.chainId}")
+    private long chainId;
+
     @Value("${chain.krwPerToken}")
     private long krwPerToken;
 
@@ -144,9 +146,12 @@ public class DonationService {
     /** 공통 트랜잭션 전송 */
     private String sendTx(String to, Function f) throws Exception {
         String data = FunctionEncoder.encode(f);
-        var receipt = tx.sendTransaction(
-                gas.getGasPrice(),           // 테스트넷 기본 가스 (운영은 커스텀 권장)
-                gas.getGasLimit(),
+        GasOracle.Fees fees = gasOracle.fees();
+        var receipt = tx.sendEIP1559Transaction(
+                chainId,
+                fees.maxPriorityFee(),
+                fees.maxFee(),
+                gasOracle.gasLimit(f.getName(), to, data),
                 to,
                 data,
                 BigInteger.ZERO
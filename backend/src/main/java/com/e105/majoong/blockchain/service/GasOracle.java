@@ -0,0 +1,204 @@
+package com.e105.majoong.blockchain.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.protocol.core.methods.response.EthFeeHistory;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * admin 서명 tx 공용 가스 오라클
+ * - eth_feeHistory 로 최근 블록 base fee / priority fee(중앙값)를 읽어 블록 단위로 캐시 (refresh-ms 에 한 번만 조회)
+ *   maxFee = 다음 블록 base fee * 2 + priority (base fee 가 두 블록 연속 최대로 올라도 포함되는 수준), max-fee-gwei 상한
+ * - gas limit 은 메서드(label)별로 과거 영수증 gasUsed 최대값 + 20% 를 기억해 재사용,
+ *   처음 보는 메서드만 eth_estimateGas 호출
+ *   학습값은 이미 본 호출 중 가장 비싼 경우라 새 대상(예: 처음 받는 금고의 잔액 슬롯 0→값, 약 17k 추가)은
+ *   모자랄 수 있음 → revert 영수증을 보면 학습값을 버려 재시도 때 다시 estimate 하고, 성공하면 더 큰 값으로 재학습
+ * OnChainDonationService / VaultService / BurnService / DonationService 가 공유
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GasOracle {
+
+  private static final BigInteger GWEI = BigInteger.TEN.pow(9);
+  private static final BigInteger GAS_LIMIT_MIN = BigInteger.valueOf(21_000L);
+  private static final BigInteger GAS_LIMIT_FALLBACK = BigInteger.valueOf(300_000L);
+
+  private final Web3j web3j;
+  private final Credentials admin;
+
+  @Value("${chain.gas.refresh-ms:3000}")
+  private long refreshMs;
+
+  @Value("${chain.gas.history-blocks:10}")
+  private int historyBlocks;
+
+  @Value("${chain.gas.min-priority-gwei:1}")
+  private long minPriorityGwei;
+
+  @Value("${chain.gas.max-fee-gwei:100}")
+  private long maxFeeGwei;
+
+  private final Map<String, BigInteger> learnedLimits = new ConcurrentHashMap<>();
+  private volatile Fees fees;
+  private volatile long fetchedAt;
+
+  /** EIP-1559 수수료 (레거시 tx 는 gasPrice() 사용) */
+  public record Fees(BigInteger baseFee, BigInteger maxPriorityFee, BigInteger maxFee) {
+    public BigInteger gasPrice() {
+      return baseFee.add(maxPriorityFee).min(maxFee);
+    }
+  }
+
+  /** 현재 수수료 (캐시, 조회 실패 시 직전 값 → 그것도 없으면 eth_gasPrice) */
+  public Fees fees() {
+    long now = System.currentTimeMillis();
+    Fees cached = fees;
+    if (cached != null && now - fetchedAt < refreshMs) {
+      return cached;
+    }
+    synchronized (this) {
+      if (fees != null && now - fetchedAt < refreshMs) {
+        return fees;
+      }
+      try {
+        fees = loadFees();
+      } catch (Exception e) {
+        log.warn("[GasOracle] fee refresh failed, using previous: {}", e.toString());
+        if (fees == null) {
+          fees = fallbackFees();
+        }
+      }
+      fetchedAt = now;
+      return fees;
+    }
+  }
+
+  /**
+   * 메서드별 gas limit: 학습값이 있으면 그대로, 없으면 eth_estimateGas + 20% (실패 시 300k)
+   */
+  public BigInteger gasLimit(String method, String to, String data) {
+    BigInteger learned = learnedLimits.get(method);
+    if (learned != null) {
+      return learned;
+    }
+    return estimateLimit(to, data);
+  }
+
+  /**
+   * 학습값을 쓰지 않고 항상 eth_estimateGas + 20% (학습값으로 보낸 tx 가 gas 부족으로 revert 된 뒤 재전송용)
+   */
+  public BigInteger estimateLimit(String to, String data) {
+    return withBuffer(estimate(to, data));
+  }
+
+  /**
+   * 컨펌된 영수증 gasUsed 로 메서드별 gas limit 학습 (최대값 유지)
+   * revert 면 학습값이 모자랐을 수 있으므로(out of gas) 버리고 다음 호출에서 eth_estimateGas
+   */
+  public void observe(String method, TransactionReceipt receipt) {
+    if (receipt == null || receipt.getGasUsed() == null) {
+      return;
+    }
+    if (!receipt.isStatusOK()) {
+      if (learnedLimits.remove(method) != null) {
+        log.warn("[GasOracle] {} reverted (gasUsed={}), re-estimate next time", method, receipt.getGasUsed());
+      }
+      return;
+    }
+    BigInteger limit = withBuffer(receipt.getGasUsed());
+    learnedLimits.merge(method, limit, BigInteger::max);
+  }
+
+  /** 영수증 future 완료 시 observe */
+  public void observe(String method, CompletableFuture<TransactionReceipt> receipt) {
+    receipt.thenAccept(r -> observe(method, r));
+  }
+
+  private Fees loadFees() throws Exception {
+    EthFeeHistory resp = web3j.ethFeeHistory(historyBlocks, DefaultBlockParameterName.LATEST, List.of(50d)).send();
+    if (resp.hasError() || resp.getFeeHistory() == null) {
+      throw new IllegalStateException("eth_feeHistory error: "
+          + (resp.getError() != null ? resp.getError().getMessage() : "empty"));
+    }
+    EthFeeHistory.FeeHistory history = resp.getFeeHistory();
+    List<BigInteger> baseFees = history.getBaseFeePerGas();
+    if (baseFees == null || baseFees.isEmpty() || baseFees.get(baseFees.size() - 1).signum() == 0) {
+      // EIP-1559 미지원 체인
+      return fallbackFees();
+    }
+    // 마지막 값은 다음 블록 base fee
+    BigInteger nextBase = baseFees.get(baseFees.size() - 1);
+
+    List<BigInteger> tips = new ArrayList<>();
+    if (history.getReward() != null) {
+      for (List<BigInteger> reward : history.getReward()) {
+        if (reward != null && !reward.isEmpty() && reward.get(0) != null) {
+          tips.add(reward.get(0));
+        }
+      }
+    }
+    BigInteger priority = median(tips).max(BigInteger.valueOf(minPriorityGwei).multiply(GWEI));
+    BigInteger maxFee = nextBase.shiftLeft(1).add(priority).min(maxFeeCap());
+    return new Fees(nextBase, priority.min(maxFee), maxFee);
+  }
+
+  private Fees fallbackFees() {
+    BigInteger gasPrice;
+    try {
+      gasPrice = web3j.ethGasPrice().send().getGasPrice();
+    } catch (Exception e) {
+      log.warn("[GasOracle] eth_gasPrice failed: {}", e.toString());
+      gasPrice = BigInteger.valueOf(minPriorityGwei).multiply(GWEI);
+    }
+    BigInteger capped = gasPrice.min(maxFeeCap());
+    return new Fees(capped, BigInteger.ZERO, capped);
+  }
+
+  private BigInteger estimate(String to, String data) {
+    try {
+      EthEstimateGas resp = web3j.ethEstimateGas(
+          Transaction.createFunctionCallTransaction(admin.getAddress(), null, null, null, to, data)
+      ).send();
+      if (!resp.hasError() && resp.getAmountUsed() != null && resp.getAmountUsed().signum() > 0) {
+        return resp.getAmountUsed();
+      }
+      log.warn("[GasOracle] eth_estimateGas fallback: {}", (resp.getError() != null ? resp.getError().getMessage() : "null"));
+    } catch (Exception e) {
+      log.warn("[GasOracle] eth_estimateGas exception -> fallback 300k: {}", e.toString());
+    }
+    return GAS_LIMIT_FALLBACK;
+  }
+
+  private BigInteger maxFeeCap() {
+    return BigInteger.valueOf(maxFeeGwei).multiply(GWEI);
+  }
+
+  private static BigInteger withBuffer(BigInteger gas) {
+    return gas.add(gas.divide(BigInteger.valueOf(5))).max(GAS_LIMIT_MIN); // +20% 버퍼
+  }
+
+  private static BigInteger median(List<BigInteger> values) {
+    if (values.isEmpty()) {
+      return BigInteger.ZERO;
+    }
+    List<BigInteger> sorted = new ArrayList<>(values);
+    Collections.sort(sorted);
+    return sorted.get(sorted.size() / 2);
+  }
+}
@@ -3,9 +3,11 @@ package com.e105.majoong.blockchain.service;
 import com.e105.majoong.blockchain.props.ChainProps;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.web3j.abi.EventEncoder;
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.TypeReference;
 import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
 import org.web3j.abi.datatypes.Event;
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.generated.Uint256;
@@ -13,13 +15,15 @@ import org.web3j.crypto.Credentials;
 import org.web3j.crypto.RawTransaction;
 import org.web3j.crypto.TransactionEncoder;
 import org.web3j.protocol.Web3j;
-import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.utils.Numeric;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +32,8 @@ public class OnChainDonationService {
   private final Web3j web3j;
   private final Credentials admin;      // Web3Config에서 주입됨 (DEPLOYER_PRIVATE_KEY)
   private final ChainProps chainProps;  // tokenAddress/chainId/…
+  private final AdminNonceManager nonceManager;
+  private final GasOracle gasOracle;
 
   // DonationRecorded(address indexed donor, address indexed vault, uint256 amount)
   private static final Event DONATION_RECORDED = new Event(
@@ -38,10 +44,21 @@ public class OnChainDonationService {
           new TypeReference<Uint256>() {}      // amount
       )
   );
+  public static final String MINT_METHOD = "mintToVaultForDonor";
+  public static final String MINT_BATCH_METHOD = "mintBatchToVaultsForDonors";
+
+  /** 배치 민팅 한 건 */
+  public record MintItem(String donor, String vault, BigInteger amountWei) {}
+
   /**
    * MaronToken.mintToVaultForDonor(donor, vault, amountWei)
    */
   public String mintToVaultForDonor(String donor, String vault, BigInteger amountWei) throws Exception {
+    return mintToVaultForDonor(donor, vault, amountWei, false);
+  }
+
+  /** reestimate: 학습된 gas limit 대신 eth_estimateGas 로 새로 계산 */
+  public String mintToVaultForDonor(String donor, String vault, BigInteger amountWei, boolean reestimate) throws Exception {
     Function fn = new Function(
         "mintToVaultForDonor",
         Arrays.asList(new Address(donor), new Address(vault), new Uint256(amountWei)),
@@ -49,25 +66,88 @@ public class OnChainDonationService {
     );
     String data = FunctionEncoder.encode(fn);
 
-    BigInteger nonce = web3j.ethGetTransactionCount(
-        admin.getAddress(), DefaultBlockParameterName.PENDING
-    ).send().getTransactionCount();
+    // EIP-1559 수수료 / gas limit 은 GasOracle 캐시 사용 (영수증 gasUsed 는 호출 측에서 observe)
+    GasOracle.Fees fees     = gasOracle.fees();
+    BigInteger gasLimit     = reestimate
+        ? gasOracle.estimateLimit(chainProps.getTokenAddress(), data)
+        : gasOracle.gasLimit(MINT_METHOD, chainProps.getTokenAddress(), data);
 
-    // EIP-1559 샘플 파라미터 (테스트넷 상황에 맞게 조정)
-    BigInteger gasLimit     = BigInteger.valueOf(220_000);
-    BigInteger maxPriority  = BigInteger.valueOf(1_500_000_000L);
-    BigInteger maxFee       = BigInteger.valueOf(30_000_000_000L);
+    // nonce 는 AdminNonceManager 가 메모리에서 발급 (동시 기부 시 충돌 방지)
+    return nonceManager.submit(MINT_METHOD, nonce -> {
+      RawTransaction raw = RawTransaction.createTransaction(
+          chainProps.getChainId(), nonce, gasLimit,
+          chainProps.getTokenAddress(), BigInteger.ZERO, data,
+          fees.maxPriorityFee(), fees.maxFee()
+      );
+      byte[] signed = TransactionEncoder.signMessage(raw, chainProps.getChainId(), admin);
+      return Numeric.toHexString(signed);
+    });
+  }
 
-    RawTransaction raw = RawTransaction.createTransaction(
-        chainProps.getChainId(), nonce, gasLimit,
-        chainProps.getTokenAddress(), BigInteger.ZERO, data,
-        maxPriority, maxFee
+  /**
+   * MaronToken.mintBatchToVaultsForDonors(donors[], vaults[], amounts[])
+   * 항목 순서대로 DonationRecorded 로그가 발생하므로 호출 측은 같은 순서로 logIndex 를 매핑
+   * reestimate: 학습된 gas limit 대신 eth_estimateGas 로 새로 계산
+   */
+  public String mintBatchToVaultsForDonors(List<MintItem> items, boolean reestimate) throws Exception {
+    if (items.size() == 1) {
+      MintItem item = items.get(0);
+      return mintToVaultForDonor(item.donor(), item.vault(), item.amountWei(), reestimate);
+    }
+    Function fn = new Function(
+        MINT_BATCH_METHOD,
+        Arrays.asList(
+            new DynamicArray<>(Address.class, items.stream().map(i -> new Address(i.donor())).toList()),
+            new DynamicArray<>(Address.class, items.stream().map(i -> new Address(i.vault())).toList()),
+            new DynamicArray<>(Uint256.class, items.stream().map(i -> new Uint256(i.amountWei())).toList())
+        ),
+        Collections.emptyList()
     );
+    String data = FunctionEncoder.encode(fn);
+
+    // gas limit 은 배치 크기별로 학습
+    GasOracle.Fees fees     = gasOracle.fees();
+    BigInteger gasLimit     = reestimate
+        ? gasOracle.estimateLimit(chainProps.getTokenAddress(), data)
+        : gasOracle.gasLimit(batchLabel(items.size()), chainProps.getTokenAddress(), data);
+
+    return nonceManager.submit(MINT_BATCH_METHOD, nonce -> {
+      RawTransaction raw = RawTransaction.createTransaction(
+          chainProps.getChainId(), nonce, gasLimit,
+          chainProps.getTokenAddress(), BigInteger.ZERO, data,
+          fees.maxPriorityFee(), fees.maxFee()
+      );
+      byte[] signed = TransactionEncoder.signMessage(raw, chainProps.getChainId(), admin);
+      return Numeric.toHexString(signed);
+    });
+  }
+
+  /** GasOracle 학습 키 (단건은 MINT_METHOD) */
+  public static String batchLabel(int size) {
+    return size == 1 ? MINT_METHOD : MINT_BATCH_METHOD + ":" + size;
+  }
 
-    byte[] signed = TransactionEncoder.signMessage(raw, chainProps.getChainId(), admin);
-    EthSendTransaction res = web3j.ethSendRawTransaction(Numeric.toHexString(signed)).send();
+  /** revert 영수증이 tx 의 gas limit 을 모두 썼는지 (out of gas 추정, tx 조회 실패 시 false) */
+  public boolean usedAllGas(TransactionReceipt receipt) {
+    try {
+      return web3j.ethGetTransactionByHash(receipt.getTransactionHash()).send().getTransaction()
+          .map(tx -> receipt.getGasUsed() != null && receipt.getGasUsed().compareTo(tx.getGas()) >= 0)
+          .orElse(false);
+    } catch (Exception e) {
+      return false;
+    }
+  }
 
-    if (res.hasError()) throw new RuntimeException("mintToVaultForDonor failed: " + res.getError().getMessage());
-    return res.getTransactionHash();
+  /** 영수증에서 이 토큰 컨트랙트의 DonationRecorded 로그 index 를 발생 순서대로 추출 */
+  public List<Integer> donationLogIndexes(TransactionReceipt receipt) {
+    String topic = EventEncoder.encode(DONATION_RECORDED);
+    List<Integer> indexes = new ArrayList<>();
+    for (Log l : receipt.getLogs()) {
+      if (l.getAddress().equalsIgnoreCase(chainProps.getTokenAddress())
+          && !l.getTopics().isEmpty() && topic.equalsIgnoreCase(l.getTopics().get(0))) {
+        indexes.add(l.getLogIndex().intValueExact());
+      }
+    }
+    return indexes;
   }
 }
@@ -0,0 +1,145 @@
+package com.e105.majoong.blockchain.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 트랜잭션 영수증 확인을 한 곳에서 처리
+ * - 호출 스레드가 tx 마다 ethGetTransactionReceipt + sleep 을 반복하지 않도록
+ *   대기 중인 txHash 를 모아 두고, 새 블록이 생겼을 때만 JSON-RPC batch 한 번으로 영수증을 조회
+ * - 영수증 블록이 chain.receipt.confirmations 만큼 쌓이면 CompletableFuture 완료
+ *   (그 전에 영수증이 사라지면 reorg 로 보고 다시 대기)
+ * - revert 여부는 호출하는 쪽에서 receipt.isStatusOK() 로 판단
+ * - poll 은 전용 스케줄러 스레드에서 실행 (기본 @Scheduled 단일 스레드를 인덱서/워커/배치와 나눠 쓰면
+ *   느린 eth_getLogs 한 번이 모든 영수증 확인을 늦춤)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReceiptTracker {
+
+  private final Web3j web3j;
+  private final ChainViewCache viewCache;
+
+  @Value("${chain.receipt.confirmations:1}")
+  private int confirmations;
+
+  @Value("${chain.receipt.timeout-ms:180000}")
+  private long timeoutMs;
+
+  @Value("${chain.receipt.poll-ms:1000}")
+  private long pollMs;
+
+  private ThreadPoolTaskScheduler scheduler;
+
+  private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+  private volatile BigInteger lastPolledBlock = BigInteger.valueOf(-1);
+
+  private static final class Pending {
+    final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+    final long deadline;
+
+    Pending(long deadline) {
+      this.deadline = deadline;
+    }
+  }
+
+  @PostConstruct
+  public void init() {
+    scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(1);
+    scheduler.setThreadNamePrefix("receipt-tracker-");
+    scheduler.initialize();
+    scheduler.scheduleWithFixedDelay(this::poll, Duration.ofMillis(pollMs));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdown();
+  }
+
+  /**
+   * txHash 영수증 대기 (같은 txHash 는 같은 future 공유)
+   */
+  public CompletableFuture<TransactionReceipt> track(String txHash) {
+    String key = txHash.toLowerCase();
+    return pending.computeIfAbsent(key, k -> new Pending(System.currentTimeMillis() + timeoutMs)).future;
+  }
+
+  public boolean isTracking(String txHash) {
+    return pending.containsKey(txHash.toLowerCase());
+  }
+
+  public void poll() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    expire();
+    try {
+      BigInteger head = web3j.ethBlockNumber().send().getBlockNumber();
+      if (head.equals(lastPolledBlock)) {
+        return; // 새 블록이 없으면 영수증도 바뀌지 않음
+      }
+      lastPolledBlock = head;
+
+      List<String> hashes = new ArrayList<>(pending.keySet());
+      BatchRequest batch = web3j.newBatch();
+      for (String hash : hashes) {
+        batch.add(web3j.ethGetTransactionReceipt(hash));
+      }
+      BatchResponse response = batch.send();
+      List<? extends Response<?>> results = response.getResponses();
+
+      for (int i = 0; i < results.size() && i < hashes.size(); i++) {
+        Optional<TransactionReceipt> receipt = ((EthGetTransactionReceipt) results.get(i)).getTransactionReceipt();
+        if (receipt.isEmpty() || receipt.get().getBlockNumber() == null) {
+          continue;
+        }
+        BigInteger depth = head.subtract(receipt.get().getBlockNumber()).add(BigInteger.ONE);
+        if (depth.compareTo(BigInteger.valueOf(confirmations)) >= 0) {
+          Pending p = pending.remove(hashes.get(i));
+          if (p != null) {
+            // 우리 tx 로 상태가 바뀐 컨트랙트의 view 캐시를 먼저 비우고 완료 통지
+            viewCache.invalidateTouched(receipt.get());
+            p.future.complete(receipt.get());
+          }
+        }
+      }
+    } catch (Exception e) {
+      log.warn("[ReceiptTracker] poll failed ({} pending): {}", pending.size(), e.toString());
+    }
+  }
+
+  private void expire() {
+    long now = System.currentTimeMillis();
+    pending.entrySet().removeIf(entry -> {
+      if (entry.getValue().deadline > now) {
+        return false;
+      }
+      entry.getValue().future.completeExceptionally(
+          new TimeoutException("영수증 대기 타임아웃: " + entry.getKey()));
+      return true;
+    });
+  }
+}
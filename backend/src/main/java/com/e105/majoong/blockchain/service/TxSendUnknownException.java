@@ -0,0 +1,18 @@
+package com.e105.majoong.blockchain.service;
+
+import lombok.Getter;
+
+/**
+ * eth_sendRawTransaction 결과를 알 수 없는 경우 (타임아웃/IO 등)
+ * 노드가 이미 tx 를 받았을 수 있으므로 재전송하지 말고 txHash 의 receipt 로 확인해야 함
+ */
+@Getter
+public class TxSendUnknownException extends RuntimeException {
+
+  private final String txHash; // 서명된 raw tx 의 해시 (Hash.sha3(signedHex))
+
+  public TxSendUnknownException(String label, String txHash, Throwable cause) {
+    super(label + " send result unknown: txHash=" + txHash, cause);
+    this.txHash = txHash;
+  }
+}
@@ -0,0 +1,217 @@
+package com.e105.majoong.blockchain.service;
+
+import com.e105.majoong.common.model.farmVault.FarmVault;
+import com.e105.majoong.common.model.farmVault.FarmVault.Status;
+import com.e105.majoong.common.model.farmVault.FarmVaultRepository;
+import com.e105.majoong.common.model.farmer.Farmer;
+import com.e105.majoong.common.model.farmer.FarmerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 목장주 금고 생성 outbox 워커
+ * - 회원가입 트랜잭션은 PENDING 금고 행만 저장하고, 커밋 후 dispatch 로 이 워커를 깨움
+ * - PENDING -> SUBMITTING(선점) -> createVault 전송 -> SUBMITTED(txHash) -> 영수증 확인 후 vaultOf 로 주소 확인 -> ACTIVE
+ * - 팩토리는 같은 keccakKey 로 금고를 두 번 만들지 않으므로(require "exists"),
+ *   결과를 모르는 전송/중단된 선점/드롭된 tx 는 vaultOf 로 먼저 확인하고 없으면 다시 전송
+ * - 전송 실패는 지수 backoff 재시도, 최대 횟수를 넘으면 FAILED (운영자 확인)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VaultDeployWorker {
+
+  private final FarmVaultRepository vaultRepo;
+  private final FarmerRepository farmerRepo;
+  private final VaultService vaultService;
+  private final ReceiptTracker receiptTracker;
+  private final GasOracle gasOracle;
+  private final Set<String> watching = ConcurrentHashMap.newKeySet();
+
+  @Value("${vault.deploy.max-attempts:5}")
+  private int maxAttempts;
+
+  // SUBMITTING / SUBMITTED 가 이 시간을 넘기면 선점 인스턴스가 죽었거나 tx 가 드롭된 것으로 간주
+  @Value("${vault.deploy.claim-lease-ms:600000}")
+  private long claimLeaseMs;
+
+  private ThreadPoolTaskExecutor executor;
+
+  @PostConstruct
+  public void init() {
+    executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(2);
+    executor.setMaxPoolSize(2);
+    executor.setQueueCapacity(100);
+    executor.setThreadNamePrefix("vault-deploy-");
+    executor.initialize();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /** 회원가입 커밋 직후 호출 */
+  public void dispatch(Long vaultId) {
+    try {
+      executor.execute(() -> deploy(vaultId));
+    } catch (TaskRejectedException e) {
+      // 큐가 가득 차면 drain 이 수거
+      log.warn("[VaultDeploy] queue full, deferred id={}", vaultId);
+    }
+  }
+
+  // dispatch 누락/재시도 대상 수거
+  @Scheduled(fixedDelay = 5_000L, initialDelay = 5_000L)
+  public void drain() {
+    if (!executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+      return;
+    }
+    for (FarmVault v : vaultRepo.findTop50ByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(Status.PENDING, LocalDateTime.now())) {
+      dispatch(v.getId());
+    }
+  }
+
+  /**
+   * SUBMITTED 인데 영수증을 기다리는 중이 아닌 건(재기동, tracker 타임아웃)을 다시 대기 등록
+   * lease 가 지나도 영수증이 없으면 드롭된 것으로 보고 금고가 없을 때만 다시 PENDING
+   */
+  @Scheduled(fixedDelay = 30_000L, initialDelay = 5_000L)
+  public void reconcile() {
+    LocalDateTime stale = LocalDateTime.now().minusNanos(claimLeaseMs * 1_000_000L);
+    for (FarmVault v : vaultRepo.findTop50ByStatusOrderByIdAsc(Status.SUBMITTED)) {
+      if (watching.contains(v.getDeployTxHash())) {
+        continue;
+      }
+      if (v.getClaimedAt() != null && v.getClaimedAt().isBefore(stale)) {
+        resolveOrRetry(v, "createVault receipt not found, tx=" + v.getDeployTxHash());
+      } else {
+        watch(v.getDeployTxHash());
+      }
+    }
+  }
+
+  // 선점 후 프로세스가 죽어 SUBMITTING 으로 남은 건 (lease 가 지난 것만)
+  @Scheduled(fixedDelay = 60_000L, initialDelay = 60_000L)
+  public void recoverStale() {
+    LocalDateTime before = LocalDateTime.now().minusNanos(claimLeaseMs * 1_000_000L);
+    for (FarmVault v : vaultRepo.findTop50ByStatusAndClaimedAtBeforeOrderByIdAsc(Status.SUBMITTING, before)) {
+      log.warn("[VaultDeploy] interrupted id={} claimedAt={}", v.getId(), v.getClaimedAt());
+      resolveOrRetry(v, "interrupted while submitting");
+    }
+  }
+
+  private void deploy(Long vaultId) {
+    if (vaultRepo.claim(vaultId, Status.PENDING, Status.SUBMITTING, LocalDateTime.now()) != 1) {
+      return;
+    }
+    FarmVault v = vaultRepo.findById(vaultId).orElse(null);
+    if (v == null) {
+      return;
+    }
+    BigInteger keccakKey = Numeric.toBigInt(v.getKeccakKey());
+    try {
+      // 이전 시도가 이미 반영됐으면 재전송하지 않음
+      Optional<String> existing = vaultService.findVaultOf(keccakKey);
+      if (existing.isPresent()) {
+        activate(v, existing.get());
+        return;
+      }
+      Farmer farmer = farmerRepo.findByMemberUuid(v.getMemberUuid())
+          .orElseThrow(() -> new IllegalStateException("farmer not found: " + v.getMemberUuid()));
+      String txHash = vaultService.submitCreateVault(keccakKey, farmer.getWalletAddress());
+      submitted(v, txHash);
+    } catch (TxSendUnknownException e) {
+      // 노드가 받았을 수 있으므로 서명된 tx 해시의 영수증으로 확인
+      log.warn("[VaultDeploy] send result unknown id={} tx={}", v.getId(), e.getTxHash());
+      submitted(v, e.getTxHash());
+    } catch (Exception e) {
+      retryOrFail(v, e.getMessage(), e);
+    }
+  }
+
+  private void submitted(FarmVault v, String txHash) {
+    v.markSubmitted(txHash);
+    vaultRepo.save(v);
+    watch(txHash);
+  }
+
+  // 영수증 컨펌 후 vaultOf 로 주소 확인 (revert 여도 이미 만들어진 금고면 ACTIVE)
+  private void watch(String txHash) {
+    if (txHash == null || !watching.add(txHash)) {
+      return;
+    }
+    receiptTracker.track(txHash).whenCompleteAsync((receipt, error) -> {
+      watching.remove(txHash);
+      if (error != null) {
+        log.warn("[VaultDeploy] receipt wait failed tx={}: {}", txHash, error.toString());
+        return; // SUBMITTED 로 두고 다음 reconcile 때 다시 대기
+      }
+      settle(txHash, receipt);
+    }, executor).exceptionally(error -> {
+      // 워커 큐가 가득 차 콜백이 거절됐거나 정리 중 예외: 대기 표시를 풀어 다음 reconcile 때 다시 등록
+      watching.remove(txHash);
+      log.warn("[VaultDeploy] receipt callback failed tx={}: {}", txHash, error.toString());
+      return null;
+    });
+  }
+
+  private void settle(String txHash, TransactionReceipt receipt) {
+    for (FarmVault v : vaultRepo.findByDeployTxHash(txHash)) {
+      if (v.getStatus() != Status.SUBMITTED) {
+        continue;
+      }
+      gasOracle.observe("createVault", receipt);
+      resolveOrRetry(v, "createVault reverted, status=" + receipt.getStatus());
+    }
+  }
+
+  // 체인에 금고가 있으면 ACTIVE, 없으면 재시도
+  private void resolveOrRetry(FarmVault v, String reason) {
+    try {
+      Optional<String> vaultAddress = vaultService.findVaultOf(Numeric.toBigInt(v.getKeccakKey()));
+      if (vaultAddress.isPresent()) {
+        activate(v, vaultAddress.get());
+      } else {
+        retryOrFail(v, reason, null);
+      }
+    } catch (Exception e) {
+      log.warn("[VaultDeploy] vaultOf check failed id={}: {}", v.getId(), e.toString());
+    }
+  }
+
+  private void activate(FarmVault v, String vaultAddress) {
+    v.activate(vaultAddress);
+    vaultRepo.save(v);
+    log.info("[VaultDeploy] vault active memberUuid={} vault={} tx={}", v.getMemberUuid(), vaultAddress, v.getDeployTxHash());
+  }
+
+  private void retryOrFail(FarmVault v, String error, Exception e) {
+    int attempts = (v.getDeployAttempts() == null ? 0 : v.getDeployAttempts()) + 1;
+    if (attempts >= maxAttempts) {
+      v.markFailed(error);
+      log.error("[VaultDeploy] give up id={} memberUuid={} after {} attempts: {}", v.getId(), v.getMemberUuid(), attempts, error, e);
+    } else {
+      long backoffSec = 1L << Math.min(attempts + 1, 8); // 4, 8, 16, ... 최대 256초
+      v.scheduleRetry(error, LocalDateTime.now().plusSeconds(backoffSec));
+      log.warn("[VaultDeploy] retry id={} attempt={} in {}s: {}", v.getId(), attempts, backoffSec, error);
+    }
+    vaultRepo.save(v);
+  }
+}
@@ -1,16 +1,15 @@
 package com.e105.majoong.blockchain.service;
 
 import com.e105.majoong.blockchain.props.ChainProps;
-import com.e105.majoong.common.model.farmVault.FarmVault;
-import com.e105.majoong.common.model.farmVault.FarmVaultRepository;
+import com.e105.majoong.blockchain.util.VaultSummaryStruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.FunctionReturnDecoder;
 import org.web3j.abi.TypeReference;
 import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.DynamicArray;
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.Type;
 import org.web3j.abi.datatypes.generated.Uint256;
@@ -19,17 +18,17 @@ import org.web3j.crypto.RawTransaction;
 import org.web3j.crypto.TransactionEncoder;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
-import org.web3j.protocol.core.methods.request.Transaction;
-import org.web3j.protocol.core.methods.response.EthCall;
-import org.web3j.protocol.core.methods.response.EthEstimateGas;
-import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.utils.Numeric;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -39,82 +38,58 @@ public class VaultService {
   private final Web3j web3j;
   private final Credentials admin;            // 관리자 프라이빗키(서명용)
   private final ChainProps chainProps;        // 체인 설정값(체인ID, 팩토리 주소 등)
-  private final FarmVaultRepository farmVaultRepository;
+  private final AdminNonceManager nonceManager;
+  private final ReceiptTracker receiptTracker;
+  private final ChainViewCache viewCache;        // view 호출/코드 조회 블록 단위 캐시
+  private final GasOracle gasOracle;             // 수수료/메서드별 gas limit 캐시
 
   private static final String ADDR_REGEX = "^0x[0-9a-fA-F]{40}$";
   private static final BigInteger GAS_LIMIT_MIN = BigInteger.valueOf(120_000L);
+  private static final int LENS_CHUNK = 200; // eth_call 가스 한도 안에서 한 번에 조회할 금고 수
 
   // ===================================================================================
-  // Vault 생성/조회
+  // Vault 생성/조회 (생성 흐름은 VaultDeployWorker)
   // ===================================================================================
 
+  /**
+   * createVault(keccakKey, owner) tx 전송까지만 하고 txHash 반환
+   * 전송 결과를 모르면 TxSendUnknownException (컨트랙트가 같은 keccakKey 재생성을 막으므로 재전송해도 금고는 하나)
+   */
+  public String submitCreateVault(BigInteger keccakKey, String owner) throws Exception {
+    // 입력 가드
+    final String factory = chainProps.getFactoryAddress();
+    if (!isValidAddress(factory)) throw new IllegalArgumentException("Invalid FACTORY_ADDRESS: " + factory);
+    if (!isValidAddress(owner))   throw new IllegalArgumentException("Invalid ownerAddress: " + owner);
+    // 팩토리 코드 존재 확인 (주소 오타/네트워크 불일치 조기 발견)
+    String code = viewCache.code(factory);
+    if (code == null || "0x".equalsIgnoreCase(code))
+      throw new IllegalStateException("Factory address has no code: " + factory);
+
+    // createVault(keccakKey, owner) 인코딩
+    Function fn = new Function(
+        "createVault",
+        List.of(new Uint256(keccakKey), new Address(owner)),
+        Collections.emptyList()
+    );
+    String data = FunctionEncoder.encode(fn);
 
-  /** 체인에 Vault 생성 → vaultOf로 주소 조회 → DB upsert */
-  @Transactional
-  public FarmVault createVaultAndPersist(BigInteger keccakKey, String owner, String memberUuid) {
-    final String keccakKeyHex = toHex256(keccakKey);
-
-    Optional<FarmVault> exists = farmVaultRepository.findByKeccakKey(keccakKeyHex);
-    if (exists.isPresent()) return exists.get();
+    // 가스 (GasOracle 캐시: EIP-1559 수수료 + 학습된 gas limit), nonce 는 AdminNonceManager 가 발급
+    GasOracle.Fees fees  = gasOracle.fees();
+    BigInteger gasLimit  = gasOracle.gasLimit("createVault", factory, data).max(GAS_LIMIT_MIN);
 
-    try {
-      // 입력 가드
-      final String factory = chainProps.getFactoryAddress();
-      if (!isValidAddress(factory)) throw new IllegalArgumentException("Invalid FACTORY_ADDRESS: " + factory);
-      if (!isValidAddress(owner))   throw new IllegalArgumentException("Invalid ownerAddress: " + owner);
-      // 팩토리 코드 존재 확인 (주소 오타/네트워크 불일치 조기 발견)
-      String code = web3j.ethGetCode(factory, DefaultBlockParameterName.LATEST).send().getCode();
-      if (code == null || "0x".equalsIgnoreCase(code))
-        throw new IllegalStateException("Factory address has no code: " + factory);
+    // 트랜잭션 생성/서명/전송
+    String txHash = nonceManager.submit("createVault", nonce -> sign(nonce, fees, gasLimit, factory, data));
+    log.info("[VaultFactory.createVault] sent tx={}", txHash);
+    return txHash;
+  }
 
-      // createVault(keccakKey, owner) 인코딩
-      Function fn = new Function(
-          "createVault",
-          List.of(new Uint256(keccakKey), new Address(owner)),
-          Collections.emptyList()
-      );
-      String data = FunctionEncoder.encode(fn);
-
-      // 논스/가스 (레거시 gasPrice 전략)
-      BigInteger nonce     = web3j.ethGetTransactionCount(admin.getAddress(), DefaultBlockParameterName.PENDING)
-          .send().getTransactionCount();
-      BigInteger gasPrice  = web3j.ethGasPrice().send().getGasPrice();
-      BigInteger estimated = estimateGas(factory, data);
-      BigInteger gasLimit  = estimated.add(estimated.divide(BigInteger.valueOf(5))) // +20% 버퍼
-          .max(GAS_LIMIT_MIN);
-
-      // 트랜잭션 생성/서명/전송
-      RawTransaction raw = RawTransaction.createTransaction(
-          nonce, gasPrice, gasLimit, factory, BigInteger.ZERO, data
-      );
-      byte[] signed = TransactionEncoder.signMessage(raw, chainProps.getChainId().longValue(), admin);
-      EthSendTransaction sent = web3j.ethSendRawTransaction(Numeric.toHexString(signed)).send();
-      if (sent.hasError()) throw new RuntimeException("TX error: " + sent.getError().getMessage());
-      String txHash = sent.getTransactionHash();
-      log.info("[VaultFactory.createVault] sent tx={}", txHash);
-
-      // 영수증 대기
-      TransactionReceipt receipt = waitForReceipt(txHash);
-      log.info("[VaultFactory.createVault] mined block={}, status={}", receipt.getBlockNumber(), receipt.isStatusOK());
-
-      // vaultOf(keccakKey) 조회로 실제 vault 주소 확인
-      String vaultAddress = callVaultOf(keccakKey);
-      if (!isValidAddress(vaultAddress))
-        throw new IllegalStateException("Factory returned invalid vault address: " + vaultAddress);
-
-      // DB upsert
-      FarmVault fv = farmVaultRepository.findByMemberUuid(memberUuid)
-          .orElse(FarmVault.builder().memberUuid(memberUuid).build());
-      fv.updateKeccakKey(keccakKeyHex);
-      fv.updateVaultAddress(vaultAddress);
-      fv.updateDeployTxHash(txHash);
-      fv.updateStatus(FarmVault.Status.ACTIVE);
-
-      return farmVaultRepository.save(fv);
-
-    } catch (Exception e) {
-      throw new RuntimeException("Vault 생성/저장 실패", e);
+  /** factory.vaultOf(keccakKey) 가 0 주소가 아니면 생성된 금고 주소 */
+  public Optional<String> findVaultOf(BigInteger keccakKey) throws Exception {
+    String vaultAddress = callVaultOf(keccakKey);
+    if (!isValidAddress(vaultAddress) || new BigInteger(Numeric.cleanHexPrefix(vaultAddress), 16).signum() == 0) {
+      return Optional.empty();
     }
+    return Optional.of(vaultAddress);
   }
 
   // ===================================================================================
@@ -122,63 +97,52 @@ public class VaultService {
   // ===================================================================================
 
   /**
-   * 실제 컨트랙트 시그니처에 맞는 구현: release(uint256 amount)
-   * - AccessControl(RELEASER_ROLE)을 가진 admin 계정으로 호출
-   * - 금고의 farmer(immutable)에게 토큰이 전송됨
+   * release tx 전송까지만 처리하고 txHash 반환 (영수증 대기 전에 txHash 를 저장해야 하는 정산 saga 용)
    */
-  @Transactional
-  public String release(String vaultAddress, BigInteger amountWei) {
-    try {
-      // 0) 입력 가드
-      if (!isValidAddress(vaultAddress)) throw new IllegalArgumentException("Invalid vaultAddress: " + vaultAddress);
-      if (amountWei == null || amountWei.signum() <= 0)
-        throw new IllegalArgumentException("Invalid amountWei: " + amountWei);
-
-      // 1) 컨트랙트 코드 존재 확인
-      String code = web3j.ethGetCode(vaultAddress, DefaultBlockParameterName.LATEST).send().getCode();
-      if (code == null || "0x".equalsIgnoreCase(code))
-        throw new IllegalStateException("Vault address has no code: " + vaultAddress);
-
-      // 2) 함수 인코딩: release(uint256)
-      Function fn = new Function(
-          "release",
-          List.of(new Uint256(amountWei)),
-          Collections.emptyList()
-      );
-      String data = FunctionEncoder.encode(fn);
-
-      // 3) nonce / gas (레거시 gasPrice)
-      BigInteger nonce     = web3j.ethGetTransactionCount(admin.getAddress(), DefaultBlockParameterName.PENDING)
-          .send().getTransactionCount();
-      BigInteger gasPrice  = web3j.ethGasPrice().send().getGasPrice();
-      BigInteger estimated = estimateGas(vaultAddress, data);
-      BigInteger gasLimit  = estimated.add(estimated.divide(BigInteger.valueOf(5))) // +20% 버퍼
-          .max(GAS_LIMIT_MIN);
-
-      // 4) 트랜잭션 생성/서명/전송
-      RawTransaction raw = RawTransaction.createTransaction(
-          nonce, gasPrice, gasLimit, vaultAddress, BigInteger.ZERO, data
-      );
-      byte[] signed = TransactionEncoder.signMessage(raw, chainProps.getChainId().longValue(), admin);
-      EthSendTransaction sent = web3j.ethSendRawTransaction(Numeric.toHexString(signed)).send();
-      if (sent.hasError()) throw new RuntimeException("release TX error: " + sent.getError().getMessage());
+  public String submitRelease(String vaultAddress, BigInteger amountWei) throws Exception {
+    // 0) 입력 가드
+    if (!isValidAddress(vaultAddress)) throw new IllegalArgumentException("Invalid vaultAddress: " + vaultAddress);
+    if (amountWei == null || amountWei.signum() <= 0)
+      throw new IllegalArgumentException("Invalid amountWei: " + amountWei);
+
+    // 1) 컨트랙트 코드 존재 확인
+    String code = viewCache.code(vaultAddress);
+    if (code == null || "0x".equalsIgnoreCase(code))
+      throw new IllegalStateException("Vault address has no code: " + vaultAddress);
+
+    // 2) 함수 인코딩: release(uint256)
+    Function fn = new Function(
+        "release",
+        List.of(new Uint256(amountWei)),
+        Collections.emptyList()
+    );
+    String data = FunctionEncoder.encode(fn);
 
-      String txHash = sent.getTransactionHash();
-      log.info("[Vault.release] sent tx={}", txHash);
+    // 3) gas (GasOracle 캐시), nonce 는 AdminNonceManager 가 발급
+    GasOracle.Fees fees  = gasOracle.fees();
+    BigInteger gasLimit  = gasOracle.gasLimit("release", vaultAddress, data).max(GAS_LIMIT_MIN);
 
-      // 5) 영수증 대기 및 상태 확인
-      TransactionReceipt receipt = waitForReceipt(txHash);
+    // 4) 트랜잭션 생성/서명/전송
+    String txHash = nonceManager.submit("release TX", nonce -> sign(nonce, fees, gasLimit, vaultAddress, data));
+    log.info("[Vault.release] sent tx={}", txHash);
+    return txHash;
+  }
+
+  /**
+   * 전송된 release tx 영수증 대기 및 상태 확인 (재기동 후 재개 시에도 같은 txHash 로 호출)
+   */
+  public CompletableFuture<String> awaitRelease(String txHash) {
+    CompletableFuture<TransactionReceipt> mined = receiptTracker.track(txHash);
+    gasOracle.observe("release", mined);
+    return mined.thenApply(receipt -> {
       if (!receipt.isStatusOK()) {
-        throw new RuntimeException("release reverted, status=" + receipt.getStatus());
+        throw new IllegalStateException("release reverted, status=" + receipt.getStatus());
       }
       log.info("[Vault.release] mined block={}, gasUsed={}", receipt.getBlockNumber(), receipt.getGasUsed());
-
       return txHash;
-
-    } catch (Exception e) {
-      throw new RuntimeException("Vault release failed", e);
-    }
+    });
   }
+
   /**
    * Vault 컨트랙트에 박힌 farmer 주소 조회
    */
@@ -194,18 +158,9 @@ public class VaultService {
         List.of(new TypeReference<Address>() {})
     );
 
-    EthCall call = web3j.ethCall(
-        Transaction.createEthCallTransaction(
-            admin.getAddress(), vaultAddress, FunctionEncoder.encode(viewFn)
-        ),
-        DefaultBlockParameterName.LATEST
-    ).send();
-
-    if (call.hasError()) {
-      throw new RuntimeException("farmer() call error: " + call.getError().getMessage());
-    }
+    String value = viewCache.call(admin.getAddress(), vaultAddress, FunctionEncoder.encode(viewFn));
 
-    List<Type> out = FunctionReturnDecoder.decode(call.getValue(), viewFn.getOutputParameters());
+    List<Type> out = FunctionReturnDecoder.decode(value, viewFn.getOutputParameters());
     if (out == null || out.isEmpty()) {
       throw new IllegalStateException("farmer() decode failed (empty output)");
     }
@@ -224,18 +179,72 @@ public class VaultService {
     );
     String data = FunctionEncoder.encode(f);
 
-    EthCall resp = web3j.ethCall(
-        Transaction.createEthCallTransaction(null, vaultAddress, data),
-        DefaultBlockParameterName.LATEST
-    ).send();
+    String value = viewCache.call(null, vaultAddress, data);
 
-    if (resp.isReverted()) {
-      throw new IllegalStateException("tokenBalance() reverted: " + resp.getRevertReason());
-    }
-    java.util.List<Type> out = FunctionReturnDecoder.decode(resp.getValue(), f.getOutputParameters());
+    java.util.List<Type> out = FunctionReturnDecoder.decode(value, f.getOutputParameters());
     if (out.isEmpty()) throw new IllegalStateException("Empty tokenBalance() output");
     return (BigInteger) out.get(0).getValue();
   }
+  /**
+   * 여러 금고의 토큰 잔액을 한 번에 조회 (vault 주소 → 잔액 wei)
+   * 조회에 실패한 금고(코드 없음 등)는 결과에서 빠짐
+   */
+  public Map<String, BigInteger> getVaultBalancesWei(List<String> vaultAddresses) throws Exception {
+    Map<String, BigInteger> result = new LinkedHashMap<>();
+    for (VaultSummary summary : getVaultSummaries(vaultAddresses)) {
+      if (summary.ok()) {
+        result.put(summary.vault(), summary.balanceWei());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * VaultLens.vaultSummaries 로 잔액/farmer/admin 출금 권한을 LENS_CHUNK 개씩 eth_call 한 번에 조회
+   * lensAddress 가 설정되지 않은 환경에서는 금고별 개별 조회로 대체
+   */
+  public List<VaultSummary> getVaultSummaries(List<String> vaultAddresses) throws Exception {
+    List<String> vaults = vaultAddresses.stream().filter(this::isValidAddress).distinct().toList();
+    String lens = chainProps.getLensAddress();
+    if (!isValidAddress(lens)) {
+      List<VaultSummary> result = new ArrayList<>(vaults.size());
+      for (String vault : vaults) {
+        try {
+          result.add(new VaultSummary(vault, getOnchainFarmer(vault), getVaultTokenBalanceWei(vault), false, true));
+        } catch (Exception e) {
+          log.warn("[Vault.summary] {} lookup failed: {}", vault, e.toString());
+          result.add(new VaultSummary(vault, null, BigInteger.ZERO, false, false));
+        }
+      }
+      return result;
+    }
+
+    List<VaultSummary> result = new ArrayList<>(vaults.size());
+    for (int from = 0; from < vaults.size(); from += LENS_CHUNK) {
+      List<Address> chunk = vaults.subList(from, Math.min(from + LENS_CHUNK, vaults.size())).stream()
+          .map(Address::new)
+          .toList();
+      Function fn = new Function(
+          "vaultSummaries",
+          List.of(new DynamicArray<>(Address.class, chunk), new Address(admin.getAddress())),
+          List.of(new TypeReference<DynamicArray<VaultSummaryStruct>>() {})
+      );
+      String value = viewCache.call(admin.getAddress(), lens, FunctionEncoder.encode(fn));
+
+      List<Type> out = FunctionReturnDecoder.decode(value, fn.getOutputParameters());
+      if (out.isEmpty()) throw new IllegalStateException("Empty vaultSummaries() output");
+      @SuppressWarnings("unchecked")
+      List<VaultSummaryStruct> rows = ((DynamicArray<VaultSummaryStruct>) out.get(0)).getValue();
+      for (VaultSummaryStruct row : rows) {
+        result.add(new VaultSummary(row.vault, row.farmer, row.vaultTokenBalance, row.isReleaser, row.ok));
+      }
+    }
+    return result;
+  }
+
+  /** 금고 요약 (ok=false 이면 조회 실패) */
+  public record VaultSummary(String vault, String farmer, BigInteger balanceWei, boolean releaser, boolean ok) {}
+
   // ===================================================================================
   // VIEW & UTIL
   // ===================================================================================
@@ -247,52 +256,22 @@ public class VaultService {
         List.of(new Uint256(keccakKey)),
         List.of(new TypeReference<Address>() {})
     );
-    EthCall call = web3j.ethCall(
-        Transaction.createEthCallTransaction(
-            admin.getAddress(), chainProps.getFactoryAddress(), FunctionEncoder.encode(view)
-        ),
-        DefaultBlockParameterName.LATEST
-    ).send();
+    String value = viewCache.call(admin.getAddress(), chainProps.getFactoryAddress(), FunctionEncoder.encode(view));
 
-    if (call.hasError()) throw new RuntimeException("vaultOf call error: " + call.getError().getMessage());
-
-    List<Type> out = FunctionReturnDecoder.decode(call.getValue(), view.getOutputParameters());
+    List<Type> out = FunctionReturnDecoder.decode(value, view.getOutputParameters());
     if (out == null || out.isEmpty()) throw new IllegalStateException("vaultOf decode failed (empty output)");
     return ((Address) out.get(0)).getValue();
   }
 
-  /** 간단한 receipt 폴링: 1초 간격, 최대 180회(≈3분) */
-  private TransactionReceipt waitForReceipt(String txHash) throws Exception {
-    final int attempts = 180;
-    for (int i = 0; i < attempts; i++) {
-      Optional<TransactionReceipt> r = web3j.ethGetTransactionReceipt(txHash).send().getTransactionReceipt();
-      if (r.isPresent()) return r.get();
-      Thread.sleep(1000);
-    }
-    throw new RuntimeException("영수증 대기 타임아웃: " + txHash);
-  }
-
-  /** 실패 시 300k로 안전 fallback */
-  private BigInteger estimateGas(String to, String data) {
-    try {
-      EthEstimateGas resp = web3j.ethEstimateGas(
-          Transaction.createFunctionCallTransaction(admin.getAddress(), null, null, null, to, data)
-      ).send();
-      if (!resp.hasError() && resp.getAmountUsed() != null && resp.getAmountUsed().signum() > 0) {
-        return resp.getAmountUsed();
-      }
-      log.warn("eth_estimateGas fallback: {}", (resp.getError() != null ? resp.getError().getMessage() : "null"));
-    } catch (Exception e) {
-      log.warn("eth_estimateGas exception -> fallback 300k: {}", e.toString());
-    }
-    return BigInteger.valueOf(300_000L);
-  }
-
-  private String toHex256(BigInteger n) {
-    if (n == null) throw new IllegalArgumentException("farmId is null");
-    String hex = n.toString(16);
-    if (hex.length() > 64) throw new IllegalArgumentException("farmId exceeds 256-bit: " + n);
-    return "0x" + String.format("%064x", n);
+  /** EIP-1559 트랜잭션 서명 → raw hex */
+  private String sign(BigInteger nonce, GasOracle.Fees fees, BigInteger gasLimit, String to, String data) {
+    long chainId = chainProps.getChainId();
+    RawTransaction raw = RawTransaction.createTransaction(
+        chainId, nonce, gasLimit, to, BigInteger.ZERO, data,
+        fees.maxPriorityFee(), fees.maxFee()
+    );
+    byte[] signed = TransactionEncoder.signMessage(raw, chainId, admin);
+    return Numeric.toHexString(signed);
   }
 
   private boolean isValidAddress(String addr) {
@@ -0,0 +1,29 @@
+package com.e105.majoong.blockchain.util;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.StaticStruct;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+
+/**
+ * VaultLens.VaultSummary ABI 디코딩용 struct
+ * (vault, farmer, vaultTokenBalance, isReleaser, ok)
+ */
+public class VaultSummaryStruct extends StaticStruct {
+  public final String vault;
+  public final String farmer;
+  public final BigInteger vaultTokenBalance;
+  public final boolean isReleaser;
+  public final boolean ok;
+
+  public VaultSummaryStruct(Address vault, Address farmer, Uint256 vaultTokenBalance, Bool isReleaser, Bool ok) {
+    super(vault, farmer, vaultTokenBalance, isReleaser, ok);
+    this.vault = vault.getValue();
+    this.farmer = farmer.getValue();
+    this.vaultTokenBalance = vaultTokenBalance.getValue();
+    this.isReleaser = isReleaser.getValue();
+    this.ok = ok.getValue();
+  }
+}
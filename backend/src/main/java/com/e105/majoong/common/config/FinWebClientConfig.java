@@ -17,8 +17,9 @@ public class FinWebClientConfig {
     private String apiKey;
 
     @Bean(name="finWebClient")
-    public WebClient finApiWebClient(WebClient.Builder builder) {
-        return builder
+    public WebClient finApiWebClient(WebClient.Builder builder, NettyClientFactory clientFactory) {
+        //FinAPI 는 h2 지원이 확인되지 않아 기본 HTTP/1.1 (http-client.clients.finapi.http2 로 변경)
+        return clientFactory.configure(builder, "finapi", false)
                 .baseUrl(baseUrl)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader("apiKey", apiKey)
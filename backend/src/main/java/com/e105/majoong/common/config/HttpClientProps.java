@@ -0,0 +1,40 @@
+package com.e105.majoong.common.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * 외부 API WebClient 별 Reactor Netty 연결 풀 설정
+ * http-client.clients.<이름>.max-connections 처럼 지정 (openai, openai-image, finapi)
+ * 지정하지 않은 항목은 Pool 기본값 사용
+ */
+@Configuration
+@ConfigurationProperties(prefix = "http-client")
+@Getter
+@Setter
+public class HttpClientProps {
+
+    private Map<String, Pool> clients = new HashMap<>();
+
+    public Pool pool(String name) {
+        return clients.getOrDefault(name, new Pool());
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxConnections = 50;
+        private int pendingAcquireMaxCount = 500;       // 연결 대기열 상한 (넘으면 즉시 실패)
+        private long pendingAcquireTimeoutMs = 10_000L;
+        private long maxIdleTimeMs = 20_000L;           // 서버가 먼저 끊기 전에 정리 (끊긴 연결 재사용 방지)
+        private long maxLifeTimeMs = 300_000L;
+        private long evictInBackgroundMs = 30_000L;
+        private int connectTimeoutMs = 5_000;
+        private long responseTimeoutMs = 60_000L;
+        private Boolean http2;                          // null 이면 엔드포인트 기본값
+    }
+}
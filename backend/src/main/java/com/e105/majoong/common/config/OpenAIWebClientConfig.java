@@ -18,8 +18,8 @@ public class OpenAIWebClientConfig {
     private String baseUrl;
 
     @Bean(name="openAiWebClient")
-    public WebClient openAiWebClient(WebClient.Builder builder) {
-        return builder
+    public WebClient openAiWebClient(WebClient.Builder builder, NettyClientFactory clientFactory) {
+        return clientFactory.configure(builder, "openai", true)
                 .baseUrl(baseUrl)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
@@ -28,8 +28,8 @@ public class OpenAIWebClientConfig {
     }
 
     @Bean(name = "openAiImageWebClient")
-    public WebClient openAiImageWebClient(WebClient.Builder builder) {
-        return builder
+    public WebClient openAiImageWebClient(WebClient.Builder builder, NettyClientFactory clientFactory) {
+        return clientFactory.configure(builder, "openai-image", true)
                 .baseUrl("") // imageBaseUrl을 직접 넣지 않고 호출에서 사용
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .codecs(configurer ->
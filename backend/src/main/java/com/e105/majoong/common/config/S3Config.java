@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
@@ -18,6 +19,12 @@ public class S3Config {
     private String secretKey;
     @Value("${cloud.aws.region.static}")
     private String region;
+    @Value("${cloud.aws.s3.multipart.threshold-mb:8}")
+    private long multipartThresholdMb;
+    @Value("${cloud.aws.s3.multipart.part-size-mb:8}")
+    private long multipartPartSizeMb;
+    @Value("${cloud.aws.s3.multipart.buffer-mb:32}")
+    private long multipartBufferMb;
 
     @Bean
     public S3Client s3Client() {
@@ -31,6 +38,24 @@ public class S3Config {
                 .build();
     }
 
+    /*
+     * 스트리밍 업로드용 비동기 클라이언트
+     * threshold 이상이면 part-size 단위 multipart 업로드, 업로드 1건이 잡는 버퍼는 buffer-mb 로 제한
+     */
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .multipartEnabled(true)
+                .multipartConfiguration(c -> c
+                        .thresholdInBytes(multipartThresholdMb * 1024 * 1024)
+                        .minimumPartSizeInBytes(multipartPartSizeMb * 1024 * 1024)
+                        .apiCallBufferSizeInBytes(multipartBufferMb * 1024 * 1024))
+                .build();
+    }
+
     @Bean
     public S3Presigner s3Presigner() {
         return S3Presigner.builder()
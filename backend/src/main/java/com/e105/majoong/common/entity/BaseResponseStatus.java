@@ -61,10 +61,14 @@ public enum BaseResponseStatus {
     NO_EXIST_MY_FARM(HttpStatus.NOT_FOUND, false, 2405, "내 농장을 조회할 수 없습니다."),
     NO_EXIST_HORSE_STATE(HttpStatus.NOT_FOUND, false, 2406, "농장 상태를 조회할 수 없습니다."),
     IS_DELETED_HORSE(HttpStatus.NOT_FOUND, false, 2407, "이미 삭제된 말입니다"),
+    NO_EXIST_DONATION(HttpStatus.NOT_FOUND, false, 2408, "존재하지 않는 기부 내역입니다."),
 
     //s3
     S3_UPLOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, false, 4003, "S3 업로드 중 오류 발생"),
 
+    //ai
+    AI_CALL_BUSY(HttpStatus.SERVICE_UNAVAILABLE, false, 4101, "AI 요청이 많아 잠시 후 다시 시도해주세요."),
+
     //Settlement
     SETTLEMENT_ALREADY_PROCESSED(HttpStatus.CONFLICT, false, 2601, "이미 처리된 증빙입니다."),
     EVIDENCE_INVALID(HttpStatus.BAD_REQUEST, false, 2602, "증빙 검증에 실패했습니다."),
@@ -75,6 +79,7 @@ public enum BaseResponseStatus {
     NO_ACTIVE_FARM_VAULT(HttpStatus.NOT_FOUND, false, 2607, "활성화된 목장 금고가 없습니다."),
     WITHDRAW_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, false, 2608, "출금 요청에 실패했습니다."),
     DUPLICATE_APPROVAL_NUMBER(HttpStatus.CONFLICT, false, 2609, "이미 사용했던 영수증입니다."),
+    NO_EXIST_SETTLEMENT(HttpStatus.NOT_FOUND, false, 2610, "존재하지 않는 정산 요청입니다."),
     //score
     INVALID_SCORE_CATEGORY(HttpStatus.BAD_REQUEST, false, 3001, "유효하지 않은 점수 카테고리입니다."),
 
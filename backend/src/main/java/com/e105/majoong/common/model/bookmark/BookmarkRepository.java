@@ -1,6 +1,8 @@
 package com.e105.majoong.common.model.bookmark;
 
 import com.e105.majoong.common.model.bookmark.Bookmark;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -8,5 +10,7 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     boolean existsByMemberUuidAndFarmUuid(String memberUuid, String farmUuid);
 
     Optional<Bookmark> findByMemberUuidAndFarmUuid(String memberUuid, String farmUuid);
+
+    List<Bookmark> findByMemberUuidAndFarmUuidIn(String memberUuid, Collection<String> farmUuids);
 }
 
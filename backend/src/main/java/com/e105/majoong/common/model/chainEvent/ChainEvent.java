@@ -0,0 +1,64 @@
+package com.e105.majoong.common.model.chainEvent;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import lombok.*;
+
+/*
+ * 인덱서가 수집한 온체인 이벤트
+ * DONATION : MaronToken.DonationRecorded(donor, vault, amount)  from=donor, to=vault
+ * RELEASE  : FarmVault.Released(to, amount)                      from=vault, to=farmer
+ * BURN     : MaronToken.Transfer(from, 0x0, amount)              from=farmer, to=0x0
+ */
+@Entity
+@Table(
+    name = "chain_event",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chain_event_tx_log", columnNames = {"tx_hash", "log_index"})
+    },
+    indexes = {
+        @Index(name = "idx_chain_event_block", columnList = "block_number"),
+        @Index(name = "idx_chain_event_to", columnList = "to_address, event_type"),
+        @Index(name = "idx_chain_event_from", columnList = "from_address, event_type")
+    }
+)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChainEvent {
+
+    public enum Type { DONATION, RELEASE, BURN }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private Type eventType;
+
+    @Column(name = "block_number", nullable = false)
+    private Long blockNumber;
+
+    @Column(name = "block_hash", nullable = false, length = 66)
+    private String blockHash;
+
+    @Column(name = "tx_hash", nullable = false, length = 66)
+    private String txHash;
+
+    @Column(name = "log_index", nullable = false)
+    private Integer logIndex;
+
+    @Column(name = "contract_address", nullable = false, length = 42)
+    private String contractAddress;
+
+    @Column(name = "from_address", length = 42)
+    private String fromAddress;
+
+    @Column(name = "to_address", length = 42)
+    private String toAddress;
+
+    @Column(name = "amount_wei", nullable = false, precision = 65, scale = 0)
+    private BigDecimal amountWei;
+}
@@ -0,0 +1,27 @@
+package com.e105.majoong.common.model.chainEvent;
+
+import java.math.BigDecimal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ChainEventRepository extends JpaRepository<ChainEvent, Long> {
+
+    boolean existsByTxHashAndLogIndex(String txHash, Integer logIndex);
+
+    //reorg 롤백: fromBlock 이후 이벤트 삭제
+    @Modifying
+    @Query("delete from ChainEvent e where e.blockNumber >= :fromBlock")
+    int deleteFromBlock(@Param("fromBlock") Long fromBlock);
+
+    //금고 잔액 = 들어온 기부 - 나간 출금
+    @Query("""
+            select coalesce(sum(case when e.eventType = com.e105.majoong.common.model.chainEvent.ChainEvent.Type.DONATION
+                                     then e.amountWei else -e.amountWei end), 0)
+            from ChainEvent e
+            where (e.eventType = com.e105.majoong.common.model.chainEvent.ChainEvent.Type.DONATION and e.toAddress = :vault)
+               or (e.eventType = com.e105.majoong.common.model.chainEvent.ChainEvent.Type.RELEASE and e.fromAddress = :vault)
+            """)
+    BigDecimal vaultBalanceWei(@Param("vault") String vaultAddress);
+}
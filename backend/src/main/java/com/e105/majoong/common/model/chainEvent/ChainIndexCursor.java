@@ -0,0 +1,32 @@
+package com.e105.majoong.common.model.chainEvent;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/*
+ * 인덱서 진행 위치 (마지막으로 처리한 블록과 그 해시)
+ * 다음 실행 시 해시가 달라졌으면 reorg 로 보고 되감기
+ */
+@Entity
+@Table(name = "chain_index_cursor")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChainIndexCursor {
+
+    @Id
+    @Column(name = "name", length = 32)
+    private String name;
+
+    @Column(name = "last_block", nullable = false)
+    private Long lastBlock;
+
+    @Column(name = "last_block_hash", length = 66)
+    private String lastBlockHash;
+
+    public void moveTo(long block, String blockHash) {
+        this.lastBlock = block;
+        this.lastBlockHash = blockHash;
+    }
+}
@@ -0,0 +1,6 @@
+package com.e105.majoong.common.model.chainEvent;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ChainIndexCursorRepository extends JpaRepository<ChainIndexCursor, String> {
+}
@@ -8,7 +8,13 @@ import java.time.LocalDateTime;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@Table(name = "donation_history")
+@Table(
+        name = "donation_history",
+        indexes = {
+                //민팅 outbox 조회 (mint_status = PENDING and next_attempt_at <= now)
+                @Index(name = "idx_donation_history_mint_status", columnList = "mint_status, next_attempt_at")
+        }
+)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,9 +45,36 @@ public class DonationHistory {
     @Column(name = "tx_hash", length = 66)
     private String txHash;
 
+    //배치 민팅 시 같은 tx 안에서 이 기부의 DonationRecorded 로그 위치
+    @Column(name = "log_index")
+    private Integer logIndex;
+
     @Column
     private Long balance;
 
+    //온체인 민팅 진행 상태 (null = 비동기 도입 이전 동기 기부, 완료로 간주)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mint_status", length = 16)
+    private MintStatus mintStatus;
+
+    @Column(name = "mint_attempts")
+    private Integer mintAttempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "mint_error", length = 255)
+    private String mintError;
+
+    //SUBMITTING 선점한 인스턴스와 선점 시각 (lease 가 지난 선점만 다른 인스턴스가 회수)
+    @Column(name = "mint_owner", length = 64)
+    private String mintOwner;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    public enum MintStatus { PENDING, SUBMITTING, SUBMITTED, CONFIRMED, FAILED }
+
     public void updateDonationToken(Long donationToken) {
         this.donationToken = donationToken;
     }
@@ -66,4 +99,35 @@ public class DonationHistory {
         this.txHash = txHash;
     }
 
+    public void markSubmitted(String txHash) {
+        this.txHash = txHash;
+        this.mintStatus = MintStatus.SUBMITTED;
+        this.mintError = null;
+    }
+
+    public void markConfirmed(Integer logIndex) {
+        this.logIndex = logIndex;
+        this.mintStatus = MintStatus.CONFIRMED;
+    }
+
+    public void markFailed(String error) {
+        this.mintStatus = MintStatus.FAILED;
+        this.mintError = truncate(error);
+    }
+
+    public void scheduleRetry(String error, LocalDateTime nextAttemptAt) {
+        this.mintStatus = MintStatus.PENDING;
+        this.txHash = null;
+        this.mintAttempts = (this.mintAttempts == null ? 0 : this.mintAttempts) + 1;
+        this.nextAttemptAt = nextAttemptAt;
+        this.mintError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 255 ? error.substring(0, 255) : error;
+    }
+
 }
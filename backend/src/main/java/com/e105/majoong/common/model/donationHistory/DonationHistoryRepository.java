@@ -1,8 +1,55 @@
 package com.e105.majoong.common.model.donationHistory;
 
-import com.e105.majoong.common.model.donationHistory.DonationHistory;
+import com.e105.majoong.common.model.donationHistory.DonationHistory.MintStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface DonationHistoryRepository extends JpaRepository<DonationHistory, Long>, DonationHistoryRepositoryCustom {
     boolean existsByIdAndDonatorUuid(Long id, String donatorUuid);
+
+    Optional<DonationHistory> findByIdAndDonatorUuid(Long id, String donatorUuid);
+
+    //민팅 대기(outbox) 조회
+    List<DonationHistory> findTop50ByMintStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            MintStatus mintStatus, LocalDateTime now);
+
+    List<DonationHistory> findTop50ByMintStatusOrderByIdAsc(MintStatus mintStatus);
+
+    //이 인스턴스가 선점했던 건 (재기동 시 회수)
+    List<DonationHistory> findTop50ByMintStatusAndMintOwnerOrderByIdAsc(MintStatus mintStatus, String mintOwner);
+
+    //lease 가 지난 선점 (선점한 인스턴스가 죽었거나 멈춘 것으로 간주)
+    @Query("""
+            select h from DonationHistory h
+            where h.mintStatus = :status and (h.claimedAt is null or h.claimedAt < :before)
+            order by h.id asc
+            """)
+    List<DonationHistory> findStaleClaims(@Param("status") MintStatus status, @Param("before") LocalDateTime before,
+                                          Pageable pageable);
+
+    //같은 배치 민팅 tx 에 묶인 기부 (id 순서 = 컨트랙트 호출 배열 순서)
+    List<DonationHistory> findByTxHashOrderByIdAsc(String txHash);
+
+    //워커 간 중복 처리 방지: 상태가 from 인 경우에만 to 로 변경 (1 = 선점 성공)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update DonationHistory h set h.mintStatus = :to where h.id = :id and h.mintStatus = :from")
+    int transitionMintStatus(@Param("id") Long id, @Param("from") MintStatus from, @Param("to") MintStatus to);
+
+    //SUBMITTING 선점 (선점 인스턴스/시각 기록, 이전 tx 해시는 비움)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update DonationHistory h set h.mintStatus = :to, h.mintOwner = :owner, h.claimedAt = :now, h.txHash = null
+            where h.id = :id and h.mintStatus = :from
+            """)
+    int claim(@Param("id") Long id, @Param("from") MintStatus from, @Param("to") MintStatus to,
+              @Param("owner") String owner, @Param("now") LocalDateTime now);
 }
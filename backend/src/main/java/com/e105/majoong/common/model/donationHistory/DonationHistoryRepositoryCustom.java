@@ -1,7 +1,10 @@
 package com.e105.majoong.common.model.donationHistory;
 
+import com.e105.majoong.common.utils.SeekCursor;
+import com.e105.majoong.mypage.dto.out.DonationCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationHistoryDetailResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationResponseDto;
+import com.e105.majoong.mypage.dto.out.VaultCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.VaultResponseDto;
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -13,6 +16,10 @@ public interface DonationHistoryRepositoryCustom {
             String memberUuid, int page, int size, LocalDate startDate, LocalDate endDate
     );
 
+    DonationCursorResponseDto findDonationHistoryByCursor(
+            String memberUuid, SeekCursor cursor, int size, LocalDate startDate, LocalDate endDate, boolean withSummary
+    );
+
     DonationHistoryDetailResponseDto findDonationHistoryDetail(String memberUuid, Long donationHistoryId);
 
     long getMonthlyTotalDonation(String farmUuid, int year, int month);
@@ -20,6 +27,9 @@ public interface DonationHistoryRepositoryCustom {
     VaultResponseDto findVaultHistoryByPage(
             String memberUuid, int page, int size, LocalDate startDate, LocalDate endDate);
 
+    VaultCursorResponseDto findVaultHistoryByCursor(
+            String memberUuid, SeekCursor cursor, int size, LocalDate startDate, LocalDate endDate);
+
     Map<String, Long> getMonthlyDonationByFarmList(Set<String> farmUuids, YearMonth ym);
 
     long countUniqueDonatorsByFarm(String farmUuid);
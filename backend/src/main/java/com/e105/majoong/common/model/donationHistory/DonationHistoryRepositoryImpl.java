@@ -1,20 +1,30 @@
 package com.e105.majoong.common.model.donationHistory;
 
+import com.e105.majoong.common.model.donationHistory.DonationHistory.MintStatus;
+import com.e105.majoong.common.model.donationRollup.DonationRollup;
+import com.e105.majoong.common.model.donationRollup.QDonationRollup;
 import com.e105.majoong.common.model.donator.QDonator;
 import com.e105.majoong.common.model.farm.QFarm;
 import com.e105.majoong.common.model.farmVault.QFarmVault;
 import com.e105.majoong.common.model.farmer.QFarmer;
 import com.e105.majoong.common.model.settlementHistory.QSettlementHistory;
+import com.e105.majoong.common.utils.SeekCursor;
+import com.e105.majoong.mypage.dto.out.DonationCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationHistoryDetailResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationHistoryResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationResponseDto;
 import com.e105.majoong.mypage.dto.out.VaultHistoryResponseDto;
+import com.e105.majoong.mypage.dto.out.VaultCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.VaultResponseDto;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ConstructorExpression;
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.NumberPath;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -42,6 +52,10 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
     private static final QDonator donator = QDonator.donator;
     private static final QFarmer farmer = QFarmer.farmer;
     private static final QFarmVault farmVault = QFarmVault.farmVault;
+    private static final QDonationRollup donationRollup = QDonationRollup.donationRollup;
+    //같은 시각이면 기부 -> 정산 순으로 정렬 (seek 커서의 source 값)
+    private static final int SOURCE_DONATION = 1;
+    private static final int SOURCE_SETTLEMENT = 0;
 
     @Override
     public DonationResponseDto findDonationHistoryByPage(
@@ -57,6 +71,7 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
         }
 
         builder.and(donationHistory.donatorUuid.eq(memberUuid));
+        builder.and(notFailed());
 
         int pageSize = size;
         int pageIndex = Integer.max(0, page);
@@ -68,7 +83,8 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
                         donationHistory.farmUuid,
                         donationHistory.donationDate,
                         farm.farmName,
-                        donationHistory.donationToken))
+                        donationHistory.donationToken,
+                        donationHistory.mintStatus))
                 .from(donationHistory)
                 .join(farm).on(donationHistory.farmUuid.eq(farm.farmUuid))
                 .where(builder)
@@ -100,6 +116,67 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
         return DonationResponseDto.toDto(totalCoinValue, history);
     }
 
+    @Override
+    public DonationCursorResponseDto findDonationHistoryByCursor(
+            String memberUuid, SeekCursor cursor, int size, LocalDate startDate, LocalDate endDate, boolean withSummary
+    ) {
+        BooleanBuilder builder = new BooleanBuilder();
+        if (startDate != null) {
+            builder.and(donationHistory.donationDate.goe(startDate.atStartOfDay()));
+        }
+
+        if (endDate != null) {
+            builder.and(donationHistory.donationDate.lt(endDate.plusDays(1).atStartOfDay()));
+        }
+
+        builder.and(donationHistory.donatorUuid.eq(memberUuid));
+        builder.and(notFailed());
+
+        //offset 대신 (donationDate, id) 기준으로 직전 페이지 마지막 행 이후부터 조회
+        BooleanBuilder seek = new BooleanBuilder(builder);
+        if (cursor != null) {
+            seek.and(donationHistory.donationDate.lt(cursor.at())
+                    .or(donationHistory.donationDate.eq(cursor.at()).and(donationHistory.id.lt(cursor.id()))));
+        }
+
+        List<DonationHistoryResponseDto> list = queryFactory
+                .select(Projections.constructor(DonationHistoryResponseDto.class,
+                        donationHistory.id,
+                        donationHistory.farmUuid,
+                        donationHistory.donationDate,
+                        farm.farmName,
+                        donationHistory.donationToken,
+                        donationHistory.mintStatus))
+                .from(donationHistory)
+                .join(farm).on(donationHistory.farmUuid.eq(farm.farmUuid))
+                .where(seek)
+                .orderBy(donationHistory.donationDate.desc(), donationHistory.id.desc())
+                .limit(size + 1L)
+                .fetch();
+
+        boolean hasNext = list.size() > size;
+        if (hasNext) {
+            list = list.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            DonationHistoryResponseDto last = list.get(list.size() - 1);
+            nextCursor = new SeekCursor(last.getDonationDate(), last.getDonationHistoryId()).encode();
+        }
+
+        //합계는 요청한 경우에만 조회
+        Long totalCoin = null;
+        if (withSummary) {
+            totalCoin = Optional.ofNullable(queryFactory
+                    .select(donationHistory.donationToken.sum())
+                    .from(donationHistory)
+                    .where(builder)
+                    .fetchOne()).orElse(0L);
+        }
+
+        return DonationCursorResponseDto.toDto(totalCoin, list, nextCursor, hasNext);
+    }
+
     @Override
     public DonationHistoryDetailResponseDto findDonationHistoryDetail(String memberUuid, Long donationHistoryId) {
         return queryFactory
@@ -111,7 +188,8 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
                         donationHistory.donationToken,
                         donationHistory.txHash,
                         farm.farmName,
-                        farmVault.vaultAddress
+                        farmVault.vaultAddress,
+                        donationHistory.mintStatus
                 ))
                 .from(donationHistory)
                 .join(donator).on(donationHistory.donatorUuid.eq(donator.memberUuid))
@@ -119,21 +197,19 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
                 .join(farmer).on(donationHistory.farmerUuid.eq(farmer.memberUuid))
                 .join(farmVault).on(farmVault.farmUuid.eq(farm.farmUuid))
                 .where(donationHistory.id.eq(donationHistoryId)
-                        .and(donator.memberUuid.eq(memberUuid)))
+                        .and(donator.memberUuid.eq(memberUuid))
+                        .and(notFailed()))
                 .fetchOne();
     }
 
     @Override
     public long getMonthlyTotalDonation(String farmUuid, int year, int month) {
-        LocalDate start = LocalDate.of(year, month, 1);
-        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
-
         Long result = queryFactory
-                .select(donationHistory.donationToken.sum())
-                .from(donationHistory)
+                .select(donationRollup.tokenSum)
+                .from(donationRollup)
                 .where(
-                        donationHistory.farmUuid.eq(farmUuid),
-                        donationHistory.donationDate.between(start.atStartOfDay(), end.atTime(23, 59, 59))
+                        donationRollup.farmUuid.eq(farmUuid),
+                        donationRollup.period.eq(DonationRollup.period(YearMonth.of(year, month)))
                 )
                 .fetchOne();
 
@@ -153,6 +229,7 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
         }
 
         donationBuilder.and(donationHistory.farmerUuid.eq(memberUuid));
+        donationBuilder.and(notFailed());
 
         List<VaultHistoryResponseDto> donations = queryFactory
                 .select(Projections.constructor(VaultHistoryResponseDto.class,
@@ -163,7 +240,8 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
                         donationHistory.txHash,
                         donationHistory.balance,
                         Expressions.constant("DONATION"),
-                        Expressions.constant(0L)
+                        Expressions.constant(0L),
+                        donationHistory.mintStatus
                 ))
                 .from(donationHistory)
                 .leftJoin(donator).on(donationHistory.donatorUuid.eq(donator.memberUuid))
@@ -227,19 +305,147 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
     }
 
     @Override
-    public Map<String, Long> getMonthlyDonationByFarmList(Set<String> farmUuids, YearMonth yearMonth) {
-        LocalDateTime start = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime end = yearMonth.plusMonths(1).atDay(1).atStartOfDay();
+    public VaultCursorResponseDto findVaultHistoryByCursor(
+            String memberUuid, SeekCursor cursor, int size, LocalDate startDate, LocalDate endDate) {
+        BooleanBuilder donationBuilder = new BooleanBuilder();
+        if (startDate != null) {
+            donationBuilder.and(donationHistory.donationDate.goe(startDate.atStartOfDay()));
+        }
+
+        if (endDate != null) {
+            donationBuilder.and(donationHistory.donationDate.lt(endDate.plusDays(1).atStartOfDay()));
+        }
+
+        donationBuilder.and(donationHistory.farmerUuid.eq(memberUuid));
+        donationBuilder.and(notFailed());
+        donationBuilder.and(seekAfter(donationHistory.donationDate, donationHistory.id, SOURCE_DONATION, cursor));
+
+        ConstructorExpression<VaultHistoryResponseDto> donationRow = Projections.constructor(
+                VaultHistoryResponseDto.class,
+                donator.name,
+                donationHistory.donationToken,
+                donationHistory.donationToken.multiply(100),
+                donationHistory.donationDate,
+                donationHistory.txHash,
+                donationHistory.balance,
+                Expressions.constant("DONATION"),
+                Expressions.constant(0L),
+                donationHistory.mintStatus);
+
+        //각 출처에서 시간 역순으로 size + 1 건만 조회
+        List<Tuple> donations = queryFactory
+                .select(donationHistory.id, donationRow)
+                .from(donationHistory)
+                .leftJoin(donator).on(donationHistory.donatorUuid.eq(donator.memberUuid))
+                .where(donationBuilder)
+                .orderBy(donationHistory.donationDate.desc(), donationHistory.id.desc())
+                .limit(size + 1L)
+                .fetch();
 
-        NumberExpression<Long> sumAmount = donationHistory.donationToken.sum();
+        BooleanBuilder settlementBuilder = new BooleanBuilder();
+        if (startDate != null) {
+            settlementBuilder.and(settlementHistory.createdAt.goe(startDate.atStartOfDay()));
+        }
 
+        if (endDate != null) {
+            settlementBuilder.and(settlementHistory.createdAt.lt(endDate.plusDays(1).atStartOfDay()));
+        }
+
+        settlementBuilder.and(farm.memberUuid.eq(memberUuid));
+        settlementBuilder.and(seekAfter(settlementHistory.createdAt, settlementHistory.id, SOURCE_SETTLEMENT, cursor));
+
+        ConstructorExpression<VaultHistoryResponseDto> settlementRow = Projections.constructor(
+                VaultHistoryResponseDto.class,
+                Expressions.constant("영수증 증빙"),
+                settlementHistory.releasedAmount,
+                settlementHistory.withdrawAmount,
+                settlementHistory.createdAt,
+                settlementHistory.txHash,
+                settlementHistory.balance,
+                Expressions.constant("SETTLEMENT"),
+                settlementHistory.receiptHistoryId);
+
+        List<Tuple> settlements = queryFactory
+                .select(settlementHistory.id, settlementRow)
+                .from(settlementHistory)
+                .join(farm).on(settlementHistory.farmUuid.eq(farm.farmUuid))
+                .where(settlementBuilder)
+                .orderBy(settlementHistory.createdAt.desc(), settlementHistory.id.desc())
+                .limit(size + 1L)
+                .fetch();
+
+        //두 목록을 (시각, source, id) 역순으로 병합
+        List<VaultHistoryResponseDto> pageList = new ArrayList<>(size);
+        SeekCursor last = null;
+        int d = 0;
+        int s = 0;
+        while (pageList.size() < size && (d < donations.size() || s < settlements.size())) {
+            boolean takeDonation;
+            if (d >= donations.size()) {
+                takeDonation = false;
+            } else if (s >= settlements.size()) {
+                takeDonation = true;
+            } else {
+                LocalDateTime donationAt = donations.get(d).get(donationRow).getDonationDate();
+                LocalDateTime settlementAt = settlements.get(s).get(settlementRow).getDonationDate();
+                takeDonation = !donationAt.isBefore(settlementAt);
+            }
+            if (takeDonation) {
+                Tuple row = donations.get(d++);
+                VaultHistoryResponseDto dto = row.get(donationRow);
+                pageList.add(dto);
+                last = new SeekCursor(dto.getDonationDate(), SOURCE_DONATION, row.get(donationHistory.id));
+            } else {
+                Tuple row = settlements.get(s++);
+                VaultHistoryResponseDto dto = row.get(settlementRow);
+                pageList.add(dto);
+                last = new SeekCursor(dto.getDonationDate(), SOURCE_SETTLEMENT, row.get(settlementHistory.id));
+            }
+        }
+        boolean hasNext = d < donations.size() || s < settlements.size();
+        String nextCursor = (hasNext && last != null) ? last.encode() : null;
+
+        Tuple amounts = queryFactory.select(farm.totalDonation, farm.usedAmount)
+                .from(farm)
+                .where(farm.memberUuid.eq(memberUuid))
+                .fetchOne();
+        Long totalDonation = amounts != null ? amounts.get(farm.totalDonation) : null;
+        Long usedAmount = amounts != null ? amounts.get(farm.usedAmount) : null;
+        Long currentBalance = (totalDonation != null && usedAmount != null) ? totalDonation - usedAmount : null;
+
+        return VaultCursorResponseDto.toDto(totalDonation, usedAmount, currentBalance, null, pageList, nextCursor, hasNext);
+    }
+
+    //민팅 최종 실패(FAILED)는 농장 누적/집계에서 되돌렸으므로 내역/합계에서도 제외 (null 은 outbox 이전 기록)
+    private static BooleanExpression notFailed() {
+        return donationHistory.mintStatus.isNull().or(donationHistory.mintStatus.ne(MintStatus.FAILED));
+    }
+
+    /*
+     * (시각, source, id) 역순 정렬에서 커서 이후 행만 남기는 조건
+     * source가 커서보다 작으면 같은 시각도 포함, 크면 같은 시각은 이미 지나간 것으로 봄
+     */
+    private static BooleanExpression seekAfter(
+            DateTimePath<LocalDateTime> at, NumberPath<Long> id, int source, SeekCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        if (source < cursor.source()) {
+            return at.loe(cursor.at());
+        }
+        if (source > cursor.source()) {
+            return at.lt(cursor.at());
+        }
+        return at.lt(cursor.at()).or(at.eq(cursor.at()).and(id.lt(cursor.id())));
+    }
+
+    @Override
+    public Map<String, Long> getMonthlyDonationByFarmList(Set<String> farmUuids, YearMonth yearMonth) {
         List<Tuple> fetch = queryFactory
-                .select(donationHistory.farmUuid, sumAmount)
-                .from(donationHistory)
-                .where(donationHistory.farmUuid.in(farmUuids),
-                        donationHistory.donationDate.goe(start),
-                        donationHistory.donationDate.lt(end))
-                .groupBy(donationHistory.farmUuid)
+                .select(donationRollup.farmUuid, donationRollup.tokenSum)
+                .from(donationRollup)
+                .where(donationRollup.farmUuid.in(farmUuids),
+                        donationRollup.period.eq(DonationRollup.period(yearMonth)))
                 .fetch();
 
         Map<String, Long> result = new HashMap<>(farmUuids.size());
@@ -247,8 +453,8 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
             result.put(farUuid, 0L);
         }
         for (Tuple tuple : fetch) {
-            String farmUuid = tuple.get(donationHistory.farmUuid);
-            Long amount = tuple.get(sumAmount);
+            String farmUuid = tuple.get(donationRollup.farmUuid);
+            Long amount = tuple.get(donationRollup.tokenSum);
             if (amount == null) {
                 amount = 0L;
             }
@@ -260,10 +466,14 @@ public class DonationHistoryRepositoryImpl implements DonationHistoryRepositoryC
 
     @Override
     public long countUniqueDonatorsByFarm(String farmUuid) {
-        return queryFactory
-                .select(donationHistory.donatorUuid.countDistinct())
-                .from(donationHistory)
-                .where(donationHistory.farmUuid.eq(farmUuid))
+        //누적 행의 HyperLogLog 추정값
+        Long result = queryFactory
+                .select(donationRollup.uniqueDonors)
+                .from(donationRollup)
+                .where(donationRollup.farmUuid.eq(farmUuid),
+                        donationRollup.period.eq(DonationRollup.TOTAL))
                 .fetchOne();
+
+        return (result != null) ? result : 0L;
     }
 }
\ No newline at end of file
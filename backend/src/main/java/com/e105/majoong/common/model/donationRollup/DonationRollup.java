@@ -0,0 +1,78 @@
+package com.e105.majoong.common.model.donationRollup;
+
+import com.e105.majoong.common.entity.BaseEntity;
+import com.e105.majoong.common.utils.HyperLogLog;
+import jakarta.persistence.*;
+import java.time.YearMonth;
+import lombok.*;
+
+/*
+ * 농장별 기부 집계
+ * period = "YYYY-MM"(월별) 또는 "TOTAL"(누적)
+ * 기부 시 같은 트랜잭션에서 갱신되므로 조회 시 donation_history 를 다시 집계하지 않음
+ */
+@Entity
+@Table(
+    name = "donation_rollup",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_donation_rollup_farm_period", columnNames = {"farm_uuid", "period"})
+    }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class DonationRollup extends BaseEntity {
+
+    public static final String TOTAL = "TOTAL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "farm_uuid", nullable = false, length = 12)
+    private String farmUuid;
+
+    @Column(name = "period", nullable = false, length = 7)
+    private String period;
+
+    @Column(name = "token_sum", nullable = false)
+    private Long tokenSum;
+
+    @Column(name = "donation_count", nullable = false)
+    private Long donationCount;
+
+    @Column(name = "unique_donors", nullable = false)
+    private Long uniqueDonors; //donorSketch 추정값
+
+    @Lob
+    @Column(name = "donor_sketch", columnDefinition = "BLOB")
+    private byte[] donorSketch; //HyperLogLog register
+
+    public static String period(YearMonth yearMonth) {
+        return yearMonth.toString();
+    }
+
+    public void addDonation(long tokenCount, String donatorUuid) {
+        this.tokenSum = (this.tokenSum == null ? 0L : this.tokenSum) + tokenCount;
+        this.donationCount = (this.donationCount == null ? 0L : this.donationCount) + 1;
+        HyperLogLog sketch = HyperLogLog.fromBytes(this.donorSketch);
+        sketch.add(donatorUuid);
+        this.donorSketch = sketch.toBytes();
+        this.uniqueDonors = sketch.estimate();
+    }
+
+    //민팅 실패로 취소된 기부 제외 (HyperLogLog 는 삭제가 안 되므로 고유 기부자 수는 다음 backfill 때 보정)
+    public void removeDonation(long tokenCount) {
+        this.tokenSum = Math.max(0L, (this.tokenSum == null ? 0L : this.tokenSum) - tokenCount);
+        this.donationCount = Math.max(0L, (this.donationCount == null ? 0L : this.donationCount) - 1);
+    }
+
+    //backfill 재집계 결과로 덮어쓰기
+    public void overwrite(long tokenSum, long donationCount, HyperLogLog sketch) {
+        this.tokenSum = tokenSum;
+        this.donationCount = donationCount;
+        this.donorSketch = sketch.toBytes();
+        this.uniqueDonors = sketch.estimate();
+    }
+}
@@ -0,0 +1,50 @@
+package com.e105.majoong.common.model.donationRollup;
+
+import com.e105.majoong.common.model.donationHistory.DonationHistory.MintStatus;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DonationRollupRepository extends JpaRepository<DonationRollup, Long> {
+
+    //동시 기부 시 행 생성 경합을 피하기 위해 먼저 빈 행을 만들어 둠 (MySQL INSERT IGNORE)
+    @Modifying
+    @Query(value = """
+            insert ignore into donation_rollup (farm_uuid, period, token_sum, donation_count, unique_donors)
+            values (:farmUuid, :period, 0, 0, 0)
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("farmUuid") String farmUuid, @Param("period") String period);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<DonationRollup> findWithLockByFarmUuidAndPeriod(String farmUuid, String period);
+
+    Optional<DonationRollup> findByFarmUuidAndPeriod(String farmUuid, String period);
+
+    List<DonationRollup> findByFarmUuidInAndPeriod(Collection<String> farmUuids, String period);
+
+    List<DonationRollup> findByFarmUuid(String farmUuid);
+
+    //backfill 대상 농장 (기부 내역이 있거나 집계 행이 있는 농장)
+    @Query("select distinct h.farmUuid from DonationHistory h where h.donationDate is not null")
+    List<String> findDonatedFarmUuids();
+
+    @Query("select distinct r.farmUuid from DonationRollup r")
+    List<String> findRolledUpFarmUuids();
+
+    //backfill 용, 민팅 실패(FAILED) 기부 제외 (donatorUuid, year, month, tokenSum, donationCount)
+    @Query("""
+            select h.donatorUuid, year(h.donationDate), month(h.donationDate),
+                   sum(h.donationToken), count(h)
+            from DonationHistory h
+            where h.farmUuid = :farmUuid and h.donationDate is not null
+              and (h.mintStatus is null or h.mintStatus <> :failed)
+            group by h.donatorUuid, year(h.donationDate), month(h.donationDate)
+            """)
+    List<Object[]> aggregateDonationHistory(@Param("farmUuid") String farmUuid, @Param("failed") MintStatus failed);
+}
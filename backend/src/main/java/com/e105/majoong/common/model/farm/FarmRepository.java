@@ -41,4 +41,13 @@ public interface FarmRepository extends JpaRepository<Farm, Long> {
              where f.farmUuid = :farmUuid
             """)
     void decrementHorseCount(@Param("farmUuid") String farmUuid);
+
+    //민팅 실패로 취소된 기부 금액 차감
+    @Modifying(flushAutomatically = true, clearAutomatically = false)
+    @Query("""
+            update Farm f
+               set f.totalDonation = case when f.totalDonation > :amount then f.totalDonation - :amount else 0 end
+             where f.farmUuid = :farmUuid
+            """)
+    void decreaseTotalDonation(@Param("farmUuid") String farmUuid, @Param("amount") long amount);
 }
@@ -9,7 +9,14 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Getter @Builder
 @NoArgsConstructor @AllArgsConstructor
-@Entity @Table(name = "farm_vaults")
+@Entity
+@Table(
+    name = "farm_vaults",
+    indexes = {
+        //금고 생성 outbox 조회 (status = PENDING and next_attempt_at <= now)
+        @Index(name = "idx_farm_vaults_status", columnList = "status, next_attempt_at")
+    }
+)
 @EntityListeners(AuditingEntityListener.class)
 public class FarmVault {
 
@@ -25,7 +32,7 @@ public class FarmVault {
   @Column(name = "farm_uuid",length = 36)
   private String farmUuid;
 
-  @Column(name = "vault_address", length = 42, nullable = false)
+  @Column(name = "vault_address", length = 42)   // 생성 tx 컨펌 전(PENDING~SUBMITTED)에는 null
   private String vaultAddress;
 
   @Column(name = "deploy_tx_hash", length = 66)
@@ -39,7 +46,60 @@ public class FarmVault {
   @Column(updatable = false)
   private LocalDateTime createdAt;
 
-  public enum Status { ACTIVE, CLOSED }
+  // 금고 생성 outbox (VaultDeployWorker)
+  @Column(name = "deploy_attempts")
+  private Integer deployAttempts;
+
+  @Column(name = "next_attempt_at")
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "claimed_at")
+  private LocalDateTime claimedAt;
+
+  @Column(name = "deploy_error", length = 255)
+  private String deployError;
+
+  // PENDING -> SUBMITTING(선점) -> SUBMITTED(txHash) -> ACTIVE, 재시도 초과 시 FAILED
+  public enum Status { PENDING, SUBMITTING, SUBMITTED, ACTIVE, CLOSED, FAILED }
+
+  public static FarmVault pending(String memberUuid, String keccakKey) {
+    return FarmVault.builder()
+        .memberUuid(memberUuid)
+        .keccakKey(keccakKey)
+        .status(Status.PENDING)
+        .deployAttempts(0)
+        .nextAttemptAt(LocalDateTime.now())
+        .build();
+  }
+
+  public void markSubmitted(String txHash) {
+    this.deployTxHash = txHash;
+    this.status = Status.SUBMITTED;
+    this.deployError = null;
+  }
+
+  public void activate(String vaultAddress) {
+    this.vaultAddress = vaultAddress;
+    this.status = Status.ACTIVE;
+    this.deployError = null;
+  }
+
+  public void markFailed(String error) {
+    this.status = Status.FAILED;
+    this.deployError = truncate(error);
+  }
+
+  public void scheduleRetry(String error, LocalDateTime nextAttemptAt) {
+    this.status = Status.PENDING;
+    this.deployAttempts = (this.deployAttempts == null ? 0 : this.deployAttempts) + 1;
+    this.nextAttemptAt = nextAttemptAt;
+    this.deployError = truncate(error);
+  }
+
+  private static String truncate(String error) {
+    if (error == null) return null;
+    return error.length() > 255 ? error.substring(0, 255) : error;
+  }
 
   public void updateKeccakKey(String keccakKey) { this.keccakKey = keccakKey; }
   public void updateStatus(Status status) { this.status = status; }
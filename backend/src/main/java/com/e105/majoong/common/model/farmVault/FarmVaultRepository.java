@@ -4,7 +4,13 @@ import com.e105.majoong.common.model.farmVault.FarmVault;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface FarmVaultRepository extends JpaRepository<FarmVault, Long> {
   Optional<FarmVault> findByMemberUuid(String memberUuid);
@@ -13,4 +19,17 @@ public interface FarmVaultRepository extends JpaRepository<FarmVault, Long> {
   Optional<FarmVault> findTopByMemberUuidOrderByIdDesc(String memberUuid);
   Optional<FarmVault> findTopByMemberUuidAndStatusOrderByIdDesc(String memberUuid, FarmVault.Status status);
   Optional<FarmVault> findTopByFarmUuidOrderByIdDesc(String farmUuid);
+
+  // 금고 생성 outbox 조회
+  List<FarmVault> findTop50ByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(FarmVault.Status status, LocalDateTime now);
+  List<FarmVault> findTop50ByStatusOrderByIdAsc(FarmVault.Status status);
+  List<FarmVault> findTop50ByStatusAndClaimedAtBeforeOrderByIdAsc(FarmVault.Status status, LocalDateTime before);
+  List<FarmVault> findByDeployTxHash(String deployTxHash);
+
+  // 워커 간 중복 처리 방지: PENDING -> SUBMITTING 선점 (1 = 선점 성공)
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("update FarmVault v set v.status = :to, v.claimedAt = :now where v.id = :id and v.status = :from")
+  int claim(@Param("id") Long id, @Param("from") FarmVault.Status from, @Param("to") FarmVault.Status to,
+            @Param("now") LocalDateTime now);
 }
@@ -1,6 +1,7 @@
 package com.e105.majoong.common.model.horse;
 
 import com.e105.majoong.common.model.farm.Farm;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import javax.swing.text.html.Option;
@@ -10,6 +11,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface HorseRepository extends JpaRepository<Horse, Long> {
     List<Horse> findByFarm(Farm farm);
@@ -18,6 +20,8 @@ public interface HorseRepository extends JpaRepository<Horse, Long> {
 
     List<Horse> findByFarmIdAndDeletedAtIsNull(Long farmId);
 
+    List<Horse> findByFarmIdInAndDeletedAtIsNull(Collection<Long> farmIds);
+
     Optional<Horse> findByHorseNumberAndFarm_FarmUuid(String horseNumber, String farmUuid);
 
     Optional<Horse> findByHorseNumber(String horseNumber);
@@ -30,4 +34,9 @@ public interface HorseRepository extends JpaRepository<Horse, Long> {
 
     Page<Horse> findByDeletedAtIsNull(Pageable pageable);
 
+    List<Horse> findByDeletedAtIsNull();
+
+    @Query("select h from Horse h join fetch h.farm where h.id in :ids")
+    List<Horse> findWithFarmByIdIn(@Param("ids") Collection<Long> ids);
+
 }
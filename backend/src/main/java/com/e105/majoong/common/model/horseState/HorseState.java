@@ -37,6 +37,9 @@ public class HorseState {
     private String rightSideImage;
     private String stableImage;
 
+    //목록 화면용 정면 사진 축소본 (없으면 frontImage 사용)
+    private String frontThumbnail;
+
     @Column(length = 1000)
     private String aiSummary;
     @Column(length = 1000)
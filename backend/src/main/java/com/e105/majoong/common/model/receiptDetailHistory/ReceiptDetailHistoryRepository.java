@@ -5,6 +5,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
-public interface ReceiptDetailHistoryRepository extends JpaRepository<ReceiptDetailHistory, Long> {
+public interface ReceiptDetailHistoryRepository extends JpaRepository<ReceiptDetailHistory, Long>, ReceiptDetailHistoryRepositoryCustom {
     List<ReceiptDetailHistory> findByReceiptHistory(ReceiptHistory receiptHistory);
 }
\ No newline at end of file
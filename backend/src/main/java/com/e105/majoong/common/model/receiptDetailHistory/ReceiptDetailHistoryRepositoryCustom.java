@@ -0,0 +1,9 @@
+package com.e105.majoong.common.model.receiptDetailHistory;
+
+import java.util.List;
+
+public interface ReceiptDetailHistoryRepositoryCustom {
+
+    //영수증 상세 N건을 multi-row insert 한 문장으로 저장 (receiptHistory 는 이미 insert 된 상태여야 함)
+    int bulkInsert(List<ReceiptDetailHistory> details);
+}
@@ -0,0 +1,53 @@
+package com.e105.majoong.common.model.receiptDetailHistory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 영수증 상세 일괄 저장
+ * IDENTITY 전략이라 save() 마다 INSERT 가 따로 나가므로,
+ * insert into ... values (...), (...), ... 한 문장으로 묶어 라운드트립 1회로 처리
+ * (생성된 id 는 돌려받지 않음 → 저장 후 엔티티를 다시 쓰려면 조회할 것)
+ */
+@RequiredArgsConstructor
+public class ReceiptDetailHistoryRepositoryImpl implements ReceiptDetailHistoryRepositoryCustom {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 500; // 바인딩 파라미터 수 제한 대비
+
+    private final EntityManager em;
+
+    @Override
+    public int bulkInsert(List<ReceiptDetailHistory> details) {
+        if (details == null || details.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now()); // BaseEntity 감사 필드 대신 직접 채움
+        int inserted = 0;
+        for (int from = 0; from < details.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<ReceiptDetailHistory> chunk = details.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, details.size()));
+
+            StringBuilder sql = new StringBuilder(
+                    "insert into receipt_detail_history (item_name, quantity, price_per_item, receipt_id, created_at, updated_at) values ");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?)");
+            }
+
+            Query query = em.createNativeQuery(sql.toString());
+            int p = 1;
+            for (ReceiptDetailHistory d : chunk) {
+                query.setParameter(p++, d.getItemName());
+                query.setParameter(p++, d.getQuantity());
+                query.setParameter(p++, d.getPricePerItem());
+                query.setParameter(p++, d.getReceiptHistory().getId());
+                query.setParameter(p++, now);
+                query.setParameter(p++, now);
+            }
+            inserted += query.executeUpdate();
+        }
+        return inserted;
+    }
+}
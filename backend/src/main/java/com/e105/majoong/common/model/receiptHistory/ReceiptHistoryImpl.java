@@ -1,7 +1,10 @@
 package com.e105.majoong.common.model.receiptHistory;
 
 import com.e105.majoong.batch.score.receipt.dto.ReceiptCountDto;
+import com.e105.majoong.common.model.donationHistory.DonationHistory.MintStatus;
 import com.e105.majoong.common.model.donationHistory.QDonationHistory;
+import com.e105.majoong.common.model.donationRollup.DonationRollup;
+import com.e105.majoong.common.model.donationRollup.QDonationRollup;
 import com.e105.majoong.farm.dto.out.CategoryStatsDto;
 import com.e105.majoong.farm.dto.out.MonthlyDonationUsedDto;
 import com.e105.majoong.farm.dto.out.TotalStatsDto;
@@ -10,6 +13,7 @@ import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,6 +27,7 @@ public class ReceiptHistoryImpl implements ReceiptHistoryCustom {
     private final JPAQueryFactory queryFactory;
     private final QReceiptHistory receiptHistory = QReceiptHistory.receiptHistory;
     private final QDonationHistory donationHistory = QDonationHistory.donationHistory;
+    private final QDonationRollup donationRollup = QDonationRollup.donationRollup;
     @Override
     public List<ReceiptCountDto> getReceiptCountByOneDay(LocalDateTime start, LocalDateTime end) {
         return queryFactory
@@ -38,11 +43,27 @@ public class ReceiptHistoryImpl implements ReceiptHistoryCustom {
     @Override
     public Map<String, Long> sumDonationAmountByFarmUuidsBetween(
             List<String> farmUuids, LocalDateTime start, LocalDateTime end) {
+        //정확히 한 달 구간이면 월별 집계 테이블에서 바로 조회
+        YearMonth yearMonth = YearMonth.from(start);
+        if (start.equals(yearMonth.atDay(1).atStartOfDay())
+                && end.equals(yearMonth.plusMonths(1).atDay(1).atStartOfDay())) {
+            return queryFactory.select(donationRollup.farmUuid, donationRollup.tokenSum)
+                    .from(donationRollup)
+                    .where(donationRollup.farmUuid.in(farmUuids),
+                            donationRollup.period.eq(DonationRollup.period(yearMonth)))
+                    .fetch()
+                    .stream()
+                    .collect(Collectors.toMap(
+                            result -> result.get(donationRollup.farmUuid),
+                            result -> Optional.ofNullable(result.get(donationRollup.tokenSum)).orElse(0L)*100));
+        }
+
         List<Tuple> results = queryFactory.select(donationHistory.farmUuid, donationHistory.donationToken.sum())
                 .from(donationHistory)
                 .where(donationHistory.farmUuid.in(farmUuids),
                         donationHistory.donationDate.goe(start),
-                        donationHistory.donationDate.lt(end))
+                        donationHistory.donationDate.lt(end),
+                        donationHistory.mintStatus.isNull().or(donationHistory.mintStatus.ne(MintStatus.FAILED)))
                 .groupBy(donationHistory.farmUuid)
                 .fetch();
 
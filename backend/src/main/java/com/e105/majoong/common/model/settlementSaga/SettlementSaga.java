@@ -0,0 +1,148 @@
+package com.e105.majoong.common.model.settlementSaga;
+
+import com.e105.majoong.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/*
+ * 정산 → 출금 → 소각 진행 상태 (idempotencyKey 당 1건)
+ * step   : 다음에 실행할 단계 RELEASE -> WITHDRAW -> BURN -> DONE
+ * status : PENDING(실행 대기) / RUNNING(워커 선점, claimedAt) / COMPLETED / FAILED(운영자 확인 필요)
+ * 온체인 단계는 tx 전송 직후 txHash 를 먼저 저장 → 재시작 시 재전송 없이 영수증 대기만 재개
+ */
+@Entity
+@Table(
+    name = "settlement_saga",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_settlement_saga_key", columnNames = "idempotency_key")
+    },
+    indexes = {
+        @Index(name = "idx_settlement_saga_status", columnList = "status, next_attempt_at")
+    }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class SettlementSaga extends BaseEntity {
+
+  public enum Step { RELEASE, WITHDRAW, BURN, DONE }
+
+  public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "idempotency_key", nullable = false, length = 64)
+  private String idempotencyKey;
+
+  @Column(name = "member_uuid", nullable = false, length = 36)
+  private String memberUuid;
+
+  @Column(name = "farm_uuid", nullable = false, length = 12)
+  private String farmUuid;
+
+  @Column(name = "receipt_history_id", nullable = false)
+  private Long receiptHistoryId;
+
+  @Column(name = "farmer_wallet", nullable = false)
+  private String farmerWallet;
+
+  @Column(name = "vault_address", nullable = false)
+  private String vaultAddress;
+
+  @Column(name = "krw_amount", nullable = false)
+  private Long krwAmount;
+
+  @Column(name = "token_count", nullable = false)
+  private Long tokenCount;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "step", nullable = false, length = 16)
+  private Step step;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 16)
+  private Status status;
+
+  @Column(name = "release_tx_hash", length = 66)
+  private String releaseTxHash;
+
+  @Column(name = "withdraw_code", length = 16)
+  private String withdrawCode;
+
+  @Column(name = "withdraw_transaction_no", length = 64)
+  private String withdrawTransactionNo;
+
+  @Column(name = "burn_tx_hash", length = 66)
+  private String burnTxHash;
+
+  @Column(name = "attempts")
+  private Integer attempts;
+
+  @Column(name = "next_attempt_at")
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error", length = 255)
+  private String lastError;
+
+  // RUNNING 선점 시각 (lease 가 지나도 RUNNING 이면 선점한 워커가 멈춘 것으로 간주)
+  @Column(name = "claimed_at")
+  private LocalDateTime claimedAt;
+
+  public static SettlementSaga start(String idempotencyKey, String memberUuid, String farmUuid, Long receiptHistoryId,
+                                     String farmerWallet, String vaultAddress, Long krwAmount, Long tokenCount) {
+    return SettlementSaga.builder()
+        .idempotencyKey(idempotencyKey)
+        .memberUuid(memberUuid)
+        .farmUuid(farmUuid)
+        .receiptHistoryId(receiptHistoryId)
+        .farmerWallet(farmerWallet)
+        .vaultAddress(vaultAddress)
+        .krwAmount(krwAmount)
+        .tokenCount(tokenCount)
+        .step(Step.RELEASE)
+        .status(Status.PENDING)
+        .attempts(0)
+        .nextAttemptAt(LocalDateTime.now())
+        .build();
+  }
+
+  public void releaseSent(String txHash) { this.releaseTxHash = txHash; }
+
+  public void burnSent(String txHash) { this.burnTxHash = txHash; }
+
+  public void withdrawn(String code, String transactionNo) {
+    this.withdrawCode = code;
+    this.withdrawTransactionNo = transactionNo;
+  }
+
+  /** 현재 단계 완료 → 다음 단계 실행 대기 */
+  public void advance(Step next) {
+    this.step = next;
+    this.status = next == Step.DONE ? Status.COMPLETED : Status.PENDING;
+    this.attempts = 0;
+    this.nextAttemptAt = LocalDateTime.now();
+    this.lastError = null;
+  }
+
+  public void scheduleRetry(String error, LocalDateTime nextAttemptAt) {
+    this.status = Status.PENDING;
+    this.attempts = (this.attempts == null ? 0 : this.attempts) + 1;
+    this.nextAttemptAt = nextAttemptAt;
+    this.lastError = truncate(error);
+  }
+
+  public void fail(String error) {
+    this.status = Status.FAILED;
+    this.lastError = truncate(error);
+  }
+
+  private static String truncate(String error) {
+    if (error == null) return null;
+    return error.length() > 255 ? error.substring(0, 255) : error;
+  }
+}
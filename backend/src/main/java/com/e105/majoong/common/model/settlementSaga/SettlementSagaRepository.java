@@ -0,0 +1,36 @@
+package com.e105.majoong.common.model.settlementSaga;
+
+import com.e105.majoong.common.model.settlementSaga.SettlementSaga.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface SettlementSagaRepository extends JpaRepository<SettlementSaga, Long> {
+
+  boolean existsByIdempotencyKey(String idempotencyKey);
+
+  Optional<SettlementSaga> findByIdempotencyKey(String idempotencyKey);
+
+  Optional<SettlementSaga> findByIdempotencyKeyAndMemberUuid(String idempotencyKey, String memberUuid);
+
+  //실행 대기(재시도 포함) 조회
+  List<SettlementSaga> findTop50ByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(Status status, LocalDateTime now);
+
+  List<SettlementSaga> findTop50ByStatusOrderByIdAsc(Status status);
+
+  //선점 후 lease 가 지난 RUNNING 조회
+  List<SettlementSaga> findTop50ByStatusAndClaimedAtBeforeOrderByIdAsc(Status status, LocalDateTime before);
+
+  //워커 간 중복 실행 방지: 상태가 from 인 경우에만 to 로 변경하고 선점 시각 기록 (1 = 선점 성공)
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("update SettlementSaga s set s.status = :to, s.claimedAt = :now where s.id = :id and s.status = :from")
+  int claim(@Param("id") Long id, @Param("from") Status from, @Param("to") Status to,
+            @Param("now") LocalDateTime now);
+}
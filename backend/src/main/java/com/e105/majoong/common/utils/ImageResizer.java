@@ -0,0 +1,235 @@
+package com.e105.majoong.common.utils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/*
+ * 업로드 사진 축소본 생성 (순수 ImageIO)
+ * - 한 번만 디코딩: 원본이 크면 subsampling 으로 읽어 디코딩 메모리 자체를 줄임
+ * - JPEG EXIF Orientation 을 읽어 축소 전에 회전/반전 (휴대폰 세로 사진이 눕지 않도록)
+ * - analysis: 긴 변 analysis-max-px 이하 JPEG (AI 분석용)
+ * - thumbnail: 긴 변 thumbnail-max-px 이하 JPEG (목록 화면용)
+ * - CPU 작업이므로 코어 수 만큼의 고정 풀 + 제한된 큐에서 실행
+ *   큐가 가득 차면 요청 스레드에서 돌리지 않고 RejectedExecutionException 으로 완료 (호출 측은 원본 URL 사용)
+ * 디코딩할 수 없는 형식(HEIC 등)은 null 로 완료 → 호출 측은 원본 URL 사용
+ */
+@Slf4j
+@Component
+public class ImageResizer {
+
+    @Value("${image.resize.analysis-max-px:1024}")
+    private int analysisMaxPx;
+
+    @Value("${image.resize.thumbnail-max-px:320}")
+    private int thumbnailMaxPx;
+
+    @Value("${image.resize.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    @Value("${image.resize.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ExecutorService executor;
+
+    public record Variants(byte[] analysis, byte[] thumbnail) {
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public CompletableFuture<Variants> resize(MultipartFile file) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try (InputStream in = file.getInputStream()) {
+                    BufferedImage decoded = decode(in);
+                    if (decoded == null) {
+                        log.warn("[ImageResizer] unsupported image: {}", file.getOriginalFilename());
+                        return null;
+                    }
+                    BufferedImage oriented = orient(decoded, orientation(file));
+                    BufferedImage analysis = scale(oriented, analysisMaxPx);
+                    BufferedImage thumbnail = scale(analysis, thumbnailMaxPx);
+                    return new Variants(toJpeg(analysis), toJpeg(thumbnail));
+                } catch (IOException e) {
+                    log.warn("[ImageResizer] resize failed {}: {}", file.getOriginalFilename(), e.toString());
+                    return null;
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            //요청 스레드(톰캣/리액터)가 리사이즈를 떠안지 않도록 바로 거절
+            log.warn("[ImageResizer] queue full, skip variants: {}", file.getOriginalFilename());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    //긴 변이 analysis 크기의 2배 이하가 되도록 subsampling 해서 읽음 (4000px 원본 → 2000px 로 디코딩)
+    private BufferedImage decode(InputStream in) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (analysisMaxPx * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /*
+     * JPEG APP1(Exif) 의 IFD0 Orientation(0x0112) 값, 없거나 JPEG 이 아니면 1
+     * 스캔 시작(SOS) 전 헤더만 읽으므로 본문은 디코딩하지 않음
+     */
+    private static int orientation(MultipartFile file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.getInputStream()))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                byte[] segment = new byte[length];
+                in.readFully(segment);
+                if (marker == 0xFFE1 && length > 14 && new String(segment, 0, 6, StandardCharsets.ISO_8859_1).equals("Exif\0\0")) {
+                    return exifOrientation(ByteBuffer.wrap(segment, 6, length - 6).slice());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    //TIFF 헤더(II/MM) 기준으로 IFD0 항목 중 Orientation 검색
+    private static int exifOrientation(ByteBuffer tiff) {
+        tiff.order(tiff.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiff.getInt(4);
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    //Orientation 2~8 을 정방향으로 (5~8 은 가로/세로가 바뀜)
+    private static BufferedImage orient(BufferedImage src, int orientation) {
+        if (orientation <= 1) {
+            return src;
+        }
+        int w = src.getWidth();
+        int h = src.getHeight();
+        AffineTransform t = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 시계 방향 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transverse
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // 반시계 방향 90도
+        };
+        boolean swap = orientation >= 5;
+        BufferedImage out = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.drawImage(src, t, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static BufferedImage scale(BufferedImage src, int maxPx) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        double ratio = Math.min(1.0, (double) maxPx / Math.max(w, h));
+        int tw = Math.max(1, (int) Math.round(w * ratio));
+        int th = Math.max(1, (int) Math.round(h * ratio));
+
+        //JPEG 은 알파가 없으므로 RGB 로 다시 그림 (PNG 투명 배경 대비)
+        BufferedImage out = new BufferedImage(tw, th, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, tw, th, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private byte[] toJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream out = new MemoryCacheImageOutputStream(bos)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bos.toByteArray();
+    }
+}
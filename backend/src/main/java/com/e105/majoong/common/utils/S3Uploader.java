@@ -1,17 +1,25 @@
 package com.e105.majoong.common.utils;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
@@ -25,8 +33,24 @@ import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignReques
 public class S3Uploader {
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
+    private final S3AsyncClient s3AsyncClient;
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
+    @Value("${cloud.aws.s3.stream-threads:8}")
+    private int streamThreads;
+
+    //multipart 임시파일 InputStream 을 읽어 SDK 버퍼로 넘기는 스레드 (동시 스트리밍 업로드 수 제한)
+    private ExecutorService streamExecutor;
+
+    @PostConstruct
+    public void init() {
+        streamExecutor = Executors.newFixedThreadPool(streamThreads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdown();
+    }
 
     public String upload(MultipartFile file, String dirName) throws IOException {
         String originalName = Optional.ofNullable(file.getOriginalFilename()).orElse("unknown").replaceAll("\\s", "_");
@@ -45,6 +69,33 @@ public class S3Uploader {
         return getFileUrl(fileName);
     }
 
+    /*
+     * 파일 전체를 메모리에 올리지 않고 InputStream 을 그대로 S3 로 흘려보냄
+     * 큰 파일은 S3AsyncClient 가 multipart 로 나눠 올리고, 요청당 버퍼는 S3Config 설정값으로 고정
+     */
+    public CompletableFuture<String> uploadStreaming(MultipartFile file, String dirName) {
+        String originalName = Optional.ofNullable(file.getOriginalFilename()).orElse("unknown").replaceAll("\\s", "_");
+        String fileName = dirName + "/" + UUID.randomUUID() + "_" + originalName;
+
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(fileName)
+                .contentType(Optional.ofNullable(file.getContentType()).orElse("application/octet-stream"))
+                .contentLength(file.getSize())
+                .build();
+
+        InputStream in;
+        try {
+            in = file.getInputStream();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return s3AsyncClient.putObject(putObjectRequest,
+                        AsyncRequestBody.fromInputStream(in, file.getSize(), streamExecutor))
+                .whenComplete((res, e) -> closeQuietly(in))
+                .thenApply(res -> getFileUrl(fileName));
+    }
+
     public String uploadByBytes(byte[] bytes, String originalName, String dirName, String contentType) {
         String safeName = Optional.ofNullable(originalName).orElse("unknown").replaceAll("\\s", "_");
         String uuid = UUID.randomUUID().toString();
@@ -76,6 +127,14 @@ public class S3Uploader {
         return upload(newFile, dirName);
     }
 
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            log.warn("stream close failed: {}", e.toString());
+        }
+    }
+
     private String getFileUrl(String fileName) {
         return s3Client.utilities().getUrl(b -> b.bucket(bucket).key(fileName)).toString();
     }
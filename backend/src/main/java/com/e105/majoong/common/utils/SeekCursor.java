@@ -0,0 +1,40 @@
+package com.e105.majoong.common.utils;
+
+import com.e105.majoong.common.entity.BaseResponseStatus;
+import com.e105.majoong.common.exception.BaseException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/*
+ * (시각, 출처, id) 기준 seek 페이지네이션 위치
+ * source는 여러 테이블을 시간순으로 합칠 때 같은 시각의 행 순서를 정하는 값 (단일 테이블이면 0)
+ * 클라이언트에는 base64url 문자열(불투명 토큰)로만 노출
+ */
+public record SeekCursor(LocalDateTime at, int source, Long id) {
+    private static final String DELIMITER = "|";
+
+    public SeekCursor(LocalDateTime at, Long id) {
+        this(at, 0, id);
+    }
+
+    public String encode() {
+        String raw = at + DELIMITER + source + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //빈 토큰은 첫 페이지 요청으로 보고 null 반환
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new SeekCursor(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
+        }
+    }
+}
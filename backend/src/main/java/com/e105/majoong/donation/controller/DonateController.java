@@ -5,10 +5,12 @@ import com.e105.majoong.auth.security.CustomUserDetails;
 import com.e105.majoong.common.entity.BaseResponse;
 import com.e105.majoong.donation.dto.in.DonationRequestDto;
 import com.e105.majoong.donation.dto.out.DonationResponseDto;
+import com.e105.majoong.donation.dto.out.DonationStatusResponseDto;
 import com.e105.majoong.donation.service.DonateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -31,5 +33,16 @@ public class DonateController {
     return new BaseResponse<>(donateService.donate(req, user.getMemberUuid()));
   }
 
+  @GetMapping("/{donationId}/status")
+  @Operation(summary = "기부 민팅 상태 조회", description = "waitMs > 0 이면 상태가 바뀌거나 waitMs(최대 30초)가 지날 때까지 대기(long-poll)")
+  public CompletableFuture<BaseResponse<DonationStatusResponseDto>> getStatus(
+          @PathVariable Long donationId,
+          @RequestParam(defaultValue = "0") long waitMs,
+          @AuthenticationPrincipal CustomUserDetails user) {
+
+    return donateService.awaitStatus(user.getMemberUuid(), donationId, waitMs)
+            .thenApply(dto -> new BaseResponse<>(dto));
+  }
+
 
 }
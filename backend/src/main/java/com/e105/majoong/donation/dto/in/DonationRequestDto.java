@@ -2,6 +2,7 @@ package com.e105.majoong.donation.dto.in;
 
 import com.e105.majoong.common.model.donationHistory.DonationHistory;
 import jakarta.validation.constraints.Min;
+import java.time.LocalDateTime;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -34,6 +35,9 @@ public class DonationRequestDto {
         .farmerUuid(farmerUuid)
         .txHash(txHash)
         .balance(balance)
+        .mintStatus(txHash == null ? DonationHistory.MintStatus.PENDING : DonationHistory.MintStatus.SUBMITTED)
+        .mintAttempts(0)
+        .nextAttemptAt(LocalDateTime.now())
         .build();
   }
 }
@@ -11,4 +11,6 @@ public class DonationResponseDto {
   private final String vaultAddress;
   private final String tokenAmount; // 사람이 읽는 토큰 수량(소수)
   private final String amountWei;   // 정밀값(wei)
+  private final Long donationId;    // 민팅 상태 조회용
+  private final String mintStatus;  // PENDING → SUBMITTED → CONFIRMED / FAILED
 }
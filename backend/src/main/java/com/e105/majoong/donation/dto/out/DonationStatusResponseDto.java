@@ -0,0 +1,42 @@
+package com.e105.majoong.donation.dto.out;
+
+import com.e105.majoong.common.model.donationHistory.DonationHistory;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonationStatusResponseDto {
+  private Long donationId;
+  private String mintStatus;
+  private String txHash;
+  private Integer logIndex;       // 배치 민팅 tx 안에서 이 기부의 로그 위치
+  private Long donationToken;
+  private LocalDateTime donationDate;
+  private String mintError;
+
+  public static DonationStatusResponseDto toDto(DonationHistory history) {
+    DonationHistory.MintStatus status = history.getMintStatus() == null
+        ? DonationHistory.MintStatus.CONFIRMED
+        : history.getMintStatus();
+    return DonationStatusResponseDto.builder()
+        .donationId(history.getId())
+        .mintStatus(status.name())
+        .txHash(history.getTxHash())
+        .logIndex(history.getLogIndex())
+        .donationToken(history.getDonationToken())
+        .donationDate(history.getDonationDate())
+        .mintError(history.getMintError())
+        .build();
+  }
+
+  public boolean isTerminal() {
+    return DonationHistory.MintStatus.CONFIRMED.name().equals(mintStatus)
+        || DonationHistory.MintStatus.FAILED.name().equals(mintStatus);
+  }
+}
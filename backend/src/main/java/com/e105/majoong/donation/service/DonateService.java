@@ -3,7 +3,13 @@ package com.e105.majoong.donation.service;
 
 import com.e105.majoong.donation.dto.in.DonationRequestDto;
 import com.e105.majoong.donation.dto.out.DonationResponseDto;
+import com.e105.majoong.donation.dto.out.DonationStatusResponseDto;
+import java.util.concurrent.CompletableFuture;
 
 public interface DonateService {
   DonationResponseDto donate(DonationRequestDto req, String memberUuid) throws Exception;
+
+  DonationStatusResponseDto getStatus(String memberUuid, Long donationId);
+
+  CompletableFuture<DonationStatusResponseDto> awaitStatus(String memberUuid, Long donationId, long waitMs);
 }
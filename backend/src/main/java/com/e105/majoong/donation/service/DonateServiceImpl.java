@@ -7,39 +7,70 @@ import com.e105.majoong.common.entity.BaseResponse;
 import com.e105.majoong.common.entity.BaseResponseStatus;
 import com.e105.majoong.common.exception.BaseException;
 import com.e105.majoong.common.model.farmVault.FarmVaultRepository;
-import com.e105.majoong.blockchain.service.OnChainDonationService;
 import com.e105.majoong.blockchain.util.TokenUnits;
 import com.e105.majoong.common.model.donationHistory.DonationHistory;
 import com.e105.majoong.common.model.donationHistory.DonationHistoryRepository;
-import com.e105.majoong.common.model.donator.Donator;
 import com.e105.majoong.common.model.farm.Farm;
 import com.e105.majoong.common.model.farm.FarmRepository;
 import com.e105.majoong.common.model.farmVault.FarmVault;
 import com.e105.majoong.donation.dto.in.DonationRequestDto;
 import com.e105.majoong.donation.dto.out.DonationResponseDto;
+import com.e105.majoong.donation.dto.out.DonationStatusResponseDto;
+import com.e105.majoong.farm.util.FarmCandidateIndex;
 import com.e105.majoong.common.model.donator.DonatorRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DonateServiceImpl implements DonateService {
 
+  private static final long MAX_WAIT_MS = 30_000L;
+
   private final FarmRepository farmRepo;
   private final FarmVaultRepository vaultRepo;
   private final DonatorRepository donatorRepo;
   private final DonationHistoryRepository historyRepo;
 
-  private final OnChainDonationService onChain;
   private final ChainProps chainProps;
   private final VaultService vaultService;
+  private final FarmCandidateIndex farmCandidateIndex;
+  private final DonationMintWorker mintWorker;
+  private final DonationStatusNotifier statusNotifier;
+  private final DonationRollupService donationRollupService;
+
+  // long-poll 만료/완료 후 상태 재조회(JPA) 용 (CompletableFuture 기본 delayer 스레드에서 DB 조회하지 않도록)
+  private ThreadPoolTaskExecutor statusExecutor;
+
+  @PostConstruct
+  public void init() {
+    statusExecutor = new ThreadPoolTaskExecutor();
+    statusExecutor.setCorePoolSize(4);
+    statusExecutor.setMaxPoolSize(4);
+    statusExecutor.setQueueCapacity(500);
+    statusExecutor.setThreadNamePrefix("donation-status-");
+    statusExecutor.initialize();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    statusExecutor.shutdown();
+  }
 
+  @Override
   @Transactional
   public DonationResponseDto donate(DonationRequestDto req, String memberUuid) throws Exception {
     long unit = chainProps.getKrwPerToken();
@@ -54,36 +85,81 @@ public class DonateServiceImpl implements DonateService {
         .orElseThrow(() -> new BaseException(BaseResponseStatus.NO_EXIST_FARM));
 
     // 2) farmUuid로 금고 조회 (farm_vaults.farm_id == farm.farm_uuid)
+    //    금고 생성 tx 가 아직 컨펌되지 않았으면(PENDING~SUBMITTED) 기부 불가
     FarmVault vault = vaultRepo.findTopByFarmUuidOrderByIdDesc(req.getFarmUuid())
+        .filter(v -> v.getStatus() == FarmVault.Status.ACTIVE)
         .orElseThrow(() -> new BaseException(BaseResponseStatus.NO_EXIST_FARM_VAULT));
 
-    // 3) 기부자 지갑 조회 (donator.member_uuid == req.memberUuid)
-    Donator donator = donatorRepo.findByMemberUuid(memberUuid)
+    // 3) 기부자 지갑 확인 (donator.member_uuid == req.memberUuid), 민팅 시 워커가 다시 조회
+    donatorRepo.findByMemberUuid(memberUuid)
         .orElseThrow(() -> new BaseException(BaseResponseStatus.NO_EXIST_DONATOR));
 
-    // 4) 온체인 민팅 → txHash 획득
-    String txHash = onChain.mintToVaultForDonor(donator.getWalletAddress(), vault.getVaultAddress(), amountWei);
+    // 4) 온체인 민팅은 커밋 이후 DonationMintWorker 가 비동기로 처리 (RPC 대기 동안 DB 커넥션을 잡지 않음)
 
     // 5) 누적: DB는 “원화 금액” 기준
     farm.updateTotalDonation(krw);   // 토큰 개수 대신 원화 금액 누적
     Long balanceKrw = farm.getTotalDonation() - farm.getUsedAmount();;
-    // 6) donation_history 저장 (farmUuid + tx_hash)
+    // 6) donation_history 저장 (PENDING, tx_hash 는 민팅 후 채워짐)
     DonationHistory h = req.toEntity(
         farm.getFarmUuid(),
         farm.getMemberUuid(),
         memberUuid,
-        txHash,
+        null,
         tokenCount,
         balanceKrw
     );
     historyRepo.save(h);
 
+    // 7) 농장별 월/누적 기부 집계 갱신 (같은 트랜잭션)
+    donationRollupService.record(h.getFarmUuid(), memberUuid, tokenCount, h.getDonationDate());
+
+    // 8) 커밋 이후 추천 후보 인덱스의 이번 달 누적 기부 반영 + 민팅 워커 깨우기
+    String farmUuid = farm.getFarmUuid();
+    Long donationId = h.getId();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        farmCandidateIndex.addDonation(farmUuid, tokenCount);
+        mintWorker.dispatch(donationId);
+      }
+    });
+
     return new DonationResponseDto(
-        txHash,
+        null,
         memberUuid,
         vault.getVaultAddress(),
         String.valueOf(tokenCount),
-        amountWei.toString()
+        amountWei.toString(),
+        donationId,
+        h.getMintStatus().name()
     );
   }
+
+  @Override
+  public DonationStatusResponseDto getStatus(String memberUuid, Long donationId) {
+    DonationHistory h = historyRepo.findByIdAndDonatorUuid(donationId, memberUuid)
+        .orElseThrow(() -> new BaseException(BaseResponseStatus.NO_EXIST_DONATION));
+    return DonationStatusResponseDto.toDto(h);
+  }
+
+  /**
+   * long-poll: 이미 CONFIRMED/FAILED 이거나 waitMs 가 0 이면 즉시,
+   * 아니면 상태가 바뀌거나 waitMs 가 지날 때까지 대기 후 현재 상태 반환
+   */
+  @Override
+  public CompletableFuture<DonationStatusResponseDto> awaitStatus(String memberUuid, Long donationId, long waitMs) {
+    DonationStatusResponseDto current = getStatus(memberUuid, donationId);
+    if (current.isTerminal() || waitMs <= 0) {
+      return CompletableFuture.completedFuture(current);
+    }
+    CompletableFuture<DonationStatusResponseDto> changed = statusNotifier.register(donationId);
+    // 등록 직전에 바뀐 경우를 놓치지 않도록 한 번 더 확인
+    DonationStatusResponseDto recheck = getStatus(memberUuid, donationId);
+    if (!recheck.getMintStatus().equals(current.getMintStatus())) {
+      changed.complete(recheck);
+    }
+    return changed
+        .completeOnTimeout(null, Math.min(waitMs, MAX_WAIT_MS), TimeUnit.MILLISECONDS)
+        .thenApplyAsync(dto -> dto != null ? dto : getStatus(memberUuid, donationId), statusExecutor);
+  }
 }
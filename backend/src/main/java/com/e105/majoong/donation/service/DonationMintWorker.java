@@ -0,0 +1,400 @@
+package com.e105.majoong.donation.service;
+
+import com.e105.majoong.blockchain.props.ChainProps;
+import com.e105.majoong.blockchain.service.GasOracle;
+import com.e105.majoong.blockchain.service.OnChainDonationService;
+import com.e105.majoong.blockchain.service.OnChainDonationService.MintItem;
+import com.e105.majoong.blockchain.service.ReceiptTracker;
+import com.e105.majoong.blockchain.service.TxSendUnknownException;
+import com.e105.majoong.blockchain.util.TokenUnits;
+import com.e105.majoong.common.model.donationHistory.DonationHistory;
+import com.e105.majoong.common.model.donationHistory.DonationHistory.MintStatus;
+import com.e105.majoong.common.model.donationHistory.DonationHistoryRepository;
+import com.e105.majoong.common.model.donator.Donator;
+import com.e105.majoong.common.model.donator.DonatorRepository;
+import com.e105.majoong.common.model.farm.FarmRepository;
+import com.e105.majoong.common.model.farmVault.FarmVault;
+import com.e105.majoong.common.model.farmVault.FarmVaultRepository;
+import com.e105.majoong.farm.util.FarmCandidateIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/*
+ * 기부 민팅 outbox 워커
+ * - donate 요청은 PENDING 기부내역만 저장하고 바로 응답
+ * - 커밋된 기부 id 는 버퍼에 모았다가 batch-size 건이 차거나 batch-window-ms 가 지나면
+ *   한 번에 선점(PENDING -> SUBMITTING)해서 mintBatchToVaultsForDonors tx 하나로 전송 -> SUBMITTED(공유 txHash)
+ * - SUBMITTED 는 txHash 단위로 ReceiptTracker 컨펌을 기다려 CONFIRMED(로그 index 기록) / FAILED 로 정리
+ * - 노드가 명시적으로 거절한 전송만 묶인 건마다 지수 backoff 로 재시도, 최대 횟수를 넘으면 FAILED
+ * - 결과를 모르는 전송(타임아웃/IO)은 재전송(중복 민팅) 대신 SUBMITTING + 서명된 txHash 로 두고 영수증으로 확인
+ * - 혼자 보낸 기부가 gas 를 다 쓰고 revert 되면(학습값 부족, 예: 처음 받는 금고) eth_estimateGas 로 새로 계산해 한 번 더 재시도
+ * - FAILED 가 되면 농장 누적 기부 / 기부 집계 / 추천 후보 인덱스에 더했던 금액을 되돌림
+ * - SUBMITTING 선점은 인스턴스(owner)와 시각을 남겨, 재기동 시 자기 선점 / lease 가 지난 선점만 회수
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DonationMintWorker {
+
+    private final DonationHistoryRepository historyRepo;
+    private final DonatorRepository donatorRepo;
+    private final FarmVaultRepository vaultRepo;
+    private final OnChainDonationService onChain;
+    private final DonationStatusNotifier statusNotifier;
+    private final ReceiptTracker receiptTracker;
+    private final GasOracle gasOracle;
+    private final TransactionTemplate transactionTemplate;
+    private final FarmRepository farmRepo;
+    private final DonationRollupService donationRollupService;
+    private final FarmCandidateIndex farmCandidateIndex;
+    private final ChainProps chainProps;
+    private final Set<String> watching = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> buffer = new ConcurrentLinkedQueue<>();
+    //gas 부족 revert 후 재시도 중인 기부 id (다음 전송은 학습값 대신 새 estimate)
+    private final Set<Long> reestimate = ConcurrentHashMap.newKeySet();
+
+    @Value("${donation.mint.workers:4}")
+    private int workers;
+
+    @Value("${donation.mint.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${donation.mint.batch-size:50}")
+    private int batchSize;
+
+    //선점 인스턴스 식별자 (재기동 후에도 같은 값이어야 자기 선점을 바로 회수)
+    @Value("${donation.mint.instance-id:${HOSTNAME:}}")
+    private String instanceId;
+
+    //선점 후 이 시간이 지나도록 SUBMITTING 이면 선점 인스턴스가 죽은 것으로 간주
+    @Value("${donation.mint.claim-lease-ms:600000}")
+    private long claimLeaseMs;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = UUID.randomUUID().toString();
+        }
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * 50);
+        executor.setThreadNamePrefix("donation-mint-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /*
+     * 기부 커밋 직후 호출: 버퍼에 넣고 batch-size 가 차면 바로 전송
+     * (afterCommit 안에서는 기존 트랜잭션 자원이 묶여 있으므로 선점 update 도 워커 스레드에서 실행)
+     */
+    public void dispatch(Long donationId) {
+        buffer.add(donationId);
+        if (buffer.size() >= batchSize) {
+            submitFlush();
+        }
+    }
+
+    //batch-size 가 안 차도 window 가 지나면 모인 만큼 전송
+    @Scheduled(fixedDelayString = "${donation.mint.batch-window-ms:500}", initialDelay = 5_000L)
+    public void flushWindow() {
+        if (!buffer.isEmpty()) {
+            submitFlush();
+        }
+    }
+
+    //dispatch 누락/재시도 대상 수거
+    @Scheduled(fixedDelay = 2_000L, initialDelay = 5_000L)
+    public void drain() {
+        if (!buffer.isEmpty() || !executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            return; // 앞선 작업이 아직 밀려 있으면 중복 적재하지 않음
+        }
+        List<DonationHistory> pending = historyRepo.findTop50ByMintStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                MintStatus.PENDING, LocalDateTime.now());
+        for (DonationHistory h : pending) {
+            buffer.add(h.getId());
+        }
+    }
+
+    /*
+     * SUBMITTED 인데 영수증을 기다리는 중이 아닌 건(재기동, tracker 타임아웃)을 다시 대기 등록
+     */
+    @Scheduled(fixedDelay = 30_000L, initialDelay = 5_000L)
+    public void reconcile() {
+        for (DonationHistory h : historyRepo.findTop50ByMintStatusOrderByIdAsc(MintStatus.SUBMITTED)) {
+            watch(h.getTxHash());
+        }
+    }
+
+    /*
+     * 선점 후 프로세스가 죽어 SUBMITTING 으로 남은 건
+     * 서명된 txHash 가 남아 있으면 영수증으로 확인하고, 없거나 오래도록 영수증이 없으면
+     * 자동 재전송(중복 민팅) 대신 FAILED 로 두고 운영자가 확인
+     * - 기동 시: 이 인스턴스가 선점했던 건만
+     * - 주기적으로: lease 가 지난 선점 (다른 인스턴스가 처리 중인 건은 건드리지 않음)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterrupted() {
+        for (DonationHistory h : historyRepo.findTop50ByMintStatusAndMintOwnerOrderByIdAsc(MintStatus.SUBMITTING, instanceId)) {
+            recover(h);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000L, initialDelay = 60_000L)
+    public void recoverStale() {
+        LocalDateTime before = LocalDateTime.now().minusNanos(claimLeaseMs * 1_000_000L);
+        for (DonationHistory h : historyRepo.findStaleClaims(MintStatus.SUBMITTING, before, PageRequest.of(0, 50))) {
+            recover(h);
+        }
+    }
+
+    private void recover(DonationHistory h) {
+        LocalDateTime giveUpBefore = LocalDateTime.now().minusNanos(claimLeaseMs * 3 * 1_000_000L);
+        if (h.getTxHash() != null && h.getClaimedAt() != null && h.getClaimedAt().isAfter(giveUpBefore)) {
+            log.warn("[DonationMint] interrupted id={} has tx={}, waiting for receipt", h.getId(), h.getTxHash());
+            watch(h.getTxHash());
+            return;
+        }
+        log.error("[DonationMint] interrupted id={} owner={} claimedAt={} marked FAILED",
+                h.getId(), h.getMintOwner(), h.getClaimedAt());
+        fail(h, "interrupted while submitting, check chain before retry");
+    }
+
+    private void submitFlush() {
+        try {
+            executor.execute(this::flush);
+        } catch (TaskRejectedException e) {
+            //큐가 가득 차면 버퍼에 그대로 두고 다음 window 때 처리
+            log.warn("[DonationMint] queue full, deferred {} buffered", buffer.size());
+        }
+    }
+
+    //버퍼에서 batch-size 건을 꺼내 선점한 것만 한 tx 로 민팅
+    private void flush() {
+        List<Long> claimed = new ArrayList<>();
+        Long id;
+        while (claimed.size() < batchSize && (id = buffer.poll()) != null) {
+            if (historyRepo.claim(id, MintStatus.PENDING, MintStatus.SUBMITTING, instanceId, LocalDateTime.now()) == 1) {
+                claimed.add(id);
+            }
+        }
+        if (!claimed.isEmpty()) {
+            mintBatch(claimed);
+        }
+    }
+
+    private void mintBatch(List<Long> donationIds) {
+        // id 순서 = 컨트랙트 배열 순서 = DonationRecorded 로그 순서 (영수증 매핑 기준)
+        List<DonationHistory> rows = historyRepo.findAllById(donationIds).stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .collect(Collectors.toList());
+
+        Map<DonationHistory, MintItem> items = new LinkedHashMap<>();
+        for (DonationHistory h : rows) {
+            try {
+                Donator donator = donatorRepo.findByMemberUuid(h.getDonatorUuid())
+                        .orElseThrow(() -> new IllegalStateException("donator not found: " + h.getDonatorUuid()));
+                FarmVault vault = vaultRepo.findTopByFarmUuidOrderByIdDesc(h.getFarmUuid())
+                        .filter(v -> v.getStatus() == FarmVault.Status.ACTIVE)
+                        .orElseThrow(() -> new IllegalStateException("active vault not found: " + h.getFarmUuid()));
+                items.put(h, new MintItem(donator.getWalletAddress(), vault.getVaultAddress(),
+                        TokenUnits.maronTokensToWei(h.getDonationToken())));
+            } catch (Exception e) {
+                //이 건만 재시도로 돌리고 나머지는 그대로 묶어서 전송
+                retryOrFail(h, e);
+            }
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+
+        List<DonationHistory> batch = new ArrayList<>(items.keySet());
+        boolean fresh = batch.stream().anyMatch(h -> reestimate.contains(h.getId()));
+        String txHash;
+        try {
+            txHash = onChain.mintBatchToVaultsForDonors(new ArrayList<>(items.values()), fresh);
+            log.info("[DonationMint] submitted {} donations tx={}", batch.size(), txHash);
+        } catch (TxSendUnknownException e) {
+            //노드가 받았을 수 있음: 재전송하지 않고 SUBMITTING 으로 둔 채 서명된 tx 의 영수증으로 확인
+            log.warn("[DonationMint] send result unknown for {} donations tx={}", batch.size(), e.getTxHash(), e);
+            for (DonationHistory h : batch) {
+                h.updateTxHash(e.getTxHash());
+                historyRepo.save(h);
+            }
+            watch(e.getTxHash());
+            return;
+        } catch (Exception e) {
+            //서명 실패 / 노드의 명시적 거절 → tx 가 없으므로 재시도
+            for (DonationHistory h : batch) {
+                retryOrFail(h, e);
+            }
+            return;
+        }
+        for (DonationHistory h : batch) {
+            h.markSubmitted(txHash);
+            historyRepo.save(h);
+            statusNotifier.publish(h);
+        }
+        watch(txHash);
+    }
+
+    //재시도 예약 또는 최대 횟수 초과 시 FAILED (저장/알림까지 처리)
+    private void retryOrFail(DonationHistory h, Exception e) {
+        int attempts = (h.getMintAttempts() == null ? 0 : h.getMintAttempts()) + 1;
+        if (attempts >= maxAttempts) {
+            log.error("[DonationMint] give up id={} after {} attempts", h.getId(), attempts, e);
+            fail(h, e.getMessage());
+            return;
+        }
+        long backoffSec = 1L << Math.min(attempts, 8); // 2, 4, 8, ... 최대 256초
+        h.scheduleRetry(e.getMessage(), LocalDateTime.now().plusSeconds(backoffSec));
+        log.warn("[DonationMint] retry id={} attempt={} in {}s: {}", h.getId(), attempts, backoffSec, e.toString());
+        historyRepo.save(h);
+        statusNotifier.publish(h);
+    }
+
+    /*
+     * 최종 실패: FAILED 전이와 농장 누적 기부 / 기부 집계 차감을 한 트랜잭션으로 처리하고
+     * 커밋 후 추천 후보 인덱스에서도 차감 (이미 다른 경로에서 정리된 건은 건너뜀)
+     */
+    private void fail(DonationHistory h, String error) {
+        reestimate.remove(h.getId());
+        MintStatus from = h.getMintStatus();
+        Boolean failed = transactionTemplate.execute(status -> {
+            if (historyRepo.transitionMintStatus(h.getId(), from, MintStatus.FAILED) != 1) {
+                return false;
+            }
+            h.markFailed(error);
+            historyRepo.save(h);
+            farmRepo.decreaseTotalDonation(h.getFarmUuid(), h.getDonationToken() * chainProps.getKrwPerToken());
+            donationRollupService.revert(h.getFarmUuid(), h.getDonationToken(), h.getDonationDate());
+            return true;
+        });
+        if (!Boolean.TRUE.equals(failed)) {
+            return;
+        }
+        if (h.getDonationDate() != null) {
+            farmCandidateIndex.removeDonation(h.getFarmUuid(), h.getDonationToken(), YearMonth.from(h.getDonationDate()));
+        }
+        statusNotifier.publish(h);
+    }
+
+    //영수증이 컨펌되면 tx 에 묶인 기부 전체를 CONFIRMED / FAILED 로 정리 (ReceiptTracker 가 블록마다 batch 조회)
+    private void watch(String txHash) {
+        if (txHash == null || !watching.add(txHash)) {
+            return;
+        }
+        receiptTracker.track(txHash).whenCompleteAsync((receipt, error) -> {
+            watching.remove(txHash);
+            if (error != null) {
+                log.warn("[DonationMint] receipt wait failed tx={}: {}", txHash, error.toString());
+                return; // SUBMITTED 로 두고 다음 reconcile 때 다시 대기
+            }
+            settle(txHash, receipt);
+        }, executor).exceptionally(error -> {
+            //워커 큐가 가득 차 콜백이 거절됐거나 정리 중 예외: 대기 표시를 풀어 다음 reconcile 때 다시 등록
+            watching.remove(txHash);
+            log.warn("[DonationMint] receipt callback failed tx={}: {}", txHash, error.toString());
+            return null;
+        });
+    }
+
+    private void settle(String txHash, TransactionReceipt receipt) {
+        // 같은 tx 에 묶인 전체 기부 (i 번째 기부 = i 번째 DonationRecorded 로그)
+        List<DonationHistory> rows = historyRepo.findByTxHashOrderByIdAsc(txHash);
+        if (rows.stream().noneMatch(DonationMintWorker::awaitingReceipt)) {
+            return;
+        }
+        List<Integer> logIndexes = receipt.isStatusOK() ? onChain.donationLogIndexes(receipt) : List.of();
+        gasOracle.observe(OnChainDonationService.batchLabel(rows.size()), receipt);
+        if (!receipt.isStatusOK()) {
+            log.error("[DonationMint] reverted tx={} ({} donations)", txHash, rows.size());
+            bisect(receipt, rows.stream().filter(DonationMintWorker::awaitingReceipt).toList());
+            return;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            DonationHistory h = rows.get(i);
+            if (!awaitingReceipt(h)) {
+                continue;
+            }
+            reestimate.remove(h.getId());
+            h.markConfirmed(i < logIndexes.size() ? logIndexes.get(i) : null);
+            historyRepo.save(h);
+            statusNotifier.publish(h);
+        }
+    }
+
+    /*
+     * 배치 tx revert: 어느 기부 때문인지 모르므로 반씩 나눠 다시 전송
+     * 혼자 보낸 기부가 revert 된 경우
+     * - gas 를 다 썼고 아직 새 estimate 로 보내 본 적이 없으면 재시도 (다음 전송은 eth_estimateGas)
+     * - 그 외(새 estimate 로도 revert, 컨트랙트 require 실패)는 FAILED
+     */
+    private void bisect(TransactionReceipt receipt, List<DonationHistory> reverted) {
+        if (reverted.isEmpty()) {
+            return;
+        }
+        if (reverted.size() == 1) {
+            DonationHistory h = reverted.get(0);
+            if (!reestimate.contains(h.getId()) && onChain.usedAllGas(receipt)) {
+                reestimate.add(h.getId());
+                retryOrFail(h, new IllegalStateException("mint ran out of gas (gasUsed=" + receipt.getGasUsed() + "), re-estimating"));
+                return;
+            }
+            fail(h, "mint reverted, status=" + receipt.getStatus());
+            return;
+        }
+        int mid = reverted.size() / 2;
+        resend(reverted.subList(0, mid));
+        resend(reverted.subList(mid, reverted.size()));
+    }
+
+    //revert 된 배치의 일부를 다시 선점해서 새 tx 로 전송
+    private void resend(List<DonationHistory> rows) {
+        List<Long> ids = new ArrayList<>();
+        for (DonationHistory h : rows) {
+            if (historyRepo.claim(h.getId(), h.getMintStatus(), MintStatus.SUBMITTING, instanceId, LocalDateTime.now()) == 1) {
+                ids.add(h.getId());
+            }
+        }
+        if (!ids.isEmpty()) {
+            mintBatch(ids);
+        }
+    }
+
+    //영수증 대기 중: 전송 성공(SUBMITTED) 또는 결과를 모르는 전송(SUBMITTING + txHash)
+    private static boolean awaitingReceipt(DonationHistory h) {
+        return h.getMintStatus() == MintStatus.SUBMITTED
+                || (h.getMintStatus() == MintStatus.SUBMITTING && h.getTxHash() != null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.e105.majoong.donation.service;
+
+import java.time.LocalDateTime;
+
+public interface DonationRollupService {
+    void record(String farmUuid, String donatorUuid, long tokenCount, LocalDateTime donatedAt);
+
+    void revert(String farmUuid, long tokenCount, LocalDateTime donatedAt);
+
+    int backfill();
+}
@@ -0,0 +1,132 @@
+package com.e105.majoong.donation.service;
+
+import com.e105.majoong.common.model.donationHistory.DonationHistory.MintStatus;
+import com.e105.majoong.common.model.donationRollup.DonationRollup;
+import com.e105.majoong.common.model.donationRollup.DonationRollupRepository;
+import com.e105.majoong.common.utils.HyperLogLog;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DonationRollupServiceImpl implements DonationRollupService {
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final DonationRollupRepository donationRollupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /*
+     * 기부 1건을 누적(TOTAL) 행과 월별 행에 반영
+     * 기부 트랜잭션 안에서 호출되어 donation_history 저장과 함께 커밋/롤백됨
+     * 잠금 순서: TOTAL → 월별 (backfill 과 같은 순서로 잡아 교착 방지)
+     */
+    @Override
+    @Transactional
+    public void record(String farmUuid, String donatorUuid, long tokenCount, LocalDateTime donatedAt) {
+        LocalDateTime at = donatedAt != null ? donatedAt : LocalDateTime.now(KST);
+        add(farmUuid, DonationRollup.TOTAL, donatorUuid, tokenCount);
+        add(farmUuid, DonationRollup.period(YearMonth.from(at)), donatorUuid, tokenCount);
+    }
+
+    /*
+     * 민팅이 최종 실패한 기부를 집계에서 제외 (record 와 같은 잠금 순서)
+     */
+    @Override
+    @Transactional
+    public void revert(String farmUuid, long tokenCount, LocalDateTime donatedAt) {
+        LocalDateTime at = donatedAt != null ? donatedAt : LocalDateTime.now(KST);
+        lock(farmUuid, DonationRollup.TOTAL).removeDonation(tokenCount);
+        lock(farmUuid, DonationRollup.period(YearMonth.from(at))).removeDonation(tokenCount);
+    }
+
+    /*
+     * donation_history 기준으로 집계 테이블 재생성 (농장별 트랜잭션)
+     * 기존 데이터 이관이나 집계 누락 보정 시에만 실행
+     * 농장마다 record 와 같은 TOTAL 행 잠금을 먼저 잡은 뒤 재집계하므로
+     * 재생성 중 들어온 기부는 잠금이 풀린 뒤 재생성 결과 위에 더해짐 (누락/중복 없음)
+     */
+    @Override
+    public int backfill() {
+        Set<String> farmUuids = new LinkedHashSet<>(donationRollupRepository.findDonatedFarmUuids());
+        farmUuids.addAll(donationRollupRepository.findRolledUpFarmUuids());
+
+        //배치 step 트랜잭션 안에서 호출되어도 농장마다 따로 커밋 (잠금을 농장 단위로만 잡고, 잠금 이후 스냅샷으로 집계)
+        TransactionTemplate perFarm = new TransactionTemplate(transactionManager);
+        perFarm.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int rows = 0;
+        for (String farmUuid : farmUuids) {
+            Integer rebuilt = perFarm.execute(status -> rebuild(farmUuid));
+            rows += rebuilt == null ? 0 : rebuilt;
+        }
+        log.info("[DonationRollup] backfilled {} rows for {} farms", rows, farmUuids.size());
+        return rows;
+    }
+
+    private int rebuild(String farmUuid) {
+        //TOTAL 행 잠금으로 이 농장의 record 를 막은 뒤 집계 (잠금 이후 첫 일반 조회라 커밋된 기부까지 모두 보임)
+        DonationRollup total = lock(farmUuid, DonationRollup.TOTAL);
+
+        Map<String, Aggregate> periods = new HashMap<>();
+        periods.put(DonationRollup.TOTAL, new Aggregate());
+        for (Object[] row : donationRollupRepository.aggregateDonationHistory(farmUuid, MintStatus.FAILED)) {
+            String donatorUuid = (String) row[0];
+            YearMonth yearMonth = YearMonth.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+            long tokenSum = row[3] == null ? 0L : ((Number) row[3]).longValue();
+            long count = ((Number) row[4]).longValue();
+
+            periods.computeIfAbsent(DonationRollup.period(yearMonth), k -> new Aggregate())
+                    .add(donatorUuid, tokenSum, count);
+            periods.get(DonationRollup.TOTAL).add(donatorUuid, tokenSum, count);
+        }
+
+        //내역이 사라진 기간 행은 0 으로 초기화
+        for (DonationRollup rollup : donationRollupRepository.findByFarmUuid(farmUuid)) {
+            if (!periods.containsKey(rollup.getPeriod())) {
+                rollup.overwrite(0L, 0L, new HyperLogLog());
+            }
+        }
+
+        periods.forEach((period, aggregate) -> {
+            DonationRollup rollup = DonationRollup.TOTAL.equals(period) ? total : lock(farmUuid, period);
+            rollup.overwrite(aggregate.tokenSum, aggregate.count, aggregate.sketch);
+        });
+        return periods.size();
+    }
+
+    //행이 없으면 만들고 행 잠금 후 갱신 (같은 농장 동시 기부 직렬화)
+    private void add(String farmUuid, String period, String donatorUuid, long tokenCount) {
+        lock(farmUuid, period).addDonation(tokenCount, donatorUuid);
+    }
+
+    private DonationRollup lock(String farmUuid, String period) {
+        donationRollupRepository.insertIfAbsent(farmUuid, period);
+        return donationRollupRepository.findWithLockByFarmUuidAndPeriod(farmUuid, period)
+                .orElseThrow(() -> new IllegalStateException("donation_rollup row missing: " + farmUuid + "/" + period));
+    }
+
+    private static class Aggregate {
+        private long tokenSum;
+        private long count;
+        private final HyperLogLog sketch = new HyperLogLog();
+
+        void add(String donatorUuid, long tokenSum, long count) {
+            this.tokenSum += tokenSum;
+            this.count += count;
+            this.sketch.add(donatorUuid);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.e105.majoong.donation.service;
+
+import com.e105.majoong.common.model.donationHistory.DonationHistory;
+import com.e105.majoong.donation.dto.out.DonationStatusResponseDto;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.stereotype.Component;
+
+/*
+ * 기부 민팅 상태 long-poll 대기자 관리
+ * 워커가 상태를 바꾸면 해당 기부를 기다리던 요청을 모두 완료시킴
+ */
+@Component
+public class DonationStatusNotifier {
+
+    private final Map<Long, List<CompletableFuture<DonationStatusResponseDto>>> waiters = new ConcurrentHashMap<>();
+
+    public CompletableFuture<DonationStatusResponseDto> register(Long donationId) {
+        CompletableFuture<DonationStatusResponseDto> future = new CompletableFuture<>();
+        waiters.computeIfAbsent(donationId, id -> new CopyOnWriteArrayList<>()).add(future);
+        //타임아웃 등으로 먼저 끝난 경우 목록에서 제거
+        future.whenComplete((dto, e) -> waiters.computeIfPresent(donationId, (id, list) -> {
+            list.remove(future);
+            return list.isEmpty() ? null : list;
+        }));
+        return future;
+    }
+
+    public void publish(DonationHistory history) {
+        List<CompletableFuture<DonationStatusResponseDto>> list = waiters.remove(history.getId());
+        if (list == null) {
+            return;
+        }
+        DonationStatusResponseDto dto = DonationStatusResponseDto.toDto(history);
+        for (CompletableFuture<DonationStatusResponseDto> future : list) {
+            future.complete(dto);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.e105.majoong.farm.dto.out;
 
 import com.e105.majoong.common.model.farm.Farm;
+import com.e105.majoong.farm.util.FarmCandidateIndex.Candidate;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -30,4 +31,18 @@ public class FarmRecommendResponseDto {
                 .amountToken(amountToken)
                 .build();
     }
+
+    public static FarmRecommendResponseDto toDto(Candidate candidate) {
+        return FarmRecommendResponseDto.builder()
+                .farmUuid(candidate.farmUuid())
+                .profileImage(candidate.profileImage())
+                .farmName(candidate.farmName())
+                .address(candidate.address())
+                .description(candidate.description())
+                .totalScore(candidate.trustScore())
+                .farmerName(candidate.farmerName())
+                .horseCount(candidate.horseCount())
+                .amountToken(candidate.monthToken())
+                .build();
+    }
 }
@@ -0,0 +1,90 @@
+package com.e105.majoong.farm.search;
+
+import com.e105.majoong.common.model.farm.Farm;
+import com.e105.majoong.common.model.farm.FarmRepository;
+import com.e105.majoong.common.model.horse.Horse;
+import com.e105.majoong.common.model.horse.HorseRepository;
+import com.e105.majoong.farm.search.NgramIndex.Hits;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * 농장(이름, 주소) / 말(이름) 검색용 인메모리 색인
+ * LIKE '%검색어%' 전체 스캔 대신 n-gram 색인으로 후보를 좁힘
+ * 농장 등록, 말 등록/삭제 시 바로 반영하고 주기적으로 DB 기준 재적재
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FarmSearchIndex {
+    private static final double[] FARM_WEIGHTS = {2.0, 1.0}; // 농장 이름, 주소
+    private static final double[] HORSE_WEIGHTS = {1.0}; // 말 이름
+
+    private final FarmRepository farmRepository;
+    private final HorseRepository horseRepository;
+
+    private volatile NgramIndex farmIndex = new NgramIndex();
+    private volatile NgramIndex horseIndex = new NgramIndex();
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reload();
+    }
+
+    @Scheduled(fixedDelay = 30 * 60 * 1000L, initialDelay = 30 * 60 * 1000L)
+    public void scheduledReload() {
+        reload();
+    }
+
+    public void reload() {
+        List<Farm> farms = farmRepository.findAll();
+        List<Horse> horses = horseRepository.findByDeletedAtIsNull();
+        //새 색인을 만든 뒤 교체해서 재적재 중에도 기존 색인으로 검색 가능
+        NgramIndex newFarmIndex = new NgramIndex();
+        NgramIndex newHorseIndex = new NgramIndex();
+        farms.forEach(farm -> putFarm(newFarmIndex, farm));
+        horses.forEach(horse -> putHorse(newHorseIndex, horse));
+        farmIndex = newFarmIndex;
+        horseIndex = newHorseIndex;
+        loaded = true;
+        log.info("[FarmSearchIndex] reloaded {} farms, {} horses", farms.size(), horses.size());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void indexFarm(Farm farm) {
+        putFarm(farmIndex, farm);
+    }
+
+    public void indexHorse(Horse horse) {
+        putHorse(horseIndex, horse);
+    }
+
+    public void removeHorse(Long horseId) {
+        horseIndex.remove(horseId);
+    }
+
+    public Hits searchFarms(String keyword, int page, int size) {
+        return farmIndex.search(keyword, page, size);
+    }
+
+    public Hits searchHorses(String keyword, int page, int size) {
+        return horseIndex.search(keyword, page, size);
+    }
+
+    private static void putFarm(NgramIndex index, Farm farm) {
+        index.put(farm.getId(), new String[]{farm.getFarmName(), farm.getAddress()}, FARM_WEIGHTS);
+    }
+
+    private static void putHorse(NgramIndex index, Horse horse) {
+        index.put(horse.getId(), new String[]{horse.getHorseName()}, HORSE_WEIGHTS);
+    }
+}
@@ -0,0 +1,236 @@
+package com.e105.majoong.farm.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * 한글 음절 단위 n-gram 역색인
+ * - 정규화한 텍스트의 1-gram/2-gram, 초성 1-gram/2-gram, 받침을 뗀 음절 1-gram 을 색인
+ * - 검색어 마지막 글자는 입력 중일 수 있으므로 느슨하게 비교 ("목자" -> "목장", "목ㅈ" -> "목장")
+ * - 초성만 입력한 경우 초성 문자열로 검색 ("ㅁㅈ" -> "목장")
+ * - 정확 일치 > 접두 일치 > 중간 일치 순으로 점수를 매기고, 필드 가중치를 곱함
+ */
+public class NgramIndex {
+    private static final char HANGUL_BASE = 0xAC00;
+    private static final char HANGUL_LAST = 0xD7A3;
+    private static final String CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String TEXT = "t:";
+    private static final String INITIAL = "c:";
+    private static final String OPEN = "s:"; // 받침 없는 음절
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Field[]> docs = new HashMap<>();
+
+    record Field(String text, String initials, double weight) {
+    }
+
+    public record Hits(List<Long> ids, long total) {
+    }
+
+    /*
+     * 문서 색인 (같은 id가 있으면 교체)
+     * fields/weights 는 같은 순서로 전달
+     */
+    public synchronized void put(Long id, String[] fields, double[] weights) {
+        remove(id);
+        Field[] indexed = new Field[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            String text = normalize(fields[i]);
+            indexed[i] = new Field(text, initials(text), weights[i]);
+            for (String key : keys(indexed[i])) {
+                postings.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+            }
+        }
+        docs.put(id, indexed);
+    }
+
+    public synchronized void remove(Long id) {
+        Field[] old = docs.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (Field field : old) {
+            for (String key : keys(field)) {
+                Set<Long> ids = postings.get(key);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * 점수순 정렬 후 page/size 만큼 잘라서 반환
+     */
+    public synchronized Hits search(String query, int page, int size) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+        boolean initialsOnly = q.chars().allMatch(c -> isInitial((char) c));
+
+        Set<Long> candidates = candidates(q, initialsOnly);
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long id : candidates) {
+            double score = 0.0;
+            for (Field field : docs.get(id)) {
+                String target = initialsOnly ? field.initials() : field.text();
+                int pos = indexOf(target, q);
+                if (pos < 0) {
+                    continue;
+                }
+                double base = (pos == 0 && target.length() == q.length()) ? 3.0 : (pos == 0 ? 2.0 : 1.0);
+                score = Math.max(score, field.weight() * base + 1.0 / (1 + target.length()));
+            }
+            if (score > 0.0) {
+                scores.put(id, score);
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.<Long>comparingDouble(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+
+        int from = Math.min(Math.max(0, page) * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        return new Hits(List.copyOf(ranked.subList(from, to)), ranked.size());
+    }
+
+    //검색어의 n-gram 에 해당하는 posting 교집합
+    private Set<Long> candidates(String q, boolean initialsOnly) {
+        List<String> required = new ArrayList<>();
+        if (initialsOnly) {
+            grams(INITIAL, q, required);
+        } else {
+            String head = q.substring(0, q.length() - 1);
+            char last = q.charAt(q.length() - 1);
+            grams(TEXT, head, required);
+            if (isInitial(last)) {
+                required.add(INITIAL + last);
+            } else if (isOpenSyllable(last)) {
+                required.add(OPEN + last);
+            } else {
+                required.add(TEXT + last);
+            }
+        }
+
+        Set<Long> result = null;
+        for (String key : required) {
+            Set<Long> ids = postings.get(key);
+            if (ids == null) {
+                return Set.of();
+            }
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty()) {
+                return result;
+            }
+        }
+        return result == null ? Set.of() : result;
+    }
+
+    //마지막 글자만 입력 중인 음절을 허용하는 부분 문자열 검색
+    private static int indexOf(String target, String q) {
+        int last = q.length() - 1;
+        for (int start = 0; start + q.length() <= target.length(); start++) {
+            boolean match = true;
+            for (int i = 0; i < last && match; i++) {
+                match = target.charAt(start + i) == q.charAt(i);
+            }
+            if (match && lastMatches(target.charAt(start + last), q.charAt(last))) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean lastMatches(char t, char q) {
+        if (t == q) {
+            return true;
+        }
+        if (!isSyllable(t)) {
+            return false;
+        }
+        if (isInitial(q)) {
+            return initial(t) == q;
+        }
+        return isOpenSyllable(q) && open(t) == q;
+    }
+
+    private static List<String> keys(Field field) {
+        List<String> keys = new ArrayList<>();
+        String text = field.text();
+        grams(TEXT, text, keys);
+        grams(INITIAL, field.initials(), keys);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSyllable(c)) {
+                keys.add(OPEN + open(c));
+            }
+        }
+        return keys;
+    }
+
+    //1-gram + 2-gram
+    private static void grams(String prefix, String text, List<String> out) {
+        for (int i = 0; i < text.length(); i++) {
+            out.add(prefix + text.charAt(i));
+            if (i + 1 < text.length()) {
+                out.add(prefix + text.substring(i, i + 2));
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    //음절은 초성으로, 그 외 문자는 그대로
+    private static String initials(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            sb.append(isSyllable(c) ? initial(c) : c);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= HANGUL_BASE && c <= HANGUL_LAST;
+    }
+
+    private static boolean isInitial(char c) {
+        return CHOSUNG.indexOf(c) >= 0;
+    }
+
+    private static boolean isOpenSyllable(char c) {
+        return isSyllable(c) && (c - HANGUL_BASE) % 28 == 0;
+    }
+
+    private static char initial(char syllable) {
+        return CHOSUNG.charAt((syllable - HANGUL_BASE) / 588);
+    }
+
+    private static char open(char syllable) {
+        return (char) (HANGUL_BASE + ((syllable - HANGUL_BASE) / 28) * 28);
+    }
+}
@@ -0,0 +1,66 @@
+package com.e105.majoong.farm.service;
+
+import com.e105.majoong.common.model.bookmark.Bookmark;
+import com.e105.majoong.common.model.bookmark.BookmarkRepository;
+import com.e105.majoong.common.model.donationHistory.DonationHistoryRepository;
+import com.e105.majoong.common.model.farm.Farm;
+import com.e105.majoong.common.model.horse.HorseRepository;
+import com.e105.majoong.farm.dto.out.FarmHorseResponseDto;
+import com.e105.majoong.farm.dto.out.FarmListResponseDto;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+/*
+ * 농장 목록 페이지 조립
+ * 농장마다 북마크/말 목록/이번 달 기부금을 따로 조회하지 않고
+ * 페이지 단위로 북마크 1번, 말 1번, 기부금 1번 조회해서 채움
+ */
+@Component
+@RequiredArgsConstructor
+public class FarmListAssembler {
+
+    private final BookmarkRepository bookmarkRepository;
+    private final HorseRepository horseRepository;
+    private final DonationHistoryRepository donationHistoryRepository;
+
+    public Page<FarmListResponseDto> assemble(Page<Farm> farms, String memberUuid, YearMonth yearMonth) {
+        if (farms.isEmpty()) {
+            return farms.map(farm -> null);
+        }
+
+        Set<String> farmUuids = farms.stream()
+                .map(Farm::getFarmUuid)
+                .collect(Collectors.toSet());
+        Set<Long> farmIds = farms.stream()
+                .map(Farm::getId)
+                .collect(Collectors.toSet());
+
+        Set<String> bookmarked = Set.of();
+        if (memberUuid != null && !memberUuid.isBlank()) {
+            bookmarked = bookmarkRepository.findByMemberUuidAndFarmUuidIn(memberUuid, farmUuids).stream()
+                    .map(Bookmark::getFarmUuid)
+                    .collect(Collectors.toSet());
+        }
+
+        //farm은 LAZY 프록시라 getId()만으로는 추가 조회가 발생하지 않음
+        Map<Long, List<FarmHorseResponseDto>> horsesByFarmId = horseRepository.findByFarmIdInAndDeletedAtIsNull(farmIds)
+                .stream()
+                .collect(Collectors.groupingBy(horse -> horse.getFarm().getId(),
+                        Collectors.mapping(FarmHorseResponseDto::toDto, Collectors.toList())));
+
+        Map<String, Long> monthDonation = donationHistoryRepository.getMonthlyDonationByFarmList(farmUuids, yearMonth);
+
+        Set<String> bookmarkedFarms = bookmarked;
+        return farms.map(farm -> FarmListResponseDto.toDto(
+                farm,
+                horsesByFarmId.getOrDefault(farm.getId(), List.of()),
+                monthDonation.getOrDefault(farm.getFarmUuid(), 0L) * 100,
+                bookmarkedFarms.contains(farm.getFarmUuid())));
+    }
+}
@@ -2,15 +2,12 @@ package com.e105.majoong.farm.service;
 
 import com.e105.majoong.common.entity.BaseResponseStatus;
 import com.e105.majoong.common.exception.BaseException;
-import com.e105.majoong.common.model.donationHistory.DonationHistoryRepository;
-import com.e105.majoong.common.model.donationHistory.DonationHistoryRepositoryCustom;
-import com.e105.majoong.common.model.farm.Farm;
-import com.e105.majoong.common.model.farm.FarmRepository;
-import com.e105.majoong.common.model.farmer.Farmer;
-import com.e105.majoong.common.model.farmer.FarmerRepository;
 import com.e105.majoong.farm.dto.out.FarmRecommendResponseDto;
 import com.e105.majoong.farm.dto.out.RecentStateDto;
 import com.e105.majoong.farm.util.FarmCacheUtil;
+import com.e105.majoong.farm.util.FarmCandidateIndex;
+import com.e105.majoong.farm.util.FarmCandidateIndex.Candidate;
+import com.e105.majoong.farm.util.FarmSamplingScript;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -18,13 +15,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor // 30개 이하 - 3, 50개 이하 - 5, 그 이상은 7
 public class FarmRecommendationServiceImpl implements FarmRecommendationService {
@@ -35,41 +35,24 @@ public class FarmRecommendationServiceImpl implements FarmRecommendationService
     private static final double MIN_TRUST_SCORE = 38.2;
 
     private final FarmCacheUtil farmCacheUtil;
-    private final DonationLimitFilterService donationLimitFilterService;
-    private final FarmRepository farmRepository;
-    private final FarmerRepository farmerRepository;
-    private final DonationHistoryRepository donationHistoryRepository;
+    private final FarmCandidateIndex farmCandidateIndex;
+    private final FarmSamplingScript farmSamplingScript;
+
+    @Value("${farm.recommend.redis-sampling:false}")
+    private boolean redisSampling; // true면 Redis Lua 스크립트로 원자적 샘플링, 실패 시 JVM 샘플링으로 대체
 
     @Override
     public List<FarmRecommendResponseDto> recommendFarm(YearMonth yearMonth) {
-        List<Farm> farms = farmRepository.findAll();
-        //후보 농장 리스트
-        List<Farm> filterFarms = donationLimitFilterService.filterByDonationLimit(farms, yearMonth);
-        filterFarms = filterFarms.stream()
-                .filter(farm -> Optional.ofNullable(farm.getTotalScore()).orElse(0.0) >= MIN_TRUST_SCORE)
-                .toList();
-        for (Farm farm: filterFarms) {
-            System.out.println(farm.getFarmName());
+        if (!farmCandidateIndex.isLoaded()) {
+            farmCandidateIndex.reload();
         }
+        //후보 농장 리스트 (이번 달 기부 한도 미달 + 신뢰도 하한 이상)
+        List<Candidate> filterFarms = farmCandidateIndex.findCandidates(yearMonth, MIN_TRUST_SCORE);
         if (filterFarms.isEmpty()) {
             return List.of();
         }
 
-        Set<String> memberUuids = filterFarms.stream()
-                .map(Farm::getMemberUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-
-        Set<String> farmUuids = filterFarms.stream()
-                .map(Farm::getFarmUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-
-        Map<String, Farmer> farmerByMemberUuid = farmerRepository.findByMemberUuidIn(memberUuids).stream()
-                .collect(Collectors.toMap(Farmer::getMemberUuid, farm -> farm));
-        Map<String, Long> monthDonationAmount = donationHistoryRepository.getMonthlyDonationByFarmList(farmUuids, yearMonth);
-
-        long totalFarms = farmRepository.count();
+        long totalFarms = farmCandidateIndex.farmCount();
         int K;
         if (totalFarms <= 30) {
             K = 3;
@@ -82,37 +65,47 @@ public class FarmRecommendationServiceImpl implements FarmRecommendationService
         int target = Math.min(K, filterFarms.size());
 
         long nowMs = System.currentTimeMillis();
+        if (redisSampling) {
+            try {
+                return recommendByScript(yearMonth, filterFarms, target, nowMs);
+            } catch (DataAccessException e) {
+                log.warn("[Recommend] redis sampling failed, fallback to jvm sampling", e);
+            }
+        }
+
         Map<String, Integer> shows = new HashMap<>(filterFarms.size()); //최근 추천횟수
         Map<String, Long> last = new HashMap<>(filterFarms.size()); //마지막 추천 시각
 
-        for (Farm farm : filterFarms) {
-            RecentStateDto dto = farmCacheUtil.getRecentStatus(farm.getFarmUuid())
-                    .orElse(RecentStateDto.toDto(0, 0L));
-            shows.put(farm.getFarmUuid(), dto.getRecentShows());
-            last.put(farm.getFarmUuid(), dto.getLastShownAt());
+        //후보 전체 노출 상태를 Redis 왕복 한 번으로 조회
+        Map<String, RecentStateDto> recentStatus = farmCacheUtil.getRecentStatusBulk(
+                filterFarms.stream().map(Candidate::farmUuid).toList());
+        for (Candidate farm : filterFarms) {
+            RecentStateDto dto = recentStatus.getOrDefault(farm.farmUuid(), RecentStateDto.toDto(0, 0L));
+            shows.put(farm.farmUuid(), dto.getRecentShows());
+            last.put(farm.farmUuid(), dto.getLastShownAt());
         }
 
-        List<Farm> pool = new ArrayList<>(filterFarms);
+        List<Candidate> pool = new ArrayList<>(filterFarms);
         List<FarmRecommendResponseDto> topK = new ArrayList<>(target); //최종 추천될 농장 리스트
 
         //pool이 비어있지않거나 순차적으로 농장을 뽑을 때까지
         for (int k = 0; k < target && !pool.isEmpty(); k++) {
             final long cutoff = nowMs - COOLDOWN_MS;
             //최근 추천된 농장은 일정 시간동안 제외
-            List<Farm> eligible = pool.stream()
-                    .filter(farm -> last.getOrDefault(farm.getFarmUuid(), 0L) <= cutoff)
+            List<Candidate> eligible = pool.stream()
+                    .filter(farm -> last.getOrDefault(farm.farmUuid(), 0L) <= cutoff)
                     .toList();
             if (eligible.isEmpty()) {
                 eligible = pool.stream()
-                        .sorted(Comparator.comparingLong(f -> last.getOrDefault(f.getFarmUuid(), 0L)))
+                        .sorted(Comparator.comparingLong(f -> last.getOrDefault(f.farmUuid(), 0L)))
                         .limit(1)
                         .toList();
             }
 
             double maxLogit = 0.0; // 후보 농장 점수 중 최대값
             boolean maxInit = false;
-            for (Farm farm : eligible) {
-                double score = Optional.ofNullable(farm.getTotalScore()).orElse(0.0);
+            for (Candidate farm : eligible) {
+                double score = farm.trustScore();
                 double logit = score / TAU;
                 if (!maxInit || logit > maxLogit) {
                     maxLogit = logit;
@@ -124,13 +117,13 @@ public class FarmRecommendationServiceImpl implements FarmRecommendationService
             double[] weights = new double[eligible.size()];
             double sum = 0.0;
             for (int i = 0; i < eligible.size(); i++) {
-                Farm farm = eligible.get(i);
-                double score = Optional.ofNullable(farm.getTotalScore()).orElse(0.0);
+                Candidate farm = eligible.get(i);
+                double score = farm.trustScore();
                 double logit = (score / TAU) - maxLogit;
                 double w = Math.exp(logit);
 
                 //최근 추천 횟수
-                int freq = shows.getOrDefault(farm.getFarmUuid(), 0);
+                int freq = shows.getOrDefault(farm.farmUuid(), 0);
                 if (freq > 0) {
                     w *= Math.pow(DECAY, freq);
                 }
@@ -156,23 +149,42 @@ public class FarmRecommendationServiceImpl implements FarmRecommendationService
                     break;
                 }
             }
-            Farm chosenFarm = eligible.get(pick);
-
-            //선택된 농장의 최근 노출 수 1 층가 및 마지막 추천 시간 갱신
-            int updatedShows = farmCacheUtil.updateStatus(chosenFarm.getFarmUuid(), nowMs);
-            shows.put(chosenFarm.getFarmUuid(), updatedShows);
-            last.put(chosenFarm.getFarmUuid(), nowMs);
-            String memberUuid = chosenFarm.getMemberUuid();
-            Farmer farmer = Optional.ofNullable(farmerByMemberUuid.get(memberUuid))
-                    .orElseThrow(() -> new BaseException(BaseResponseStatus.NO_EXIST_FARMER));
+            Candidate chosenFarm = eligible.get(pick);
+
+            //선택된 농장의 최근 노출 수 1 층가 및 마지막 추천 시간 갱신 (Redis 반영은 루프 종료 후 한 번에)
+            shows.merge(chosenFarm.farmUuid(), 1, Integer::sum);
+            last.put(chosenFarm.farmUuid(), nowMs);
+            if (chosenFarm.farmerName() == null) {
+                throw new BaseException(BaseResponseStatus.NO_EXIST_FARMER);
+            }
             //topK 리스트에 추가
-            topK.add(FarmRecommendResponseDto.toDto(chosenFarm, farmer.getName(), monthDonationAmount.get(chosenFarm.getFarmUuid())));
-            String chosenFarmUuid = chosenFarm.getFarmUuid();
+            topK.add(FarmRecommendResponseDto.toDto(chosenFarm));
+            String chosenFarmUuid = chosenFarm.farmUuid();
             //다음 라운드에서 중복 추천되지 않도록 후보군에서 제거
-            pool.removeIf(farm -> Objects.equals(farm.getFarmUuid(), chosenFarmUuid));
+            pool.removeIf(farm -> Objects.equals(farm.farmUuid(), chosenFarmUuid));
 
         }
 
+        farmCacheUtil.updateStatusBulk(topK.stream().map(FarmRecommendResponseDto::getFarmUuid).toList(), nowMs);
+
+        return topK;
+    }
+
+    private List<FarmRecommendResponseDto> recommendByScript(
+            YearMonth yearMonth, List<Candidate> candidates, int target, long nowMs) {
+        Map<String, Candidate> byFarmUuid = candidates.stream()
+                .collect(Collectors.toMap(Candidate::farmUuid, Function.identity(), (a, b) -> a));
+        List<String> picked = farmSamplingScript.sample(
+                yearMonth, candidates, target, nowMs, COOLDOWN_MS, TAU, DECAY, MIN_WEIGHT);
+
+        List<FarmRecommendResponseDto> topK = new ArrayList<>(picked.size());
+        for (String farmUuid : picked) {
+            Candidate chosenFarm = byFarmUuid.get(farmUuid);
+            if (chosenFarm.farmerName() == null) {
+                throw new BaseException(BaseResponseStatus.NO_EXIST_FARMER);
+            }
+            topK.add(FarmRecommendResponseDto.toDto(chosenFarm));
+        }
         return topK;
     }
 }
@@ -7,15 +7,22 @@ import com.e105.majoong.common.exception.BaseException;
 import com.e105.majoong.common.model.farm.FarmRepository;
 import com.e105.majoong.common.model.horse.HorseRepository;
 import com.e105.majoong.farm.dto.out.*;
+import com.e105.majoong.farm.search.FarmSearchIndex;
+import com.e105.majoong.farm.search.NgramIndex.Hits;
 import com.e105.majoong.common.model.bookmark.BookmarkRepository;
 import com.e105.majoong.common.model.myScore.MyScoreRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +34,8 @@ public class FarmServiceImpl implements FarmService {
     private final HorseRepository horseRepository;
     private final MyScoreRepository myScoreRepository;
     private final DonationHistoryRepository donationHistoryRepository;
+    private final FarmListAssembler farmListAssembler;
+    private final FarmSearchIndex farmSearchIndex;
 
     @Override
     public Page<FarmListResponseDto> searchFarms(String farmName, int page, int size, String memberUuid) {
@@ -34,30 +43,21 @@ public class FarmServiceImpl implements FarmService {
 
         if (farmName == null || farmName.isBlank()) {
             farms = farmRepository.findAll(PageRequest.of(page, size));
+        } else if (farmSearchIndex.isLoaded()) {
+            //n-gram 색인에서 순위/페이지를 정한 뒤 해당 id만 조회
+            Hits hits = farmSearchIndex.searchFarms(farmName, page, size);
+            Map<Long, Farm> byId = (hits.ids().isEmpty() ? List.<Farm>of() : farmRepository.findAllById(hits.ids())).stream()
+                    .collect(Collectors.toMap(Farm::getId, Function.identity()));
+            List<Farm> content = hits.ids().stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            farms = new PageImpl<>(content, PageRequest.of(page, size), hits.total());
         } else {
             farms = farmRepository.findByFarmNameContaining(farmName, PageRequest.of(page, size));
         }
 
-        LocalDate now = LocalDate.now();
-
-        return farms.map(farm -> {
-            boolean isBookmark = false;
-            if (memberUuid != null && !memberUuid.isBlank()) {
-                isBookmark = bookmarkRepository.existsByMemberUuidAndFarmUuid(memberUuid, farm.getFarmUuid());
-            }
-
-            List<FarmHorseResponseDto> horseList = horseRepository.findByFarmAndDeletedAtIsNull(farm).stream()
-                    .map(FarmHorseResponseDto::toDto)
-                    .collect(Collectors.toList());
-
-            long monthTotalAmount = donationHistoryRepository.getMonthlyTotalDonation(
-                    farm.getFarmUuid(),
-                    now.getYear(),
-                    now.getMonthValue()
-            ) * 100;
-
-            return FarmListResponseDto.toDto(farm, horseList, monthTotalAmount, isBookmark);
-        });
+        return farmListAssembler.assemble(farms, memberUuid, YearMonth.now());
     }
 
     @Override
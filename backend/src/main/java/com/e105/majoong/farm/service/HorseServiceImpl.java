@@ -10,8 +10,11 @@ import com.e105.majoong.farm.dto.out.HorseDetailResponseDto;
 import com.e105.majoong.farm.dto.out.HorseSearchResponseDto;
 import com.e105.majoong.farm.dto.out.HorseWeeklyReportDetailResponseDto;
 import com.e105.majoong.farm.dto.out.HorseWeeklyReportDto;
+import com.e105.majoong.farm.search.FarmSearchIndex;
+import com.e105.majoong.farm.search.NgramIndex.Hits;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
@@ -19,6 +22,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +33,7 @@ public class HorseServiceImpl implements HorseService {
 
     private final HorseRepository horseRepository;
     private final HorseStateRepository horseStateRepository;
+    private final FarmSearchIndex farmSearchIndex;
 
     @Override
     public Page<HorseSearchResponseDto> searchHorses(String horseName, int page, int size) {
@@ -34,6 +41,16 @@ public class HorseServiceImpl implements HorseService {
 
         if (horseName == null || horseName.isBlank()) {
             horses = horseRepository.findByDeletedAtIsNull(PageRequest.of(page, size));
+        } else if (farmSearchIndex.isLoaded()) {
+            //n-gram 색인에서 순위/페이지를 정한 뒤 농장까지 fetch join으로 조회
+            Hits hits = farmSearchIndex.searchHorses(horseName, page, size);
+            Map<Long, Horse> byId = (hits.ids().isEmpty() ? List.<Horse>of() : horseRepository.findWithFarmByIdIn(hits.ids())).stream()
+                    .collect(Collectors.toMap(Horse::getId, Function.identity()));
+            List<Horse> content = hits.ids().stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            horses = new PageImpl<>(content, PageRequest.of(page, size), hits.total());
         } else {
             horses = horseRepository.findByHorseNameContainingAndDeletedAtIsNull(horseName, PageRequest.of(page, size));
         }
@@ -60,7 +77,7 @@ public class HorseServiceImpl implements HorseService {
         List<HorseWeeklyReportDto> weeklyReports = reports.stream()
                 .map(r -> HorseWeeklyReportDto.builder()
                         .horseReportId(r.getId())
-                        .frontImageUrl(r.getFrontImage())
+                        .frontImageUrl(r.getFrontThumbnail() != null ? r.getFrontThumbnail() : r.getFrontImage())
                         .month(r.getUploadedAt().getMonthValue())
                         .week((r.getUploadedAt().getDayOfMonth() - 1) / 7 + 1) // 주차 계산 (1일부터 시작)
                         .aiSummary(r.getAiSummary())
@@ -3,7 +3,11 @@ package com.e105.majoong.farm.util;
 import com.e105.majoong.farm.dto.out.RecentStateDto;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisCallback;
@@ -20,7 +24,7 @@ public class FarmCacheUtil {
     private static final String PREFIX = "farm";
     private static final String SUFFIX = "exposure";
 
-    private String farmKey(String farmUuid) {
+    static String farmKey(String farmUuid) {
         return "%s:%s:%s".formatted(PREFIX, farmUuid, SUFFIX);
     }
 
@@ -57,6 +61,40 @@ public class FarmCacheUtil {
         }
     }
 
+    /*
+      여러 농장의 노출 상태를 파이프라인 한 번으로 조회
+      키가 없거나 값이 깨진 농장은 결과 Map에서 제외
+     */
+    public Map<String, RecentStateDto> getRecentStatusBulk(Collection<String> farmUuids) {
+        List<String> uuids = new ArrayList<>(farmUuids);
+        Map<String, RecentStateDto> result = new HashMap<>(uuids.size());
+        if (uuids.isEmpty()) {
+            return result;
+        }
+        List<Object> list = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] recent = F_RECENT.getBytes(StandardCharsets.UTF_8);
+            byte[] last = F_LAST.getBytes(StandardCharsets.UTF_8);
+            for (String farmUuid : uuids) {
+                connection.hMGet(farmKey(farmUuid).getBytes(StandardCharsets.UTF_8), recent, last);
+            }
+            return null;
+        });
+        for (int i = 0; i < uuids.size(); i++) {
+            if (!(list.get(i) instanceof List<?> values) || values.size() < 2
+                    || values.get(0) == null || values.get(1) == null) {
+                continue;
+            }
+            try {
+                int shows = Integer.parseInt(values.get(0).toString());
+                long last = Long.parseLong(values.get(1).toString());
+                result.put(uuids.get(i), RecentStateDto.toDto(shows, last));
+            } catch (NumberFormatException e) {
+                // 값이 깨진 농장은 노출 이력이 없는 것으로 취급
+            }
+        }
+        return result;
+    }
+
     public int updateStatus(String farmUuid, long ms) {
         String key = farmKey(farmUuid);
         /*
@@ -88,4 +126,33 @@ public class FarmCacheUtil {
         }
     }
 
+    /*
+      추천된 농장들의 노출 수 증가 + 마지막 추천 시각 갱신을 파이프라인 한 번으로 처리
+      반환값: 농장별 갱신 후 recentShows
+     */
+    public Map<String, Integer> updateStatusBulk(Collection<String> farmUuids, long ms) {
+        List<String> uuids = new ArrayList<>(farmUuids);
+        Map<String, Integer> result = new HashMap<>(uuids.size());
+        if (uuids.isEmpty()) {
+            return result;
+        }
+        List<Object> list = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] recent = F_RECENT.getBytes(StandardCharsets.UTF_8);
+            byte[] last = F_LAST.getBytes(StandardCharsets.UTF_8);
+            byte[] lastValue = Long.toString(ms).getBytes(StandardCharsets.UTF_8);
+            for (String farmUuid : uuids) {
+                byte[] keyByte = farmKey(farmUuid).getBytes(StandardCharsets.UTF_8);
+                connection.hIncrBy(keyByte, recent, 1);
+                connection.hSet(keyByte, last, lastValue);
+                connection.pExpire(keyByte, WINDOW_TTL.toMillis());
+            }
+            return null;
+        });
+        //농장마다 명령 3개(hIncrBy, hSet, pExpire) 중 첫 번째 결과가 증가된 노출 수
+        for (int i = 0; i < uuids.size(); i++) {
+            Number number = (Number) list.get(i * 3);
+            result.put(uuids.get(i), number.intValue());
+        }
+        return result;
+    }
 }
@@ -0,0 +1,309 @@
+package com.e105.majoong.farm.util;
+
+import com.e105.majoong.common.model.donationHistory.DonationHistoryRepository;
+import com.e105.majoong.common.model.farm.Farm;
+import com.e105.majoong.common.model.farm.FarmRepository;
+import com.e105.majoong.common.model.farmer.Farmer;
+import com.e105.majoong.common.model.farmer.FarmerRepository;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * 추천 후보 농장 인메모리 인덱스
+ * 추천 API가 매 요청마다 farm / farmer / donation_history 를 조회하지 않도록
+ * 농장별 추천에 필요한 값만 배열(slot) 단위로 들고 있음
+ * - 기부 발생, 신뢰도 배치, 농장 생성/정보 변경, 말 수 변경 시 해당 slot만 갱신
+ * - 주기적으로 DB 기준 전체 재적재해서 누락된 갱신 보정
+ *   재적재는 DB 조회를 잠금 밖에서 하므로, 그 사이 들어온 갱신은 journal 에 모았다가 새 값 위에 다시 적용
+ *   (조회 직전에 커밋된 기부는 두 번 더해질 수 있으나 다음 재적재에서 보정)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FarmCandidateIndex {
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long DONATION_LIMIT_PER_HORSE = 1_000_000L; //말 한 마리당 월 기부 한도(원)
+    private static final long KRW_PER_TOKEN = 100L;
+
+    private final FarmRepository farmRepository;
+    private final FarmerRepository farmerRepository;
+    private final DonationHistoryRepository donationHistoryRepository;
+
+    private final Map<String, Integer> slotByFarmUuid = new HashMap<>();
+    private String[] farmUuids = new String[INITIAL_CAPACITY];
+    private double[] trustScores = new double[INITIAL_CAPACITY];
+    private int[] horseCounts = new int[INITIAL_CAPACITY];
+    private long[] monthTokens = new long[INITIAL_CAPACITY]; //이번 달 누적 기부 토큰
+    private String[] farmerNames = new String[INITIAL_CAPACITY];
+    private String[] farmNames = new String[INITIAL_CAPACITY];
+    private String[] profileImages = new String[INITIAL_CAPACITY];
+    private String[] addresses = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private int size;
+    private YearMonth month;
+    private volatile boolean loaded;
+    private List<Runnable> journal; //재적재 중 들어온 갱신 (null 이면 재적재 중 아님)
+    private final Object reloadLock = new Object();
+
+    /*
+     * 추천 한 번에 필요한 후보 농장 정보
+     */
+    public record Candidate(String farmUuid, double trustScore, int horseCount, long monthToken,
+                            String farmerName, String farmName, String profileImage,
+                            String address, String description) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reload();
+    }
+
+    @Scheduled(fixedDelay = 10 * 60 * 1000L, initialDelay = 10 * 60 * 1000L)
+    public void scheduledReload() {
+        reload();
+    }
+
+    /*
+     * DB 기준 전체 재적재
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                journal = new ArrayList<>();
+            }
+            try {
+                reloadFromDb();
+            } finally {
+                synchronized (this) {
+                    journal = null;
+                }
+            }
+        }
+    }
+
+    private void reloadFromDb() {
+        YearMonth now = YearMonth.now(KST);
+        List<Farm> farms = farmRepository.findAll();
+        Set<String> memberUuids = farms.stream()
+                .map(Farm::getMemberUuid)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> uuids = farms.stream()
+                .map(Farm::getFarmUuid)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> farmerNameByMemberUuid = farmerRepository.findByMemberUuidIn(memberUuids).stream()
+                .filter(farmer -> farmer.getName() != null)
+                .collect(Collectors.toMap(Farmer::getMemberUuid, Farmer::getName, (a, b) -> a));
+        Map<String, Long> monthDonation = uuids.isEmpty()
+                ? Map.of()
+                : donationHistoryRepository.getMonthlyDonationByFarmList(uuids, now);
+
+        synchronized (this) {
+            clear();
+            month = now;
+            for (Farm farm : farms) {
+                if (farm.getFarmUuid() == null) {
+                    continue;
+                }
+                int slot = put(farm, farmerNameByMemberUuid.get(farm.getMemberUuid()));
+                monthTokens[slot] = monthDonation.getOrDefault(farm.getFarmUuid(), 0L);
+            }
+            //조회 이후 들어온 갱신 다시 적용 (journal 을 먼저 비워 재기록되지 않게 함)
+            List<Runnable> replay = journal;
+            journal = null;
+            replay.forEach(Runnable::run);
+            loaded = true;
+            log.info("[FarmCandidateIndex] reloaded {} farms for {} ({} updates replayed)", farms.size(), now, replay.size());
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /*
+     * 신규 농장 등록
+     */
+    public synchronized void addFarm(Farm farm, String farmerName) {
+        if (journal != null) {
+            journal.add(() -> addFarm(farm, farmerName));
+        }
+        if (!loaded || farm.getFarmUuid() == null) {
+            return;
+        }
+        put(farm, farmerName);
+    }
+
+    /*
+     * 기부 발생 시 이번 달 누적 토큰 증가
+     */
+    public synchronized void addDonation(String farmUuid, long tokenCount) {
+        if (journal != null) {
+            journal.add(() -> addDonation(farmUuid, tokenCount));
+        }
+        Integer slot = slotByFarmUuid.get(farmUuid);
+        if (slot == null) {
+            return;
+        }
+        rollMonthIfNeeded();
+        monthTokens[slot] += tokenCount;
+    }
+
+    /*
+     * 민팅 실패로 취소된 기부 차감 (이번 달 기부인 경우만)
+     */
+    public synchronized void removeDonation(String farmUuid, long tokenCount, YearMonth donatedMonth) {
+        if (journal != null) {
+            journal.add(() -> removeDonation(farmUuid, tokenCount, donatedMonth));
+        }
+        Integer slot = slotByFarmUuid.get(farmUuid);
+        if (slot == null) {
+            return;
+        }
+        rollMonthIfNeeded();
+        if (donatedMonth.equals(month)) {
+            monthTokens[slot] = Math.max(0L, monthTokens[slot] - tokenCount);
+        }
+    }
+
+    /*
+     * 신뢰도 배치 결과 반영
+     */
+    public synchronized void updateTrustScore(String farmUuid, Double trustScore) {
+        if (journal != null) {
+            journal.add(() -> updateTrustScore(farmUuid, trustScore));
+        }
+        Integer slot = slotByFarmUuid.get(farmUuid);
+        if (slot == null) {
+            return;
+        }
+        trustScores[slot] = Optional.ofNullable(trustScore).orElse(0.0);
+    }
+
+    /*
+     * 말 등록/삭제 시 말 수 반영 (기부 한도 = 말 수 × 100만)
+     */
+    public synchronized void addHorseCount(String farmUuid, int delta) {
+        if (journal != null) {
+            journal.add(() -> addHorseCount(farmUuid, delta));
+        }
+        Integer slot = slotByFarmUuid.get(farmUuid);
+        if (slot == null) {
+            return;
+        }
+        horseCounts[slot] = Math.max(0, horseCounts[slot] + delta);
+    }
+
+    /*
+     * 농장 이름/사진/소개 변경 반영 (추천 카드 표시 값)
+     */
+    public synchronized void updateFarmInfo(String farmUuid, String farmName, String profileImage, String description) {
+        if (journal != null) {
+            journal.add(() -> updateFarmInfo(farmUuid, farmName, profileImage, description));
+        }
+        Integer slot = slotByFarmUuid.get(farmUuid);
+        if (slot == null) {
+            return;
+        }
+        farmNames[slot] = farmName;
+        profileImages[slot] = profileImage;
+        descriptions[slot] = description;
+    }
+
+    public synchronized int farmCount() {
+        return size;
+    }
+
+    /*
+     * 신뢰도 하한 이상이고 이번 달 기부 한도가 남은 농장만 반환
+     */
+    public synchronized List<Candidate> findCandidates(YearMonth yearMonth, double minTrustScore) {
+        rollMonthIfNeeded();
+        boolean sameMonth = yearMonth.equals(month);
+        List<Candidate> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            long tokens = sameMonth ? monthTokens[i] : 0L;
+            if (tokens * KRW_PER_TOKEN >= horseCounts[i] * DONATION_LIMIT_PER_HORSE) {
+                continue;
+            }
+            if (trustScores[i] < minTrustScore) {
+                continue;
+            }
+            result.add(new Candidate(farmUuids[i], trustScores[i], horseCounts[i], tokens,
+                    farmerNames[i], farmNames[i], profileImages[i], addresses[i], descriptions[i]));
+        }
+        return result;
+    }
+
+    //달이 바뀌면 이번 달 누적 기부 초기화
+    private void rollMonthIfNeeded() {
+        YearMonth now = YearMonth.now(KST);
+        if (month != null && !month.equals(now)) {
+            Arrays.fill(monthTokens, 0, size, 0L);
+            month = now;
+        }
+    }
+
+    private int put(Farm farm, String farmerName) {
+        Integer slot = slotByFarmUuid.get(farm.getFarmUuid());
+        if (slot == null) {
+            ensureCapacity(size + 1);
+            slot = size++;
+            slotByFarmUuid.put(farm.getFarmUuid(), slot);
+            monthTokens[slot] = 0L;
+        }
+        farmUuids[slot] = farm.getFarmUuid();
+        trustScores[slot] = Optional.ofNullable(farm.getTotalScore()).orElse(0.0);
+        horseCounts[slot] = Optional.ofNullable(farm.getHorseCount()).orElse(0);
+        farmerNames[slot] = farmerName;
+        farmNames[slot] = farm.getFarmName();
+        profileImages[slot] = farm.getProfileImage();
+        addresses[slot] = farm.getAddress();
+        descriptions[slot] = farm.getDescription();
+        return slot;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= farmUuids.length) {
+            return;
+        }
+        int capacity = Math.max(required, farmUuids.length * 2);
+        farmUuids = Arrays.copyOf(farmUuids, capacity);
+        trustScores = Arrays.copyOf(trustScores, capacity);
+        horseCounts = Arrays.copyOf(horseCounts, capacity);
+        monthTokens = Arrays.copyOf(monthTokens, capacity);
+        farmerNames = Arrays.copyOf(farmerNames, capacity);
+        farmNames = Arrays.copyOf(farmNames, capacity);
+        profileImages = Arrays.copyOf(profileImages, capacity);
+        addresses = Arrays.copyOf(addresses, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    private void clear() {
+        slotByFarmUuid.clear();
+        Arrays.fill(farmUuids, 0, size, null);
+        Arrays.fill(farmerNames, 0, size, null);
+        Arrays.fill(farmNames, 0, size, null);
+        Arrays.fill(profileImages, 0, size, null);
+        Arrays.fill(addresses, 0, size, null);
+        Arrays.fill(descriptions, 0, size, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.e105.majoong.farm.util;
+
+import com.e105.majoong.farm.util.FarmCandidateIndex.Candidate;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/*
+ * 추천 샘플링을 Redis Lua 스크립트 한 번으로 처리
+ * 쿨다운 필터링 -> softmax/decay 가중치 -> 비복원 추출 -> 노출 수 증가를 원자적으로 수행해서
+ * 동시 요청이 같은 농장을 중복으로 뽑고 노출 수를 올리는 경쟁을 없앰
+ * 점수는 배치가 관리하는 candidate:YYYY-MM ZSET 값을 우선 사용하고, 없으면 인자로 넘긴 점수 사용
+ * KEYS[1]: candidate ZSET, KEYS[2..]: 후보 순서대로 farm:{uuid}:exposure 키
+ * (스크립트가 만지는 키를 모두 KEYS 로 넘겨야 Redis Cluster / 키 검사에서도 동작)
+ */
+@Component
+@RequiredArgsConstructor
+public class FarmSamplingScript {
+    private static final Duration WINDOW_TTL = Duration.ofHours(48); // FarmCacheUtil과 동일한 슬라이딩 윈도우
+
+    private static final RedisScript<List> SAMPLE_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local cutoff = now - tonumber(ARGV[2])
+            local tau = tonumber(ARGV[3])
+            local decay = tonumber(ARGV[4])
+            local minWeight = tonumber(ARGV[5])
+            local k = tonumber(ARGV[6])
+            local ttl = tonumber(ARGV[7])
+            math.randomseed(tonumber(ARGV[8]))
+
+            local pool = {}
+            local keyIdx = 1
+            for i = 9, #ARGV, 2 do
+              keyIdx = keyIdx + 1
+              local uuid = ARGV[i]
+              local score = tonumber(redis.call('ZSCORE', KEYS[1], uuid) or ARGV[i + 1]) or 0
+              local key = KEYS[keyIdx]
+              local state = redis.call('HMGET', key, 'recentShows', 'lastShownAtMs')
+              pool[#pool + 1] = { uuid = uuid, key = key, score = score,
+                                  shows = tonumber(state[1]) or 0, last = tonumber(state[2]) or 0 }
+            end
+
+            local picked = {}
+            while #picked < k and #pool > 0 do
+              local eligible = {}
+              for idx, c in ipairs(pool) do
+                if c.last <= cutoff then
+                  eligible[#eligible + 1] = idx
+                end
+              end
+              if #eligible == 0 then
+                local oldest = 1
+                for idx, c in ipairs(pool) do
+                  if c.last < pool[oldest].last then
+                    oldest = idx
+                  end
+                end
+                eligible[1] = oldest
+              end
+
+              local maxLogit = nil
+              for _, idx in ipairs(eligible) do
+                local logit = pool[idx].score / tau
+                if maxLogit == nil or logit > maxLogit then
+                  maxLogit = logit
+                end
+              end
+
+              local weights = {}
+              local sum = 0
+              for j, idx in ipairs(eligible) do
+                local c = pool[idx]
+                local w = math.exp(c.score / tau - maxLogit)
+                if c.shows > 0 then
+                  w = w * (decay ^ c.shows)
+                end
+                if w < minWeight then
+                  w = minWeight
+                end
+                weights[j] = w
+                sum = sum + w
+              end
+              if sum <= 0 then
+                break
+              end
+
+              local r = math.random() * sum
+              local pick = #eligible
+              for j = 1, #eligible do
+                r = r - weights[j]
+                if r <= 0 then
+                  pick = j
+                  break
+                end
+              end
+
+              local chosenIdx = eligible[pick]
+              local chosen = pool[chosenIdx]
+              redis.call('HINCRBY', chosen.key, 'recentShows', 1)
+              redis.call('HSET', chosen.key, 'lastShownAtMs', ARGV[1])
+              redis.call('PEXPIRE', chosen.key, ttl)
+              picked[#picked + 1] = chosen.uuid
+              table.remove(pool, chosenIdx)
+            end
+            return picked
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /*
+     * 후보 중 k개를 뽑아 농장 uuid를 추천 순서대로 반환
+     */
+    public List<String> sample(YearMonth yearMonth, List<Candidate> candidates, int k, long nowMs,
+                               long cooldownMs, double tau, double decay, double minWeight) {
+        String candidateKey = String.format("candidate:%d-%02d", yearMonth.getYear(), yearMonth.getMonthValue());
+        List<String> keys = new ArrayList<>(1 + candidates.size());
+        keys.add(candidateKey);
+        List<String> args = new ArrayList<>(8 + candidates.size() * 2);
+        args.add(Long.toString(nowMs));
+        args.add(Long.toString(cooldownMs));
+        args.add(Double.toString(tau));
+        args.add(Double.toString(decay));
+        args.add(Double.toString(minWeight));
+        args.add(Integer.toString(k));
+        args.add(Long.toString(WINDOW_TTL.toMillis()));
+        args.add(Integer.toString(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE)));
+        for (Candidate candidate : candidates) {
+            keys.add(FarmCacheUtil.farmKey(candidate.farmUuid()));
+            args.add(candidate.farmUuid());
+            args.add(Double.toString(candidate.trustScore()));
+        }
+
+        List<?> picked = stringRedisTemplate.execute(SAMPLE_SCRIPT, keys, args.toArray());
+        if (picked == null) {
+            return List.of();
+        }
+        return picked.stream().map(Object::toString).toList();
+    }
+}
@@ -0,0 +1,27 @@
+package com.e105.majoong.finance.service;
+
+import lombok.Getter;
+
+/*
+ * FinAPI 오류 응답 (HTTP 4xx/5xx)
+ * responseCode: 응답 본문의 FinAPI 오류 코드 (본문이 JSON 이 아니면 null)
+ * 메시지는 기존과 같은 "<API 이름> API error: <body>" 형식
+ */
+@Getter
+public class FinApiException extends RuntimeException {
+
+    private final int httpStatus;
+    private final String responseCode;
+    private final String body;
+
+    public FinApiException(String apiName, int httpStatus, String responseCode, String body) {
+        super(apiName + " API error: " + body);
+        this.httpStatus = httpStatus;
+        this.responseCode = responseCode;
+        this.body = body;
+    }
+
+    public boolean isClientError() {
+        return httpStatus >= 400 && httpStatus < 500;
+    }
+}
@@ -5,13 +5,19 @@ import com.e105.majoong.finance.dto.out.FinMemberResponseDto;
 import com.e105.majoong.mypage.dto.out.AccountHistoryResponseDto;
 import com.e105.majoong.receipt.dto.in.WithdrawRequestDto;
 import com.e105.majoong.receipt.dto.out.WithdrawResponseDto;
+import reactor.core.publisher.Mono;
 
+/*
+ * FinAPI 호출은 모두 Mono 로 반환 (요청 스레드를 응답 대기 동안 붙잡지 않음)
+ * 오류 응답은 "<API 이름> API error: <body>" 메시지의 RuntimeException 으로 전달
+ * (withdraw 는 HTTP 상태 / FinAPI 오류 코드를 담은 FinApiException)
+ */
 public interface FinApiService {
-    FinMemberResponseDto registerMember(String email);
+    Mono<FinMemberResponseDto> registerMember(String email);
 
-    CreateAccountResponseDto createDemandDepositAccount(String userKey);
+    Mono<CreateAccountResponseDto> createDemandDepositAccount(String userKey);
 
-    WithdrawResponseDto withdraw(String memberUuid, WithdrawRequestDto requestDto);
+    Mono<WithdrawResponseDto> withdraw(String memberUuid, WithdrawRequestDto requestDto);
 
-    AccountHistoryResponseDto inquireTransactionHistoryList(String memberUuid);
+    Mono<AccountHistoryResponseDto> inquireTransactionHistoryList(String memberUuid);
 }
@@ -11,6 +11,7 @@ import com.e105.majoong.mypage.dto.out.AccountHistoryResponseDto;
 import com.e105.majoong.mypage.dto.out.TransactionHistoryResponse;
 import com.e105.majoong.receipt.dto.in.WithdrawRequestDto;
 import com.e105.majoong.receipt.dto.out.WithdrawResponseDto;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -19,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -33,6 +35,7 @@ public class FinApiServiceImpl implements FinApiService {
     private final WebClient webClient;
     private final WebClient finWebClient;
     private final FarmerRepository farmerRepository;
+    private final ObjectMapper mapper;
 
     @Value("${finapi.base-url}")
     private String baseUrl;
@@ -57,10 +60,12 @@ public class FinApiServiceImpl implements FinApiService {
         this.webClient = webClient;
         this.finWebClient = finWebClient;
         this.farmerRepository = farmerRepository;
+        this.mapper = mapper;
     }
 
 
-    public FinMemberResponseDto registerMember(String email) {
+    @Override
+    public Mono<FinMemberResponseDto> registerMember(String email) {
         Map<String, Object> req = Map.of(
                 "apiKey", apiKey,
                 "userId", email
@@ -79,12 +84,11 @@ public class FinApiServiceImpl implements FinApiService {
                                 });
                     }
                     return response.bodyToMono(FinMemberResponseDto.class);
-                })
-                .block();
-
+                });
     }
 
-    public CreateAccountResponseDto createDemandDepositAccount(String userKey) {
+    @Override
+    public Mono<CreateAccountResponseDto> createDemandDepositAccount(String userKey) {
         String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
         String nowTime = LocalTime.now().format(DateTimeFormatter.ofPattern("HHmmss"));
         String uniqueNo = today + nowTime + String.format("%06d", (int)(Math.random() * 1000000));
@@ -119,17 +123,22 @@ public class FinApiServiceImpl implements FinApiService {
                                 });
                     }
                     return response.bodyToMono(CreateAccountResponseDto.class);
-                })
-                .block();
+                });
+    }
+
+    @Override
+    public Mono<WithdrawResponseDto> withdraw(String memberUuid, WithdrawRequestDto dto) {
+        return findFarmer(memberUuid, BaseResponseStatus.NO_EXIST_FARM)
+                .flatMap(farmer -> requestWithdraw(farmer, dto));
     }
 
-    public WithdrawResponseDto withdraw(String memberUuid, WithdrawRequestDto dto) {
+    private Mono<WithdrawResponseDto> requestWithdraw(Farmer farmer, WithdrawRequestDto dto) {
         String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
         String nowTime = LocalTime.now().format(DateTimeFormatter.ofPattern("HHmmss"));
-        String uniqueNo = today + nowTime + String.format("%06d", (int)(Math.random() * 1000000));
-
-        Farmer farmer = farmerRepository.findByMemberUuid(memberUuid)
-                .orElseThrow(() -> new BaseException(BaseResponseStatus.NO_EXIST_FARM));
+        // 호출 측이 고정 번호를 주면 재시도해도 같은 거래로 전달 (FinAPI 가 중복 거래를 거절)
+        String uniqueNo = dto.getInstitutionTransactionUniqueNo() != null
+                ? dto.getInstitutionTransactionUniqueNo()
+                : today + nowTime + String.format("%06d", (int)(Math.random() * 1000000));
 
         String withdrawalAccountNo = farmer.getAccountNo();
         log.info("withdrawalAccountNo={}", withdrawalAccountNo);
@@ -164,25 +173,28 @@ public class FinApiServiceImpl implements FinApiService {
                         return response.bodyToMono(String.class)
                                 .flatMap(body -> {
                                     log.error("Withdraw failed: status={}, body={}", response.statusCode(), body);
-                                    return Mono.error(new RuntimeException("Withdraw API error: " + body));
+                                    return Mono.error(new FinApiException("Withdraw",
+                                            response.statusCode().value(), responseCode(body), body));
                                 });
                     }
 
                     return response.bodyToMono(Map.class)
                             .map(WithdrawResponseDto::from);
-                })
-                .block();
+                });
+    }
+
+    @Override
+    public Mono<AccountHistoryResponseDto> inquireTransactionHistoryList(String memberUuid) {
+        return findFarmer(memberUuid, BaseResponseStatus.NO_ACCESS_AUTHORITY)
+                .flatMap(this::requestTransactionHistory);
     }
 
-    public AccountHistoryResponseDto inquireTransactionHistoryList(String memberUuid) {
+    private Mono<AccountHistoryResponseDto> requestTransactionHistory(Farmer farmer) {
         String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
         String fiveYearsAgo = LocalDate.now().minusYears(5).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
         String nowTime = LocalTime.now().format(DateTimeFormatter.ofPattern("HHmmss"));
         String uniqueNo = today + nowTime + String.format("%06d", (int)(Math.random() * 1000000));
 
-        Farmer farmer = farmerRepository.findByMemberUuid(memberUuid)
-                .orElseThrow(() -> new BaseException(BaseResponseStatus.NO_ACCESS_AUTHORITY));
-
         String accountNo = farmer.getAccountNo();
         log.info("inquireTransactionHistoryList: accountNo={}", accountNo);
 
@@ -207,7 +219,7 @@ public class FinApiServiceImpl implements FinApiService {
                 "orderByType", "ASC"
         );
 
-        TransactionHistoryResponse response = webClient.post()
+        return webClient.post()
                 .uri(baseUrl + "/edu/demandDeposit/inquireTransactionHistoryList")
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(req)
@@ -222,12 +234,12 @@ public class FinApiServiceImpl implements FinApiService {
                     }
                     return res.bodyToMono(TransactionHistoryResponse.class);
                 })
-                .block();
-
-        if (response == null || response.getREC() == null) {
-            throw new BaseException(BaseResponseStatus.NO_EXIST_MY_ACCOUNT_TRANSACTION);
-        }
+                .filter(response -> response.getREC() != null)
+                .switchIfEmpty(Mono.error(new BaseException(BaseResponseStatus.NO_EXIST_MY_ACCOUNT_TRANSACTION)))
+                .map(this::toAccountHistory);
+    }
 
+    private AccountHistoryResponseDto toAccountHistory(TransactionHistoryResponse response) {
         List<TransactionHistoryResponse.Transaction> txList = response.getREC().getList();
 
         List<AccountHistoryResponseDto.TransactionDto> transactions = txList.stream()
@@ -245,4 +257,22 @@ public class FinApiServiceImpl implements FinApiService {
         return new AccountHistoryResponseDto(latestBalance, transactions);
     }
 
+    //오류 본문의 FinAPI 코드 (최상위 또는 Header 아래 responseCode)
+    private String responseCode(String body) {
+        try {
+            JsonNode root = mapper.readTree(body);
+            JsonNode code = root.hasNonNull("responseCode") ? root.get("responseCode") : root.path("Header").get("responseCode");
+            return code == null || code.isNull() ? null : code.asText();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    //farmer 조회는 JPA(블로킹)이므로 boundedElastic 에서
+    private Mono<Farmer> findFarmer(String memberUuid, BaseResponseStatus notFound) {
+        return Mono.fromCallable(() -> farmerRepository.findByMemberUuid(memberUuid)
+                        .orElseThrow(() -> new BaseException(notFound)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
 }
\ No newline at end of file
@@ -16,7 +16,7 @@ public class ReportHorseStatusDto {
 
     public HorseState toEntity(String farmUuid, String memberUuid, String horseNumber,
                                String frontImage, String leftSideImage, String rightSideImage, String stableImage,
-                               String aiSummary) {
+                               String frontThumbnail, String aiSummary) {
         return HorseState.builder()
                 .farmUuid(farmUuid)
                 .memberUuid(memberUuid)
@@ -25,6 +25,7 @@ public class ReportHorseStatusDto {
                 .leftSideImage(leftSideImage)
                 .rightSideImage(rightSideImage)
                 .stableImage(stableImage)
+                .frontThumbnail(frontThumbnail)
                 .content(content)
                 .aiSummary(aiSummary)
                 .build();
@@ -1,5 +1,7 @@
 package com.e105.majoong.manageFarm.service;
 
+import com.e105.majoong.ai.HorseAnalysisCache;
+import com.e105.majoong.ai.HorseImage;
 import com.e105.majoong.ai.OpenAIService;
 import com.e105.majoong.common.model.farm.Farm;
 import com.e105.majoong.common.model.farmVault.FarmVault;
@@ -11,7 +13,10 @@ import com.e105.majoong.common.exception.BaseException;
 import com.e105.majoong.common.model.farm.FarmRepository;
 import com.e105.majoong.common.model.horseState.HorseState;
 import com.e105.majoong.common.model.horseState.HorseStateRepository;
+import com.e105.majoong.common.utils.ImageResizer;
 import com.e105.majoong.common.utils.S3Uploader;
+import com.e105.majoong.farm.search.FarmSearchIndex;
+import com.e105.majoong.farm.util.FarmCandidateIndex;
 import com.e105.majoong.manageFarm.dto.in.FarmInfoCreateDto;
 import com.e105.majoong.manageFarm.dto.in.HorseInfoUpdateDto;
 import com.e105.majoong.manageFarm.dto.in.ReportHorseStatusDto;
@@ -24,8 +29,8 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +38,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Mono;
@@ -48,9 +55,12 @@ public class ManageFarmServiceImpl implements ManageFarmService {
     private final FarmRepository farmRepository;
     private final HorseRepository horseRepository;
     private final S3Uploader s3Uploader;
+    private final ImageResizer imageResizer;
     private final HorseStateRepository horseStateRepository;
     private final TransactionTemplate txTemplate;
     private final FarmVaultRepository farmVaultRepository;
+    private final FarmCandidateIndex farmCandidateIndex;
+    private final FarmSearchIndex farmSearchIndex;
     //test
     private final OpenAIService openAIService;
 
@@ -72,6 +82,10 @@ public class ManageFarmServiceImpl implements ManageFarmService {
             String imageUrl = s3Uploader.upload(updateDto.getProfileImage(), FARM_IMAGE_DIR);
             Farm farm = farmRepository.save(updateDto.toEntity(farmer, latitude, longitude, imageUrl));
             farmVault.updateFarmUuid(farm.getFarmUuid());
+            afterCommit(() -> {
+                farmCandidateIndex.addFarm(farm, farmer.getName());
+                farmSearchIndex.indexFarm(farm);
+            });
             return farm.getFarmUuid();
         } catch (IOException e) {
             throw new BaseException(BaseResponseStatus.S3_UPLOAD_FAILED);
@@ -88,8 +102,12 @@ public class ManageFarmServiceImpl implements ManageFarmService {
         }
         try {
             String imageUrl = s3Uploader.upload(updateDto.getProfileImage(), HORSE_IMAGE_DIR);
-            horseRepository.save(updateDto.toEntity(farm, imageUrl));
+            Horse horse = horseRepository.save(updateDto.toEntity(farm, imageUrl));
             farmRepository.incrementHorseCount(farm.getFarmUuid());
+            afterCommit(() -> {
+                farmSearchIndex.indexHorse(horse);
+                farmCandidateIndex.addHorseCount(farm.getFarmUuid(), 1);
+            });
         } catch (IOException e) {
             throw new BaseException(BaseResponseStatus.S3_UPLOAD_FAILED);
         }
@@ -110,6 +128,20 @@ public class ManageFarmServiceImpl implements ManageFarmService {
         }
         horse.updateDeletedAt(LocalDateTime.now());
         farmRepository.decrementHorseCount(farmUuid);
+        afterCommit(() -> {
+            farmSearchIndex.removeHorse(horse.getId());
+            farmCandidateIndex.addHorseCount(farmUuid, -1);
+        });
+    }
+
+    //메모리 인덱스(추천 후보/검색)는 커밋된 경우에만 반영 (롤백 시 유령 농장/말 수 방지)
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     @Override
@@ -133,10 +165,11 @@ public class ManageFarmServiceImpl implements ManageFarmService {
     /*
      * 말 사진 한장 처리 결과를 담는 곳
      * slot은 사진 종류(정면, 좌측, 우측, 마구간)
-     * url은 S3 업로드 후 URL
+     * url은 S3 업로드 후 URL (원본)
+     * thumbnailUrl은 목록용 축소본 URL
      * summary는 AI 분석 결과
      */
-    record ImgResult(String slot, String url, String summary) {
+    record ImgResult(String slot, String url, String thumbnailUrl, String summary) {
     }
 
     @Override
@@ -164,12 +197,20 @@ public class ManageFarmServiceImpl implements ManageFarmService {
          * */
         return farmMono.flatMap(farm -> {
             /*
-             * 각 이미지별 S3 업로드와 AI 분석 mono 생성
+             * 각 이미지별 S3 업로드 mono 생성 후
+             * AI 분석은 사진 4장을 한 번의 요청으로 (캐시에 있는 사진은 제외)
              * */
-            Mono<ImgResult> front = processOne("정면", dto.getFrontImage());
-            Mono<ImgResult> left = processOne("좌측", dto.getLeftSideImage());
-            Mono<ImgResult> right = processOne("우측", dto.getRightSideImage());
-            Mono<ImgResult> stable = processOne("마구간", dto.getStableImage());
+            List<Upload> uploads = List.of(
+                    upload("정면", dto.getFrontImage()),
+                    upload("좌측", dto.getLeftSideImage()),
+                    upload("우측", dto.getRightSideImage()),
+                    upload("마구간", dto.getStableImage()));
+            Mono<Map<String, String>> summariesMono = analyzeAll(uploads);
+
+            Mono<ImgResult> front = toResult(uploads.get(0), summariesMono);
+            Mono<ImgResult> left = toResult(uploads.get(1), summariesMono);
+            Mono<ImgResult> right = toResult(uploads.get(2), summariesMono);
+            Mono<ImgResult> stable = toResult(uploads.get(3), summariesMono);
             /*
              * mono.zip으로 여러 mono 병렬 실행(front, left, right, stable 동시 실행)
              * */
@@ -188,7 +229,7 @@ public class ManageFarmServiceImpl implements ManageFarmService {
                                 txTemplate.execute(status -> {
                                     HorseState state = dto.toEntity(
                                             farmUuid, memberUuid, horseNumber,
-                                            f.url(), l.url(), r.url(), s.url(), aiSummary
+                                            f.url(), l.url(), r.url(), s.url(), f.thumbnailUrl(), aiSummary
                                     );
                                     horseStateRepository.save(state);
                                     return aiSummary;
@@ -201,38 +242,76 @@ public class ManageFarmServiceImpl implements ManageFarmService {
         );
     }
 
-    private Mono<ImgResult> processOne(String slot, MultipartFile file) {
+    /*
+     * 사진 한 장의 업로드 진행 상태
+     * urlMono는 원본, variantsMono는 [분석용 축소본 URL, 썸네일 URL]
+     * (요약/결과 조합에서 여러 번 구독되므로 cache 로 업로드는 한 번만)
+     */
+    private record Upload(String slot, MultipartFile file, Mono<String> urlMono, Mono<String[]> variantsMono) {
+
+        boolean isEmpty() {
+            return file == null || file.isEmpty();
+        }
+
+        //AI 분석은 축소본 URL 사용 (base64 대신 S3 URL, 디코딩 불가 형식이면 원본)
+        Mono<String> analysisUrlMono() {
+            return Mono.zip(urlMono, variantsMono)
+                    .map(t -> t.getT2()[0] != null ? t.getT2()[0] : t.getT1());
+        }
+    }
+
+    private Upload upload(String slot, MultipartFile file) {
         if (file == null || file.isEmpty()) {
-            return Mono.just(new ImgResult(slot, null, ""));
+            return new Upload(slot, file, Mono.empty(), Mono.empty());
         }
-        //multipartFile 읽어서 byte 배열로 변환
-        Mono<byte[]> bytesMono = Mono.fromCallable(file::getBytes)
-                .subscribeOn(Schedulers.boundedElastic())
+        //multipart 임시파일을 메모리에 올리지 않고 S3 로 스트리밍 업로드 후 URL 반환 (원본은 한 번만 저장)
+        Mono<String> urlMono = Mono.fromFuture(() -> s3Uploader.uploadStreaming(file, HORSE_STATE_DIR))
                 .cache();
 
-        //byte 배열을 이용해 S3에 업로드 후 URL을 반환
-        Mono<String> urlMono = bytesMono.flatMap(bytes -> {
-            String originalName = Optional.ofNullable(file.getOriginalFilename()).orElse("unknown")
-                    .replaceAll("\\s", "_");
-            String contentType = Optional.ofNullable(file.getContentType()).orElse("application/octet-stream");
-            return Mono.fromCallable(() -> s3Uploader.uploadByBytes(bytes, originalName, HORSE_STATE_DIR, contentType))
-                    .subscribeOn(Schedulers.boundedElastic());
-        });
+        //한 번 디코딩해서 AI 분석용 축소본 + 목록용 썸네일 업로드
+        Mono<String[]> variantsMono = Mono.fromFuture(() -> imageResizer.resize(file))
+                .publishOn(Schedulers.boundedElastic())
+                .map(v -> new String[]{
+                        s3Uploader.uploadByBytes(v.analysis(), "analysis.jpg", HORSE_STATE_DIR + "/analysis", "image/jpeg"),
+                        s3Uploader.uploadByBytes(v.thumbnail(), "thumb.jpg", HORSE_STATE_DIR + "/thumb", "image/jpeg")
+                })
+                .onErrorResume(e -> {
+                    log.warn("[HorseState] {} variants failed: {}", slot, e.toString());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(new String[]{null, null})
+                .cache();
+        return new Upload(slot, file, urlMono, variantsMono);
+    }
+
+    /*
+     * 사진 종류별 AI 요약 (slot → summary)
+     * 원본 해시로 캐시된 사진은 업로드 완료를 기다리지 않고 바로 사용
+     * 나머지는 한 번의 다중 이미지 요청, 실패한 사진만 한 장씩 다시 요청
+     */
+    private Mono<Map<String, String>> analyzeAll(List<Upload> uploads) {
+        return Mono.fromCallable(() -> uploads.stream()
+                        .filter(u -> !u.isEmpty())
+                        .map(u -> new HorseImage(u.slot(), HorseAnalysisCache.contentHash(u.file()), u.analysisUrlMono()))
+                        .toList())
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(openAIService::analyzeHorseImages)
+                .timeout(Duration.ofSeconds(90))
+                .onErrorResume(e -> {
+                    log.warn("[HorseState] analysis failed: {}", e.toString());
+                    return Mono.just(Map.of());
+                })
+                .cache();
+    }
 
-        //AI 분석은 base64 대신 S3 URL을 그대로 사용
-        Mono<String> summaryMono = urlMono
-                .flatMap(url -> openAIService.analyzeHorseImage(slot, url))
-                .timeout(Duration.ofSeconds(60))
-                .retryWhen(
-                        reactor.util.retry.Retry.backoff(2, Duration.ofSeconds(1))
-                                .filter(ex -> ex instanceof org.springframework.web.reactive.function.client.WebClientResponseException w &&
-                                              (w.getStatusCode().is5xxServerError() || w.getStatusCode().value() == 429))
-                )
-                .onErrorReturn("분석 실패");
-
-        //URL과 요약을 묶어 반환
-        return Mono.zip(urlMono, summaryMono)
-                .map(t -> new ImgResult(slot, t.getT1(), t.getT2()));
+    //업로드 URL과 요약을 묶어 반환
+    private Mono<ImgResult> toResult(Upload upload, Mono<Map<String, String>> summariesMono) {
+        if (upload.isEmpty()) {
+            return Mono.just(new ImgResult(upload.slot(), null, null, ""));
+        }
+        return Mono.zip(upload.urlMono(), upload.variantsMono(), summariesMono)
+                .map(t -> new ImgResult(upload.slot(), t.getT1(), t.getT2()[1],
+                        t.getT3().getOrDefault(upload.slot(), "분석 실패")));
     }
 
 }
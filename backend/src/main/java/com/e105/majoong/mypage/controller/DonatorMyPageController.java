@@ -2,7 +2,10 @@ package com.e105.majoong.mypage.controller;
 
 import com.e105.majoong.auth.security.CustomUserDetails;
 import com.e105.majoong.common.entity.BaseResponse;
+import com.e105.majoong.common.entity.BaseResponseStatus;
+import com.e105.majoong.common.exception.BaseException;
 import com.e105.majoong.mypage.dto.out.BookmarkResponseDto;
+import com.e105.majoong.mypage.dto.out.DonationCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationHistoryDetailResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationResponseDto;
 import com.e105.majoong.mypage.service.DonatorMyPageService;
@@ -29,6 +32,9 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Member API", description = "회원관리 API")
 public class DonatorMyPageController {
 
+    //커서 조회 한 번에 가져올 수 있는 최대 건수
+    private static final int MAX_CURSOR_SIZE = 100;
+
     private final DonatorMyPageService donatorMyPageService;
 
     @GetMapping("/donations")
@@ -44,6 +50,24 @@ public class DonatorMyPageController {
                 user.getMemberUuid(), page, size, startDate, endDate));
     }
 
+    @GetMapping(value = "/donations", params = "cursor")
+    @Operation(summary = "기부 내역 커서 조회(cursor를 비워서 보내면 첫 페이지, 응답의 nextCursor로 다음 페이지 조회)")
+    public BaseResponse<DonationCursorResponseDto> getDonationsByCursor(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean withSummary) {
+
+        if (size < 1) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
+        }
+        size = Math.min(size, MAX_CURSOR_SIZE);
+        return new BaseResponse<>(donatorMyPageService.getDonationHistoryByCursor(
+                user.getMemberUuid(), cursor, size, startDate, endDate, withSummary));
+    }
+
     @GetMapping("/bookmarks")
     @Operation(summary = "즐겨찾기 목록 조회")
     public BaseResponse<List<BookmarkResponseDto>> getBookmarks(@AuthenticationPrincipal CustomUserDetails user) {
@@ -2,8 +2,11 @@ package com.e105.majoong.mypage.controller;
 
 import com.e105.majoong.auth.security.CustomUserDetails;
 import com.e105.majoong.common.entity.BaseResponse;
+import com.e105.majoong.common.entity.BaseResponseStatus;
+import com.e105.majoong.common.exception.BaseException;
 import com.e105.majoong.finance.service.FinApiService;
 import com.e105.majoong.mypage.dto.out.AccountHistoryResponseDto;
+import com.e105.majoong.mypage.dto.out.VaultCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.VaultResponseDto;
 import com.e105.majoong.mypage.service.FarmerMyPageService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,6 +24,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
 @RequiredArgsConstructor
 @RestController
@@ -29,16 +33,19 @@ import org.springframework.web.multipart.MultipartFile;
 @Tag(name = "Member API", description = "회원관리 API")
 public class FarmerMyPageController {
 
+    //커서 조회 한 번에 가져올 수 있는 최대 건수
+    private static final int MAX_CURSOR_SIZE = 100;
+
     private final FinApiService finApiService;
     private final FarmerMyPageService farmerMyPageService;
 
     @GetMapping("/accountHistory")
     @Operation(summary = "계좌 거래 내역(출금만)")
-    public BaseResponse<AccountHistoryResponseDto> getAccountHistory(
+    public Mono<BaseResponse<AccountHistoryResponseDto>> getAccountHistory(
             @AuthenticationPrincipal CustomUserDetails user) {
 
-        AccountHistoryResponseDto dto = finApiService.inquireTransactionHistoryList(user.getMemberUuid());
-        return new BaseResponse<>(dto);
+        return finApiService.inquireTransactionHistoryList(user.getMemberUuid())
+                .map(BaseResponse::new);
     }
 
     @GetMapping("/farm/existence")
@@ -59,6 +66,21 @@ public class FarmerMyPageController {
                 user.getMemberUuid(), page, size, startDate, endDate));
     }
 
+    @GetMapping(value = "/donations", params = "cursor")
+    @Operation(summary = "목장주 금고 기부 내역 커서 조회(cursor를 비워서 보내면 첫 페이지, 응답의 nextCursor로 다음 페이지 조회)")
+    public BaseResponse<VaultCursorResponseDto> getVaultHistoryByCursor(@AuthenticationPrincipal CustomUserDetails user,
+                                                                        @RequestParam String cursor,
+                                                                        @RequestParam(defaultValue = "10") int size,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (size < 1) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
+        }
+        size = Math.min(size, MAX_CURSOR_SIZE);
+        return new BaseResponse<>(farmerMyPageService.getVaultHistoryByCursor(
+                user.getMemberUuid(), cursor, size, startDate, endDate));
+    }
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "목장주 회원 정보 변경")
     public BaseResponse<Void> updateFarmers(@AuthenticationPrincipal CustomUserDetails user,
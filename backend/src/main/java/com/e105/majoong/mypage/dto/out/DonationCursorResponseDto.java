@@ -0,0 +1,30 @@
+package com.e105.majoong.mypage.dto.out;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+public class DonationCursorResponseDto {
+    private Long totalCoin; //withSummary=false면 null
+    private Long totalAmount;
+    private List<DonationHistoryResponseDto> donationHistory;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static DonationCursorResponseDto toDto(
+            Long totalCoin,
+            List<DonationHistoryResponseDto> donationHistory,
+            String nextCursor,
+            boolean hasNext
+    ) {
+        return DonationCursorResponseDto.builder()
+                .totalCoin(totalCoin)
+                .totalAmount(totalCoin != null ? totalCoin * 100 : null)
+                .donationHistory(donationHistory)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+}
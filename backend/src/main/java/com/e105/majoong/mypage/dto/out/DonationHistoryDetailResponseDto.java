@@ -1,5 +1,6 @@
 package com.e105.majoong.mypage.dto.out;
 
+import com.e105.majoong.common.model.donationHistory.DonationHistory.MintStatus;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,4 +18,5 @@ public class DonationHistoryDetailResponseDto {
     private String txHash;
     private String farmName;
     private String farmVaultAdrress;
+    private MintStatus mintStatus; // CONFIRMED 전에는 txHash 가 없거나 아직 컨펌되지 않음
 }
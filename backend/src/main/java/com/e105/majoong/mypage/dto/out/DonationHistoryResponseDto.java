@@ -1,5 +1,6 @@
 package com.e105.majoong.mypage.dto.out;
 
+import com.e105.majoong.common.model.donationHistory.DonationHistory.MintStatus;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,4 +15,5 @@ public class DonationHistoryResponseDto {
     private LocalDateTime donationDate;
     private String farmName;
     private Long donationToken;
+    private MintStatus mintStatus; // PENDING/SUBMITTING/SUBMITTED 는 민팅 진행 중 (null 은 outbox 이전 기록)
 }
@@ -0,0 +1,39 @@
+package com.e105.majoong.mypage.dto.out;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+@Getter
+@AllArgsConstructor
+public class VaultCursorResponseDto {
+    private Long totalDonation;
+    private Long usedAmount;
+    private Long currentBalance; //지갑 잔액
+    private String farmVaultAddress;
+    private List<VaultHistoryResponseDto> vaultHistoryResponseDtos;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static VaultCursorResponseDto toDto(
+            Long totalDonation,
+            Long usedAmount,
+            Long currentBalance,
+            String farmVaultAddress,
+            List<VaultHistoryResponseDto> vaultHistoryResponseDtos,
+            String nextCursor,
+            boolean hasNext
+    ) {
+        return VaultCursorResponseDto.builder()
+                .totalDonation(totalDonation)
+                .usedAmount(usedAmount)
+                .currentBalance(currentBalance)
+                .farmVaultAddress(farmVaultAddress)
+                .vaultHistoryResponseDtos(vaultHistoryResponseDtos)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.e105.majoong.mypage.dto.out;
 
 import com.e105.majoong.common.model.donationHistory.DonationHistory;
+import com.e105.majoong.common.model.donationHistory.DonationHistory.MintStatus;
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -19,4 +20,11 @@ public class VaultHistoryResponseDto {
     private Long balance;
     private String type;
     private Long receiptHistoryId;
+    private MintStatus mintStatus; // 기부 행만 (정산 행은 null)
+
+    //정산 행 조회용 (민팅 상태 없음)
+    public VaultHistoryResponseDto(String donatorName, Long donationToken, Long donationAmount, LocalDateTime donationDate,
+                                   String txHash, Long balance, String type, Long receiptHistoryId) {
+        this(donatorName, donationToken, donationAmount, donationDate, txHash, balance, type, receiptHistoryId, null);
+    }
 }
@@ -1,6 +1,7 @@
 package com.e105.majoong.mypage.service;
 
 import com.e105.majoong.mypage.dto.out.BookmarkResponseDto;
+import com.e105.majoong.mypage.dto.out.DonationCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationHistoryDetailResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationResponseDto;
 import java.time.LocalDate;
@@ -13,6 +14,9 @@ public interface DonatorMyPageService {
     DonationResponseDto getDonationHistoryByPage(
             String memberUuid, int page, int size, LocalDate startDate, LocalDate endDate);
 
+    DonationCursorResponseDto getDonationHistoryByCursor(
+            String memberUuid, String cursor, int size, LocalDate startDate, LocalDate endDate, boolean withSummary);
+
     List<BookmarkResponseDto> getBookmarks(String memberUuid);
 
     void createBookmarks(String memberUuid, String farmUuid);
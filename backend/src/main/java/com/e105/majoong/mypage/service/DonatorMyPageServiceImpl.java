@@ -10,8 +10,10 @@ import com.e105.majoong.common.model.donationHistory.DonationHistoryRepositoryCu
 import com.e105.majoong.common.model.donator.Donator;
 import com.e105.majoong.common.model.donator.DonatorRepository;
 import com.e105.majoong.common.model.farm.FarmRepository;
+import com.e105.majoong.common.utils.SeekCursor;
 import com.e105.majoong.mypage.dto.in.BookmarkRequestDto;
 import com.e105.majoong.mypage.dto.out.BookmarkResponseDto;
+import com.e105.majoong.mypage.dto.out.DonationCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationHistoryDetailResponseDto;
 import com.e105.majoong.mypage.dto.out.DonationResponseDto;
 import java.time.LocalDate;
@@ -40,6 +42,16 @@ public class DonatorMyPageServiceImpl implements DonatorMyPageService {
         return donationHistoryRepository.findDonationHistoryByPage(memberUuid, page, size, startDate, endDate);
     }
 
+    @Override
+    public DonationCursorResponseDto getDonationHistoryByCursor(
+            String memberUuid, String cursor, int size, LocalDate startDate, LocalDate endDate, boolean withSummary) {
+        if (!donatorRepository.existsByMemberUuid(memberUuid)) {
+            throw new BaseException(BaseResponseStatus.NO_EXIST_DONATOR);
+        }
+        return donationHistoryRepository.findDonationHistoryByCursor(
+                memberUuid, SeekCursor.decode(cursor), size, startDate, endDate, withSummary);
+    }
+
     @Override
     public List<BookmarkResponseDto> getBookmarks(String memberUuid) {
         if (!donatorRepository.existsByMemberUuid(memberUuid)) {
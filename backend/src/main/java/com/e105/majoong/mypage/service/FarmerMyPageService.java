@@ -1,6 +1,7 @@
 package com.e105.majoong.mypage.service;
 
 import com.e105.majoong.auth.security.CustomUserDetails;
+import com.e105.majoong.mypage.dto.out.VaultCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.VaultResponseDto;
 import java.time.LocalDate;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -10,6 +11,9 @@ public interface FarmerMyPageService {
     VaultResponseDto getVaultHistoryByPage(
             String memberUuid, int page, int size, LocalDate startDate, LocalDate endDate);
 
+    VaultCursorResponseDto getVaultHistoryByCursor(
+            String memberUuid, String cursor, int size, LocalDate startDate, LocalDate endDate);
+
     void updateFarmers(String memberUuid, String farmName, String phoneNumber, MultipartFile image, String description);
 
     boolean checkCreateFarm(String memberUuid);
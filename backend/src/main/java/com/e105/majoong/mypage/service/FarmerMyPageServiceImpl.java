@@ -1,6 +1,7 @@
 package com.e105.majoong.mypage.service;
 
 import com.e105.majoong.blockchain.props.ChainProps;
+import com.e105.majoong.blockchain.service.ChainEventIndexer;
 import com.e105.majoong.blockchain.service.VaultService;
 import com.e105.majoong.common.entity.BaseResponseStatus;
 import com.e105.majoong.common.exception.BaseException;
@@ -11,6 +12,10 @@ import com.e105.majoong.common.model.farmVault.FarmVaultRepository;
 import com.e105.majoong.common.model.farmer.Farmer;
 import com.e105.majoong.common.model.farmer.FarmerRepository;
 import com.e105.majoong.common.utils.S3Uploader;
+import com.e105.majoong.common.utils.SeekCursor;
+import com.e105.majoong.farm.search.FarmSearchIndex;
+import com.e105.majoong.farm.util.FarmCandidateIndex;
+import com.e105.majoong.mypage.dto.out.VaultCursorResponseDto;
 import com.e105.majoong.mypage.dto.out.VaultResponseDto;
 import java.io.IOException;
 import java.time.LocalDate;
@@ -18,6 +23,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
@@ -31,7 +38,10 @@ public class FarmerMyPageServiceImpl implements FarmerMyPageService {
     private final FarmRepository farmRepository;
     private final FarmVaultRepository farmVaultRepository;
     private final VaultService vaultService;
+    private final ChainEventIndexer chainEventIndexer;
     private final ChainProps chainProps;
+    private final FarmSearchIndex farmSearchIndex;
+    private final FarmCandidateIndex farmCandidateIndex;
     private static final String FARM_IMAGE_DIR = "farm";
 
     @Override
@@ -52,16 +62,7 @@ public class FarmerMyPageServiceImpl implements FarmerMyPageService {
           .orElseThrow(() -> new BaseException(BaseResponseStatus.NO_ACTIVE_FARM_VAULT));
 
       // 3) 온체인 잔액 읽어서 KRW로 환산 → currentBalance만 교체
-      Long currentBalanceKrw;
-      try {
-        var wei = vaultService.getVaultTokenBalanceWei(vault.getVaultAddress());
-        long tokens = wei.divide(java.math.BigInteger.TEN.pow(18)).longValueExact(); // 정수 토큰 정책
-        currentBalanceKrw = Math.multiplyExact(tokens, chainProps.getKrwPerToken());
-      } catch (Exception e) {
-        // 온체인 조회 실패 시 안전한 폴백: DB 누적 기준
-        currentBalanceKrw = base.getTotalDonation() - base.getUsedAmount();
-        log.warn("[MyPage] on-chain balance read failed; fallback used: {}", e.getMessage());
-      }
+      Long currentBalanceKrw = readBalanceKrw(vault.getVaultAddress(), base.getTotalDonation() - base.getUsedAmount());
 
       // 4) currentBalance만 교체하여 반환 (나머지는 base 그대로 유지)
       return VaultResponseDto.toDto(
@@ -73,6 +74,51 @@ public class FarmerMyPageServiceImpl implements FarmerMyPageService {
       );
     }
 
+    @Override
+    public VaultCursorResponseDto getVaultHistoryByCursor(
+        String memberUuid, String cursor, int size, LocalDate startDate, LocalDate endDate) {
+
+      if (!farmerRepository.existsByMemberUuid(memberUuid)) {
+        throw new BaseException(BaseResponseStatus.NO_EXIST_FARMER);
+      }
+
+      // 1) 기부/정산 내역을 커서 기준으로 size 건만 병합 조회
+      VaultCursorResponseDto base = donationHistoryRepository.findVaultHistoryByCursor(
+          memberUuid, SeekCursor.decode(cursor), size, startDate, endDate);
+
+      // 2) 활성 금고 찾기 (memberUuid 기준)
+      var vault = farmVaultRepository
+          .findTopByMemberUuidAndStatusOrderByIdDesc(memberUuid, com.e105.majoong.common.model.farmVault.FarmVault.Status.ACTIVE)
+          .orElseThrow(() -> new BaseException(BaseResponseStatus.NO_ACTIVE_FARM_VAULT));
+
+      // 3) 온체인 잔액으로 currentBalance 교체
+      Long currentBalanceKrw = readBalanceKrw(vault.getVaultAddress(), base.getCurrentBalance());
+
+      return VaultCursorResponseDto.toDto(
+          base.getTotalDonation(),
+          base.getUsedAmount(),
+          currentBalanceKrw,
+          vault.getVaultAddress(),
+          base.getVaultHistoryResponseDtos(),
+          base.getNextCursor(),
+          base.isHasNext()
+      );
+    }
+
+    // 인덱싱된 이벤트(없으면 온체인) 잔액을 KRW로 환산, 실패 시 DB 누적 기준 값 사용
+    private Long readBalanceKrw(String vaultAddress, Long fallbackKrw) {
+      try {
+        var indexed = chainEventIndexer.vaultBalanceWei(vaultAddress);
+        var wei = indexed.isPresent() ? indexed.get() : vaultService.getVaultTokenBalanceWei(vaultAddress);
+        long tokens = wei.divide(java.math.BigInteger.TEN.pow(18)).longValueExact(); // 정수 토큰 정책
+        return Math.multiplyExact(tokens, chainProps.getKrwPerToken());
+      } catch (Exception e) {
+        // 온체인 조회 실패 시 안전한 폴백: DB 누적 기준
+        log.warn("[MyPage] on-chain balance read failed; fallback used: {}", e.getMessage());
+        return fallbackKrw;
+      }
+    }
+
     @Override
     @Transactional
     public void updateFarmers(String memberUuid, String farmName, String phoneNumber, MultipartFile image,
@@ -99,6 +145,26 @@ public class FarmerMyPageServiceImpl implements FarmerMyPageService {
         if (description != null) {
             farm.updateDescription(description);
         }
+        //메모리 인덱스(검색/추천 후보)는 커밋된 값으로만 갱신 (롤백 시 유령 값 방지)
+        if (farmName != null) {
+            afterCommit(() -> farmSearchIndex.indexFarm(farm));
+        }
+        if (farmName != null || image != null || description != null) {
+            String farmUuid = farm.getFarmUuid();
+            String name = farm.getFarmName();
+            String profileImage = farm.getProfileImage();
+            String desc = farm.getDescription();
+            afterCommit(() -> farmCandidateIndex.updateFarmInfo(farmUuid, name, profileImage, desc));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     @Override
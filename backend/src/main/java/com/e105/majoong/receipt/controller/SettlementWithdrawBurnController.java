@@ -2,7 +2,7 @@ package com.e105.majoong.receipt.controller;
 
 import com.e105.majoong.auth.security.CustomUserDetails;
 import com.e105.majoong.receipt.dto.in.SettlementWithdrawBurnRequestDto;
-import com.e105.majoong.receipt.dto.out.SettlementWithdrawBurnResponseDto;
+import com.e105.majoong.receipt.dto.out.SettlementSagaResponseDto;
 import com.e105.majoong.receipt.service.SettlementWithdrawBurnService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,8 +26,8 @@ public class SettlementWithdrawBurnController {
   private final SettlementWithdrawBurnService settlementWithdrawBurnService;
 
   @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-  @Operation(summary = "영수증 저장+정산 요청 (사진 업로드 포함, 자동 출금/소각)")
-  public SettlementWithdrawBurnResponseDto settle(
+  @Operation(summary = "영수증 저장+정산 요청 (사진 업로드 포함, 출금/소각은 비동기 진행)")
+  public SettlementSagaResponseDto settle(
       @AuthenticationPrincipal CustomUserDetails user,
       @Valid @RequestPart("payload") String payloadJson,
       @RequestPart("photo") MultipartFile photo
@@ -36,4 +36,13 @@ public class SettlementWithdrawBurnController {
         new ObjectMapper().readValue(payloadJson, SettlementWithdrawBurnRequestDto.class);
     return settlementWithdrawBurnService.settleWithdrawBurn(user.getMemberUuid(), req, photo);
   }
+
+  @GetMapping("/{idempotencyKey}")
+  @Operation(summary = "정산 진행 상태 조회 (RELEASE → WITHDRAW → BURN)")
+  public SettlementSagaResponseDto getStatus(
+      @AuthenticationPrincipal CustomUserDetails user,
+      @PathVariable String idempotencyKey
+  ) {
+    return settlementWithdrawBurnService.getStatus(user.getMemberUuid(), idempotencyKey);
+  }
 }
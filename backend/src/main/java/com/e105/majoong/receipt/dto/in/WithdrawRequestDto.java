@@ -5,4 +5,5 @@ import lombok.Data;
 @Data
 public class WithdrawRequestDto {
     private String money;
+    private String institutionTransactionUniqueNo; // 없으면 요청마다 새로 발급
 }
@@ -0,0 +1,48 @@
+package com.e105.majoong.receipt.dto.out;
+
+import com.e105.majoong.common.model.settlementSaga.SettlementSaga;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementSagaResponseDto {
+  private String idempotencyKey;
+  private Long receiptHistoryId;
+  private String step;              // 다음(또는 진행 중) 단계: RELEASE / WITHDRAW / BURN / DONE
+  private String status;            // PENDING / RUNNING / COMPLETED / FAILED
+  private String farmerWallet;
+  private String vaultAddress;
+  private Long krwAmount;
+  private Long tokenCount;
+  private String releaseTxHash;
+  private String withdrawCode;
+  private String withdrawTransactionNo;
+  private String burnTxHash;
+  private String lastError;
+  private LocalDateTime updatedAt;
+
+  public static SettlementSagaResponseDto toDto(SettlementSaga saga) {
+    return SettlementSagaResponseDto.builder()
+        .idempotencyKey(saga.getIdempotencyKey())
+        .receiptHistoryId(saga.getReceiptHistoryId())
+        .step(saga.getStep().name())
+        .status(saga.getStatus().name())
+        .farmerWallet(saga.getFarmerWallet())
+        .vaultAddress(saga.getVaultAddress())
+        .krwAmount(saga.getKrwAmount())
+        .tokenCount(saga.getTokenCount())
+        .releaseTxHash(saga.getReleaseTxHash())
+        .withdrawCode(saga.getWithdrawCode())
+        .withdrawTransactionNo(saga.getWithdrawTransactionNo())
+        .burnTxHash(saga.getBurnTxHash())
+        .lastError(saga.getLastError())
+        .updatedAt(saga.getUpdatedAt())
+        .build();
+  }
+}
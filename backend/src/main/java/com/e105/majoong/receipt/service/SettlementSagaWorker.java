@@ -0,0 +1,365 @@
+package com.e105.majoong.receipt.service;
+
+import com.e105.majoong.blockchain.service.BurnService;
+import com.e105.majoong.blockchain.service.TxSendUnknownException;
+import com.e105.majoong.blockchain.service.VaultService;
+import com.e105.majoong.blockchain.util.TokenUnits;
+import com.e105.majoong.common.model.farm.Farm;
+import com.e105.majoong.common.model.farm.FarmRepository;
+import com.e105.majoong.common.model.settlementHistory.SettlementHistory;
+import com.e105.majoong.common.model.settlementHistory.SettlementHistoryRepository;
+import com.e105.majoong.common.model.settlementSaga.SettlementSaga;
+import com.e105.majoong.common.model.settlementSaga.SettlementSaga.Status;
+import com.e105.majoong.common.model.settlementSaga.SettlementSaga.Step;
+import com.e105.majoong.common.model.settlementSaga.SettlementSagaRepository;
+import com.e105.majoong.finance.service.FinApiException;
+import com.e105.majoong.finance.service.FinApiService;
+import com.e105.majoong.receipt.dto.in.WithdrawRequestDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/*
+ * 정산 saga 워커 (RELEASE -> WITHDRAW -> BURN)
+ * - 요청 스레드는 영수증/상세/saga 저장까지만 하고 응답, 이후 단계는 여기서 비동기로 실행
+ * - 단계마다 PENDING -> (선점) RUNNING -> 다음 단계 PENDING 으로 커밋, 실패는 지수 backoff 재시도
+ * - 온체인 단계는 txHash 를 먼저 저장하고 영수증은 ReceiptTracker 로 대기 (DB 커넥션을 잡지 않음)
+ *   전송 결과를 모르면(TxSendUnknownException) 재전송 대신 서명된 tx 해시의 영수증으로 확인 (이중 소각 방지)
+ * - lease 가 지나도 RUNNING 인 saga 는 recoverStale 이 재기동 때와 같은 규칙으로 정리
+ * - 출금은 FinAPI 가 이체 미실행이 확실한 4xx 코드(finapi.withdraw.not-executed-codes)를 준 경우만 재시도,
+ *   5xx / 타임아웃 / 그 외 코드는 결과를 알 수 없으므로 이중 출금 방지를 위해 FAILED
+ * - 기관거래고유번호는 idempotencyKey 에서 만들어 재시도마다 같은 번호로 요청 (FinAPI 가 중복 거래를 거절)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementSagaWorker {
+
+  private final SettlementSagaRepository sagaRepository;
+  private final SettlementHistoryRepository historyRepository;
+  private final FarmRepository farmRepository;
+  private final VaultService vaultService;
+  private final BurnService burnService;
+  private final FinApiService finApiService;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${settlement.saga.workers:2}")
+  private int workers;
+
+  @Value("${settlement.saga.max-attempts:5}")
+  private int maxAttempts;
+
+  // 이체가 실행되지 않았음이 확실한 FinAPI 오류 코드 (계좌 오류 / 잔액 부족 / 한도 초과 등)
+  @Value("${finapi.withdraw.not-executed-codes:A1003,A1011,A1014}")
+  private Set<String> notExecutedCodes;
+
+  // RUNNING 이 이 시간을 넘기면 선점 워커가 멈춘 것으로 간주 (영수증 대기 타임아웃보다 길게)
+  @Value("${settlement.saga.claim-lease-ms:600000}")
+  private long claimLeaseMs;
+
+  private ThreadPoolTaskExecutor executor;
+
+  @PostConstruct
+  public void init() {
+    executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(workers);
+    executor.setMaxPoolSize(workers);
+    executor.setQueueCapacity(workers * 50);
+    executor.setThreadNamePrefix("settlement-saga-");
+    executor.initialize();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /** saga 커밋 직후 / 단계 완료 직후 호출: 다음 단계 바로 실행 */
+  public void dispatch(Long sagaId) {
+    try {
+      executor.execute(() -> claimAndRun(sagaId));
+    } catch (TaskRejectedException e) {
+      //큐가 가득 차면 PENDING 그대로 두고 다음 drain 때 처리
+      log.warn("[Saga] queue full, deferred id={}", sagaId);
+    }
+  }
+
+  //dispatch 누락/재시도 대상 수거
+  @Scheduled(fixedDelay = 3_000L, initialDelay = 5_000L)
+  public void drain() {
+    if (!executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+      return;
+    }
+    for (SettlementSaga saga : sagaRepository.findTop50ByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+        Status.PENDING, LocalDateTime.now())) {
+      dispatch(saga.getId());
+    }
+  }
+
+  /*
+   * 재기동 시 RUNNING 으로 남은 saga 정리
+   * - 온체인 단계에서 txHash 가 저장돼 있으면 영수증 대기만 다시 하면 되므로 PENDING
+   * - 그 외(전송 여부 / 출금 여부를 알 수 없음)는 중복 실행 대신 FAILED 로 두고 운영자가 확인
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void recoverInterrupted() {
+    for (SettlementSaga saga : sagaRepository.findTop50ByStatusOrderByIdAsc(Status.RUNNING)) {
+      recover(saga, "restart");
+    }
+  }
+
+  // 실행 중 예외/스레드 중단으로 RUNNING 에 멈춘 saga (lease 가 지난 것만)
+  @Scheduled(fixedDelay = 60_000L, initialDelay = 60_000L)
+  public void recoverStale() {
+    LocalDateTime before = LocalDateTime.now().minusNanos(claimLeaseMs * 1_000_000L);
+    for (SettlementSaga saga : sagaRepository.findTop50ByStatusAndClaimedAtBeforeOrderByIdAsc(Status.RUNNING, before)) {
+      recover(saga, "stale claim since " + saga.getClaimedAt());
+    }
+  }
+
+  private void recover(SettlementSaga saga, String reason) {
+    boolean resumable = (saga.getStep() == Step.RELEASE && saga.getReleaseTxHash() != null)
+        || (saga.getStep() == Step.BURN && saga.getBurnTxHash() != null);
+    if (resumable) {
+      saga.scheduleRetry("resumed after " + reason, LocalDateTime.now());
+      log.warn("[Saga] resumed key={} step={} ({})", saga.getIdempotencyKey(), saga.getStep(), reason);
+    } else {
+      saga.fail("interrupted during " + saga.getStep() + " (" + reason + "), check before retry");
+      log.error("[Saga] interrupted key={} step={} marked FAILED ({})", saga.getIdempotencyKey(), saga.getStep(), reason);
+    }
+    sagaRepository.save(saga);
+  }
+
+  private void claimAndRun(Long sagaId) {
+    if (sagaRepository.claim(sagaId, Status.PENDING, Status.RUNNING, LocalDateTime.now()) != 1) {
+      return;
+    }
+    SettlementSaga saga = sagaRepository.findById(sagaId).orElse(null);
+    if (saga == null) {
+      return;
+    }
+    switch (saga.getStep()) {
+      case RELEASE -> release(saga);
+      case WITHDRAW -> withdraw(saga);
+      case BURN -> burn(saga);
+      case DONE -> {
+        saga.advance(Step.DONE);
+        sagaRepository.save(saga);
+      }
+    }
+  }
+
+  // ── RELEASE: vault → farmer 토큰 출금 ─────────────────────────────
+  private void release(SettlementSaga saga) {
+    BigInteger tokenWei = TokenUnits.maronTokensToWei(saga.getTokenCount());
+    if (saga.getReleaseTxHash() == null) {
+      try {
+        saga.releaseSent(vaultService.submitRelease(saga.getVaultAddress(), tokenWei));
+        sagaRepository.save(saga);
+      } catch (TxSendUnknownException e) {
+        sendUnknown(saga, e);
+        saga.releaseSent(e.getTxHash());
+        sagaRepository.save(saga);
+      } catch (Exception e) {
+        retryOrFail(saga, e, () -> recordReleaseFailed(saga, e));
+        return;
+      }
+    }
+    whenMined(saga, vaultService.awaitRelease(saga.getReleaseTxHash()), txHash -> {
+      transactionTemplate.executeWithoutResult(status -> {
+        // 사용금액 누적 + 성공 이력 저장 + 다음 단계
+        Farm farm = farmRepository.findByFarmUuid(saga.getFarmUuid()).orElseThrow();
+        farm.updateUsedAmount(saga.getKrwAmount());
+        Long balanceKrw = farm.getTotalDonation() - farm.getUsedAmount();
+        historyRepository.save(SettlementHistory.released(
+            saga.getFarmUuid(), saga.getIdempotencyKey(), saga.getFarmerWallet(), saga.getVaultAddress(),
+            saga.getTokenCount(), txHash, balanceKrw, saga.getKrwAmount(), saga.getTokenCount(),
+            saga.getReceiptHistoryId()));
+        saga.advance(Step.WITHDRAW);
+        sagaRepository.save(saga);
+      });
+      log.info("[Saga] released key={} tx={}", saga.getIdempotencyKey(), txHash);
+    }, e -> recordReleaseFailed(saga, e));
+  }
+
+  private void recordReleaseFailed(SettlementSaga saga, Throwable e) {
+    historyRepository.save(SettlementHistory.failed(
+        saga.getFarmUuid(), saga.getIdempotencyKey(), saga.getFarmerWallet(), saga.getVaultAddress(),
+        saga.getTokenCount(), shorten(e.getMessage()), 0L, saga.getKrwAmount(), saga.getTokenCount(),
+        saga.getReceiptHistoryId()));
+  }
+
+  // ── WITHDRAW: 원화 출금 (FinAPI) ────────────────────────────────
+  //FinAPI 응답을 기다리는 동안 워커 스레드를 점유하지 않고, 결과는 워커 풀에서 처리
+  private void withdraw(SettlementSaga saga) {
+    WithdrawRequestDto wreq = new WithdrawRequestDto();
+    wreq.setMoney(String.valueOf(saga.getKrwAmount())); // 원화 그대로
+    wreq.setInstitutionTransactionUniqueNo(withdrawUniqueNo(saga));
+    finApiService.withdraw(saga.getMemberUuid(), wreq).toFuture().whenCompleteAsync((res, error) -> {
+      if (!stillClaimed(saga)) {
+        log.error("[Saga] withdraw finished after claim was recovered key={} code={} error={}",
+            saga.getIdempotencyKey(), res == null ? null : res.getResponseCode(), String.valueOf(error));
+        return;
+      }
+      Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      if (cause != null && isRejected(cause)) {
+        retryOrFail(saga, cause, null);
+        return;
+      }
+      if (cause != null || res == null) {
+        String message = cause != null ? cause.getMessage() : "empty response";
+        saga.fail("withdraw result unknown: " + message);
+        sagaRepository.save(saga);
+        log.error("[Saga] withdraw result unknown key={}: {}", saga.getIdempotencyKey(), message, cause);
+        return;
+      }
+      log.info("[WITHDRAW] code={}, msg={}", res.getResponseCode(), res.getResponseMessage());
+      String transactionNo = res.getRec() == null || res.getRec().isEmpty()
+          ? null : res.getRec().get(0).getTransactionUniqueNo();
+      saga.withdrawn(res.getResponseCode(), transactionNo);
+      saga.advance(Step.BURN);
+      sagaRepository.save(saga);
+      dispatch(saga.getId());
+    }, executor);
+  }
+
+  // ── BURN: farmer 지갑에서 소각 ─────────────────────────────────
+  private void burn(SettlementSaga saga) {
+    if (saga.getBurnTxHash() == null) {
+      try {
+        saga.burnSent(burnService.burnFromFarmer(saga.getFarmerWallet(),
+            TokenUnits.maronTokensToWei(saga.getTokenCount())));
+        sagaRepository.save(saga);
+      } catch (TxSendUnknownException e) {
+        sendUnknown(saga, e);
+        saga.burnSent(e.getTxHash());
+        sagaRepository.save(saga);
+      } catch (Exception e) {
+        retryOrFail(saga, e, null);
+        return;
+      }
+    }
+    whenMined(saga, burnService.awaitBurn(saga.getBurnTxHash()), txHash -> {
+      saga.advance(Step.DONE);
+      sagaRepository.save(saga);
+      log.info("[Saga] completed key={} burnTx={}", saga.getIdempotencyKey(), txHash);
+    }, null);
+  }
+
+  // 노드가 받았을 수 있으므로 재전송하지 않고 서명된 tx 해시의 영수증을 기다림
+  private void sendUnknown(SettlementSaga saga, TxSendUnknownException e) {
+    log.warn("[Saga] {} send result unknown key={} tx={}", saga.getStep(), saga.getIdempotencyKey(), e.getTxHash());
+  }
+
+  /*
+   * 영수증 대기 결과 처리 (워커 스레드에서)
+   * revert → FAILED, 타임아웃 등 → txHash 유지한 채 재시도(재전송 없이 다시 대기)
+   * onSuccess 예외(DB 오류 등)도 txHash 를 유지한 채 재시도, 그 사이 recoverStale 이 가져간 saga 는 건드리지 않음
+   */
+  private void whenMined(SettlementSaga saga, CompletableFuture<String> mined,
+                         Consumer<String> onSuccess,
+                         Consumer<Throwable> onRevert) {
+    mined.whenCompleteAsync((txHash, error) -> {
+      if (!stillClaimed(saga)) {
+        log.warn("[Saga] {} claim already recovered key={}, skip", saga.getStep(), saga.getIdempotencyKey());
+        return;
+      }
+      if (error == null) {
+        try {
+          onSuccess.accept(txHash);
+        } catch (Exception e) {
+          // onSuccess 의 트랜잭션은 롤백됐으므로 메모리의 saga 대신 DB 상태에서 재시도 기록
+          log.warn("[Saga] {} post-receipt update failed key={}: {}", saga.getStep(), saga.getIdempotencyKey(), e.toString());
+          retryOrFail(sagaRepository.findById(saga.getId()).orElse(saga), e, null);
+          return;
+        }
+        if (saga.getStatus() == Status.PENDING) {
+          dispatch(saga.getId());
+        }
+        return;
+      }
+      Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      if (cause instanceof IllegalStateException && String.valueOf(cause.getMessage()).contains("reverted")) {
+        if (onRevert != null) {
+          onRevert.accept(cause);
+        }
+        saga.fail(cause.getMessage());
+        sagaRepository.save(saga);
+        log.error("[Saga] {} reverted key={}", saga.getStep(), saga.getIdempotencyKey());
+      } else {
+        retryOrFail(saga, cause, null);
+      }
+    }, executor);
+  }
+
+  //recoverStale 이 lease 만료로 가져가지 않았는지 (같은 선점이 아직 RUNNING)
+  private boolean stillClaimed(SettlementSaga saga) {
+    return sagaRepository.findById(saga.getId())
+        .map(s -> s.getStatus() == Status.RUNNING && Objects.equals(s.getClaimedAt(), saga.getClaimedAt()))
+        .orElse(false);
+  }
+
+  private void retryOrFail(SettlementSaga saga, Throwable e, Runnable onGiveUp) {
+    int attempts = (saga.getAttempts() == null ? 0 : saga.getAttempts()) + 1;
+    if (attempts >= maxAttempts) {
+      if (onGiveUp != null) {
+        onGiveUp.run();
+      }
+      saga.fail(e.getMessage());
+      log.error("[Saga] give up key={} step={} after {} attempts", saga.getIdempotencyKey(), saga.getStep(), attempts, e);
+    } else {
+      long backoffSec = 1L << Math.min(attempts + 1, 8); // 4, 8, 16, ... 최대 256초
+      saga.scheduleRetry(e.getMessage(), LocalDateTime.now().plusSeconds(backoffSec));
+      log.warn("[Saga] retry key={} step={} attempt={} in {}s: {}",
+          saga.getIdempotencyKey(), saga.getStep(), attempts, backoffSec, e.toString());
+    }
+    sagaRepository.save(saga);
+  }
+
+  //FinAPI 가 이체 미실행 코드로 거절한 경우만 재시도 대상 (5xx 는 실행됐을 수 있음)
+  private boolean isRejected(Throwable e) {
+    return e instanceof FinApiException f && f.isClientError() && notExecutedCodes.contains(f.getResponseCode());
+  }
+
+  /*
+   * 기관거래고유번호(20자리) = saga 생성일(yyyyMMdd) + idempotencyKey 해시 12자리
+   * 같은 saga 의 재시도는 항상 같은 번호 → 앞선 요청이 실제로 처리됐으면 FinAPI 가 중복으로 거절
+   */
+  private static String withdrawUniqueNo(SettlementSaga saga) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(saga.getIdempotencyKey().getBytes(StandardCharsets.UTF_8));
+      long suffix = new BigInteger(1, digest).mod(BigInteger.TEN.pow(12)).longValue();
+      return saga.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + String.format("%012d", suffix);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String shorten(String s) {
+    if (s == null) return null;
+    final int MAX = 180;
+    return s.length() <= MAX ? s : s.substring(0, MAX);
+  }
+}
@@ -1,13 +1,15 @@
 package com.e105.majoong.receipt.service;
 
 import com.e105.majoong.receipt.dto.in.SettlementWithdrawBurnRequestDto;
-import com.e105.majoong.receipt.dto.out.SettlementWithdrawBurnResponseDto;
+import com.e105.majoong.receipt.dto.out.SettlementSagaResponseDto;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface SettlementWithdrawBurnService {
-  SettlementWithdrawBurnResponseDto settleWithdrawBurn(
+  SettlementSagaResponseDto settleWithdrawBurn(
       String memberUuid,
       SettlementWithdrawBurnRequestDto req,
       MultipartFile photo
   );
+
+  SettlementSagaResponseDto getStatus(String memberUuid, String idempotencyKey);
 }
@@ -31,6 +31,25 @@ contract MaronToken is ERC20Burnable, AccessControl {
         emit DonationRecorded(donor, vault, amount);
     }
 
+    /// @notice 여러 기부를 한 트랜잭션으로 발행 (항목마다 DonationRecorded 기록, 순서 = 배열 순서)
+    /// @param donors 기부자 주소 목록
+    /// @param vaults 금고 주소 목록
+    /// @param amounts 발행 수량 목록
+    function mintBatchToVaultsForDonors(
+        address[] calldata donors,
+        address[] calldata vaults,
+        uint256[] calldata amounts
+    )
+    external
+    onlyRole(MINTER_ROLE)
+    {
+        require(donors.length == vaults.length && vaults.length == amounts.length, "length mismatch");
+        for (uint256 i = 0; i < donors.length; i++) {
+            _mint(vaults[i], amounts[i]);
+            emit DonationRecorded(donors[i], vaults[i], amounts[i]);
+        }
+    }
+
     /// @notice 농부 지갑에서 토큰 소각
     /// @param farmer 농부 주소
     /// @param amount 소각 수량
@@ -26,6 +26,14 @@ contract VaultLens {
         bool    isReleaser;        // who가 RELEASER_ROLE 보유 여부
     }
 
+    struct VaultSummary {
+        address vault;
+        address farmer;
+        uint256 vaultTokenBalance; // 금고가 보유한 토큰 잔액(wei 단위)
+        bool    isReleaser;        // who가 RELEASER_ROLE 보유 여부
+        bool    ok;                // false면 vault 조회 실패(금고가 아닌 주소 등), 나머지 값은 0
+    }
+
     /// factory로부터 farmId의 vault 주소 조회
     function vaultOf(address factory, uint256 farmId) public view returns (address) {
         return IFarmVaultFactory(factory).vaultOf(farmId);
@@ -40,4 +48,29 @@ contract VaultLens {
         v.vaultTokenBalance = V.tokenBalance();
         v.isReleaser = V.hasRole(V.RELEASER_ROLE(), who);
     }
+
+    /// 여러 vault 요약을 eth_call 한 번으로 조회
+    /// 하나가 실패해도 전체가 revert 되지 않도록 vault 별로 try/catch
+    function vaultSummaries(address[] calldata vaults, address who) external view returns (VaultSummary[] memory out) {
+        out = new VaultSummary[](vaults.length);
+        for (uint256 i = 0; i < vaults.length; i++) {
+            out[i].vault = vaults[i];
+            if (vaults[i].code.length == 0) continue;
+            IFarmVault V = IFarmVault(vaults[i]);
+            try V.tokenBalance() returns (uint256 balance) {
+                out[i].vaultTokenBalance = balance;
+            } catch {
+                continue;
+            }
+            try V.farmer() returns (address f) {
+                out[i].farmer = f;
+            } catch {}
+            try V.RELEASER_ROLE() returns (bytes32 role) {
+                try V.hasRole(role, who) returns (bool r) {
+                    out[i].isReleaser = r;
+                } catch {}
+            } catch {}
+            out[i].ok = true;
+        }
+    }
 }
@@ -31,6 +31,12 @@ async function main() {
     await factory.waitForDeployment();
     // 배포된 FarmVaultFactory 계약의 주소를 콘솔에 출력합니다.
     console.log("FarmVaultFactory:", await factory.getAddress());
+
+    // 조회 전용 VaultLens 배포 (백엔드에서 여러 금고 잔액을 eth_call 한 번으로 조회할 때 사용)
+    const Lens = await hre.ethers.getContractFactory("VaultLens");
+    const lens = await Lens.deploy();
+    await lens.waitForDeployment();
+    console.log("VaultLens:", await lens.getAddress());
 }
  
 // 위에서 정의한 'main' 함수를 실행합니다.
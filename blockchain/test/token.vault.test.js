@@ -108,4 +108,39 @@ describe("MaronToken + FarmVault", function () {
         // 농부의 최종 잔액이 (출금액 - 소각액)과 같은지 확인합니다. (10 - 5 = 5)
         expect(await token.balanceOf(farmer.address)).to.equal(releaseAmt - burnAmt);
     });
+
+    // 여러 기부를 한 트랜잭션으로 발행하면 항목마다 DonationRecorded 가 배열 순서대로 발생해야 한다.
+    it("should batch mint to vaults and emit one DonationRecorded per item", async function () {
+        const [admin, donorA, donorB, farmer] = await ethers.getSigners();
+
+        const Token = await ethers.getContractFactory("MaronToken");
+        const token = await Token.deploy();
+        await token.waitForDeployment();
+
+        const Factory = await ethers.getContractFactory("FarmVaultFactory");
+        const factory = await Factory.deploy(await token.getAddress());
+        await factory.waitForDeployment();
+
+        await factory.createVault(1, farmer.address);
+        const vaultAddr = await factory.vaultOf(1);
+
+        const a = ethers.parseEther("3");
+        const b = ethers.parseEther("7");
+        const tx = await token.mintBatchToVaultsForDonors(
+            [donorA.address, donorB.address], [vaultAddr, vaultAddr], [a, b]);
+        const receipt = await tx.wait();
+
+        // 로그 순서 = 입력 배열 순서 (백엔드가 logIndex 를 기부내역에 매핑하는 기준)
+        const recorded = receipt.logs
+            .map((l) => { try { return token.interface.parseLog(l); } catch (e) { return null; } })
+            .filter((e) => e && e.name === "DonationRecorded");
+        expect(recorded.length).to.equal(2);
+        expect(recorded[0].args.donor).to.equal(donorA.address);
+        expect(recorded[1].args.amount).to.equal(b);
+        expect(await token.balanceOf(vaultAddr)).to.equal(a + b);
+
+        // 배열 길이가 다르면 revert
+        await expect(token.mintBatchToVaultsForDonors([donorA.address], [], [a]))
+            .to.be.revertedWith("length mismatch");
+    });
 });
\ No newline at end of file